@@ -1,10 +1,14 @@
 package com.comercia.fintech.base;
 
+import com.comercia.fintech.driver.GridSlotScheduler;
+import com.comercia.fintech.monitoring.MetricSnapshotPublisher;
+import com.comercia.fintech.monitoring.MetricsHttpExporter;
+import com.comercia.fintech.monitoring.ObservabilityEventPipeline;
+import com.comercia.fintech.monitoring.ObservabilityPlugin;
 import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.utils.AttachmentPipeline;
 import com.comercia.fintech.utils.ConfigReader;
 import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.junit.After;
 import org.junit.Before;
@@ -31,8 +35,12 @@ public class BaseTest {
         
         System.out.println("=== Starting test execution at: " + testStartTime + " ===");
         
-        // Initialize observability
-        TestObservabilitySystem.recordTestStart(
+        // Expose metrics for Prometheus scraping (started once per JVM; Cucumber runs start them from ObservabilityPlugin)
+        MetricsHttpExporter.ensureStarted();
+        MetricSnapshotPublisher.ensureStarted();
+        
+        // Initialize observability (published to the async pipeline, aggregated off-thread)
+        ObservabilityEventPipeline.publishTestStart(
             currentTestName, 
             currentFeature, 
             ConfigReader.getProperty("browser", "chrome"),
@@ -51,8 +59,8 @@ public class BaseTest {
         String result = "PASSED"; // This should be determined from test execution context
         String errorMessage = null;
         
-        // Record test completion
-        TestObservabilitySystem.recordTestCompletion(
+        // Record test completion; alert rules are evaluated incrementally by the pipeline aggregator
+        ObservabilityEventPipeline.publishTestCompletion(
             currentTestName,
             currentFeature,
             result,
@@ -60,9 +68,6 @@ public class BaseTest {
             errorMessage
         );
         
-        // Check for alerts
-        TestObservabilitySystem.checkAlertConditions();
-        
         System.out.println("=== Test execution completed at: " + endTime + " ===");
         System.out.println("=== Test duration: " + testDuration.toMillis() + "ms ===");
     }
@@ -77,9 +82,8 @@ public class BaseTest {
     
     private void updateGridStatus() {
         try {
-            // This would typically query the Selenium Grid API
-            // For now, using mock values
-            TestObservabilitySystem.updateSeleniumGridStatus(10, 8, 2);
+            // cached and rate-limited by the scheduler; a no-op when grid.enabled=false
+            GridSlotScheduler.getInstance().publishStatus();
         } catch (Exception e) {
             System.err.println("Failed to update grid status: " + e.getMessage());
         }
@@ -98,41 +102,17 @@ public class BaseTest {
     }
     
     private String extractFeatureFromTest(String testName) {
-        if (testName.toLowerCase().contains("payment")) return "payment";
-        if (testName.toLowerCase().contains("auth")) return "authentication";
-        if (testName.toLowerCase().contains("checkout")) return "checkout";
-        if (testName.toLowerCase().contains("api")) return "api";
-        if (testName.toLowerCase().contains("ui")) return "ui";
-        return "general";
+        return ObservabilityPlugin.featureOf(testName);
     }
     
     /**
      * Enhanced screenshot capture with observability
      */
-    @Attachment(value = "Screenshot", type = "image/png")
-    public byte[] takeScreenshot(WebDriver driver) {
+    public void takeScreenshot(WebDriver driver) {
         if (driver != null) {
-            try {
-                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                
-                // Record UI performance metric
-                TestObservabilitySystem.recordPageLoad(
-                    driver.getCurrentUrl(), 
-                    Duration.ofMillis(100), // Mock page load time
-                    true
-                );
-                
-                return screenshot;
-            } catch (Exception e) {
-                System.err.println("Failed to take screenshot: " + e.getMessage());
-                TestObservabilitySystem.recordPageLoad(
-                    "unknown_page", 
-                    Duration.ofMillis(0), 
-                    false
-                );
-            }
+            // the screenshot round trip itself is timed by WebDriverCommandRecorder
+            AttachmentPipeline.screenshot(driver, "Screenshot");
         }
-        return new byte[0];
     }
     
     /**
@@ -148,7 +128,7 @@ public class BaseTest {
      */
     protected void recordApiCall(String endpoint, String method, int statusCode, 
                                 long responseTime, long responseSize) {
-        TestObservabilitySystem.recordApiResponse(
+        ObservabilityEventPipeline.publishApiResponse(
             endpoint, method, statusCode, responseTime, responseSize
         );
     }
@@ -158,7 +138,7 @@ public class BaseTest {
      */
     protected void recordBusinessTransaction(String type, String status, 
                                            double amount, String currency) {
-        TestObservabilitySystem.recordBusinessTransaction(type, status, amount, currency);
+        ObservabilityEventPipeline.publishBusinessTransaction(type, status, amount, currency);
     }
     
     /**
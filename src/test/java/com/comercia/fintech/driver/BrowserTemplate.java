@@ -0,0 +1,70 @@
+package com.comercia.fintech.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.MutableCapabilities;
+
+import java.util.Map;
+
+/**
+ * Immutable browser options built once per (browser, headless) by DriverFactory. Each launch
+ * gets its own copy from newOptions(), so the shared prototype is never handed out or mutated.
+ * Templates with the same browser and capabilities are equal, which makes them the pool key.
+ */
+public final class BrowserTemplate {
+
+    private static final Capabilities NO_EXTRA_CAPABILITIES = new ImmutableCapabilities();
+
+    private final String browser;
+    private final boolean headless;
+    private final MutableCapabilities prototype;
+    private final Capabilities capabilities;
+    private final Map<String, Object> comparable;
+
+    BrowserTemplate(String browser, boolean headless, MutableCapabilities prototype) {
+        this.browser = browser;
+        this.headless = headless;
+        this.prototype = prototype;
+        this.capabilities = new ImmutableCapabilities(prototype);
+        this.comparable = capabilities.asMap();
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public Capabilities getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Fresh, typed copy of the options (ChromeOptions, FirefoxOptions or EdgeOptions) for one launch.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends MutableCapabilities> T newOptions() {
+        // merge() copies into a new instance of the same options type without touching the prototype
+        return (T) prototype.merge(NO_EXTRA_CAPABILITIES);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof BrowserTemplate)) return false;
+        BrowserTemplate template = (BrowserTemplate) other;
+        return browser.equals(template.browser) && comparable.equals(template.comparable);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * browser.hashCode() + comparable.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return browser + (headless ? " (headless)" : "") + " " + comparable;
+    }
+}
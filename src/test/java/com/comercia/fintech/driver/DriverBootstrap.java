@@ -0,0 +1,135 @@
+package com.comercia.fintech.driver;
+
+import com.comercia.fintech.monitoring.MetricFamily;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.monitoring.Timer;
+import com.comercia.fintech.utils.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One-time, thread-safe resolution of browser driver binaries per JVM. The first caller for a
+ * browser resolves it (concurrent callers wait for that result), everyone after gets the cached
+ * path. Binaries come from webdriver.&lt;browser&gt;.driver.path when set, otherwise from
+ * WebDriverManager using webdriver.cache.dir. For offline CI agents, resolve ahead of time on a
+ * networked stage with {@code java -cp <test classpath> com.comercia.fintech.driver.DriverBootstrap chrome}
+ * and ship the cache directory; with webdriver.offline=true cached resolutions never expire.
+ */
+public final class DriverBootstrap {
+
+    private static final MetricFamily<Timer> bootstrapTime = TestObservabilitySystem.getMetricRegistry().timerFamily(
+        "webdriver_bootstrap_ms", "Time to resolve a browser driver binary in milliseconds", "browser");
+
+    private static final Map<String, Resolution> resolved = new ConcurrentHashMap<>();
+
+    private DriverBootstrap() {
+    }
+
+    /**
+     * Resolves the driver binary for the browser once per JVM and returns its path.
+     */
+    public static String ensureResolved(String browser) {
+        Resolution resolution = resolved.get(browser);
+        return (resolution != null ? resolution : resolved.computeIfAbsent(browser, DriverBootstrap::resolve)).driverPath;
+    }
+
+    public static boolean isResolved(String browser) {
+        return resolved.containsKey(browser);
+    }
+
+    /**
+     * Resolution time per browser resolved so far, in resolution order.
+     */
+    public static Map<String, Duration> getBootstrapTimes() {
+        Map<String, Duration> times = new LinkedHashMap<>();
+        resolved.values().stream()
+            .sorted((a, b) -> Long.compare(a.completedNanos, b.completedNanos))
+            .forEach(resolution -> times.put(resolution.browser, resolution.elapsed));
+        return times;
+    }
+
+    private static Resolution resolve(String browser) {
+        long start = System.nanoTime();
+        String configuredPath = ConfigReader.getProperty("webdriver." + browser + ".driver.path", "").trim();
+        String driverPath;
+        if (!configuredPath.isEmpty()) {
+            System.setProperty(driverSystemProperty(browser), configuredPath);
+            driverPath = configuredPath;
+        } else {
+            WebDriverManager manager = manager(browser);
+            String cacheDir = ConfigReader.getProperty("webdriver.cache.dir", "").trim();
+            if (!cacheDir.isEmpty()) {
+                manager.cachePath(cacheDir).resolutionCachePath(cacheDir);
+            }
+            String driverVersion = ConfigReader.getProperty("webdriver." + browser + ".driver.version", "").trim();
+            if (!driverVersion.isEmpty()) {
+                manager.driverVersion(driverVersion);
+            }
+            if (ConfigReader.getBooleanProperty("webdriver.offline", false)) {
+                manager.ttl(Integer.MAX_VALUE).ttlBrowsers(Integer.MAX_VALUE);
+            }
+            manager.setup();
+            driverPath = manager.getDownloadedDriverPath();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        bootstrapTime.labels(browser).record(elapsed);
+        System.out.println("Resolved " + browser + " driver in " + elapsed.toMillis() + "ms: " + driverPath);
+        return new Resolution(browser, driverPath, elapsed, System.nanoTime());
+    }
+
+    private static WebDriverManager manager(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static String driverSystemProperty(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    /**
+     * Pre-resolves drivers into webdriver.cache.dir, e.g. while building a CI image.
+     * Arguments are browser names; defaults to the configured browser.
+     */
+    public static void main(String[] args) {
+        String[] browsers = args.length > 0 ? args : new String[] {DriverFactory.defaultTemplate().getBrowser()};
+        for (String browser : browsers) {
+            ensureResolved(browser.toLowerCase());
+        }
+    }
+
+    private static class Resolution {
+        private final String browser;
+        private final String driverPath;
+        private final Duration elapsed;
+        private final long completedNanos;
+
+        Resolution(String browser, String driverPath, Duration elapsed, long completedNanos) {
+            this.browser = browser;
+            this.driverPath = driverPath;
+            this.elapsed = elapsed;
+            this.completedNanos = completedNanos;
+        }
+    }
+}
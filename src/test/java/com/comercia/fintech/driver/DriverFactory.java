@@ -0,0 +1,141 @@
+package com.comercia.fintech.driver;
+
+import com.comercia.fintech.monitoring.WebDriverCommandRecorder;
+import com.comercia.fintech.utils.ConfigReader;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds browser option templates once per JVM and launches WebDriver sessions from them, locally
+ * or on the Selenium Grid when grid.enabled=true.
+ */
+public class DriverFactory {
+
+    private static final Map<String, BrowserTemplate> templates = new ConcurrentHashMap<>();
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Template for the browser and headless mode in config.properties, read once.
+     */
+    public static BrowserTemplate defaultTemplate() {
+        return DefaultTemplate.INSTANCE;
+    }
+
+    /**
+     * Shared immutable template for the browser; built on first use.
+     */
+    public static BrowserTemplate template(String browser, boolean headless) {
+        String key = browser + (headless ? ":headless" : "");
+        BrowserTemplate template = templates.get(key);
+        return template != null ? template
+            : templates.computeIfAbsent(key, k -> new BrowserTemplate(browser, headless, buildOptions(browser, headless)));
+    }
+
+    /**
+     * Template for the next scenario: with grid.browsers listing several browsers, the one with
+     * the most free grid slots; otherwise the configured default.
+     */
+    public static BrowserTemplate scenarioTemplate() {
+        List<String> browsers = ConfigReader.getListProperty("grid.browsers");
+        GridSlotScheduler grid = GridSlotScheduler.getInstance();
+        if (!grid.isEnabled() || browsers.size() < 2) {
+            return defaultTemplate();
+        }
+        boolean headless = defaultTemplate().isHeadless();
+        List<BrowserTemplate> candidates = new ArrayList<>();
+        for (String browser : browsers) {
+            candidates.add(template(browser.toLowerCase(), headless));
+        }
+        return grid.selectBrowser(candidates);
+    }
+
+    /**
+     * Launches a session; every command it sends is timed by {@link WebDriverCommandRecorder}.
+     */
+    public static WebDriver create(BrowserTemplate template) {
+        ClientConfig clientConfig = ClientConfig.defaultConfig().withFilter(WebDriverCommandRecorder.filter());
+        GridSlotScheduler grid = GridSlotScheduler.getInstance();
+        if (grid.isEnabled()) {
+            try {
+                return RemoteWebDriver.builder()
+                    .oneOf(template.newOptions())
+                    .address(grid.getGridUrl().toURL())
+                    .config(clientConfig)
+                    .build();
+            } catch (MalformedURLException e) {
+                throw new RuntimeException("Invalid Selenium Grid URL: " + grid.getGridUrl(), e);
+            }
+        }
+        DriverBootstrap.ensureResolved(template.getBrowser());
+        switch (template.getBrowser()) {
+            case "chrome":
+                return new ChromeDriver(ChromeDriverService.createDefaultService(),
+                    template.<ChromeOptions>newOptions(), clientConfig);
+
+            case "firefox":
+                return new FirefoxDriver(GeckoDriverService.createDefaultService(),
+                    template.<FirefoxOptions>newOptions(), clientConfig);
+
+            case "edge":
+                return new EdgeDriver(EdgeDriverService.createDefaultService(),
+                    template.<EdgeOptions>newOptions(), clientConfig);
+
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + template.getBrowser());
+        }
+    }
+
+    private static MutableCapabilities buildOptions(String browser, boolean headless) {
+        switch (browser) {
+            case "chrome":
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (headless) {
+                    chromeOptions.addArguments("--headless");
+                }
+                chromeOptions.addArguments("--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage");
+                return chromeOptions;
+
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                if (headless) {
+                    firefoxOptions.addArguments("-headless");
+                }
+                return firefoxOptions;
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (headless) {
+                    edgeOptions.addArguments("--headless");
+                }
+                return edgeOptions;
+
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static class DefaultTemplate {
+        private static final BrowserTemplate INSTANCE = template(
+            ConfigReader.getProperty("browser", "chrome").toLowerCase(),
+            Boolean.parseBoolean(ConfigReader.getProperty("headless.execution", "false")));
+    }
+}
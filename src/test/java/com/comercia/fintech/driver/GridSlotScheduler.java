@@ -0,0 +1,367 @@
+package com.comercia.fintech.driver;
+
+import com.comercia.fintech.monitoring.Gauge;
+import com.comercia.fintech.monitoring.MetricFamily;
+import com.comercia.fintech.monitoring.MetricRegistry;
+import com.comercia.fintech.monitoring.ObservabilityEventPipeline;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.utils.ConfigReader;
+import io.restassured.path.json.JsonPath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out Selenium Grid slots to scenarios based on the hub's live /status. The status is
+ * fetched at most once per cacheMillis by a single caller while everyone else reads the cached
+ * snapshot; sessions granted, started and released since that snapshot are accounted for locally
+ * so concurrent scenarios do not all claim the same free slot. When a browser has no free slot
+ * acquire() waits (backpressure) instead of piling requests into the hub's session queue. If the
+ * hub cannot be reached scenarios are not gated and the hub's own queue applies.
+ */
+public class GridSlotScheduler {
+
+    private static final String QUEUE_SIZE_QUERY = "{\"query\":\"{ grid { sessionQueueSize } }\"}";
+
+    private static final MetricRegistry metrics = TestObservabilitySystem.getMetricRegistry();
+    private static final MetricFamily<Gauge> slotsTotal = metrics.gaugeFamily(
+        "selenium_grid_slots", "Selenium Grid slots per browser", Gauge.Merge.MAX, "browser");
+    private static final MetricFamily<Gauge> slotsBusy = metrics.gaugeFamily(
+        "selenium_grid_busy_slots", "Selenium Grid slots running a session per browser", Gauge.Merge.MAX, "browser");
+    private static final Gauge slotUtilization = metrics.gauge(
+        "selenium_grid_slot_utilization", "Busy / total Selenium Grid slots", Gauge.Merge.MAX);
+    private static final Gauge hubQueueSize = metrics.gauge(
+        "selenium_grid_session_queue_size", "New session requests queued at the Selenium Grid hub", Gauge.Merge.MAX);
+    private static final Gauge waitingScenarios = metrics.gauge(
+        "grid_scheduler_waiting_scenarios", "Scenarios waiting for a free Selenium Grid slot");
+
+    private static final GridSlotScheduler instance = new GridSlotScheduler(
+        ConfigReader.getBooleanProperty("grid.enabled", false),
+        gridUrl(),
+        Duration.ofMillis(ConfigReader.getIntProperty("grid.status.cache.millis", 2000)),
+        Duration.ofMillis(ConfigReader.getIntProperty("grid.status.timeout.millis", 3000)));
+
+    private final boolean enabled;
+    private final URI gridUrl;
+    private final long cacheMillis;
+    private final Duration requestTimeout;
+    private final HttpClient client;
+
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile GridStatus status;
+    private volatile long lastAttemptMillis;
+    private boolean reachable = true;
+
+    // local view since the snapshot, guarded by this
+    private final Map<String, Integer> pending = new HashMap<>();
+    private final Map<String, Integer> delta = new HashMap<>();
+
+    GridSlotScheduler(boolean enabled, URI gridUrl, Duration cacheTime, Duration requestTimeout) {
+        this.enabled = enabled;
+        this.gridUrl = gridUrl;
+        this.cacheMillis = Math.max(100, cacheTime.toMillis());
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+    }
+
+    public static GridSlotScheduler getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hub URL for RemoteWebDriver, e.g. http://selenium-hub:4444/wd/hub.
+     */
+    public URI getGridUrl() {
+        return gridUrl;
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Latest grid status, refreshed when older than cacheMillis; null when the hub is unreachable.
+     */
+    public GridStatus getStatus() {
+        if (System.currentTimeMillis() - lastAttemptMillis < cacheMillis) {
+            return status;
+        }
+        if (!fetchLock.tryLock()) {
+            // another scenario is already asking the hub; only the very first fetch is worth waiting for
+            if (lastAttemptMillis == 0) {
+                fetchLock.lock();
+                fetchLock.unlock();
+            }
+            return status;
+        }
+        try {
+            if (System.currentTimeMillis() - lastAttemptMillis < cacheMillis) {
+                return status;
+            }
+            GridStatus fetched = fetch();
+            synchronized (this) {
+                status = fetched;
+                delta.clear();
+                notifyAll();
+            }
+            lastAttemptMillis = System.currentTimeMillis();
+            publish(fetched);
+            return fetched;
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the current grid capacity to the observability pipeline and gauges.
+     */
+    public void publishStatus() {
+        if (enabled) {
+            getStatus();
+        }
+    }
+
+    /**
+     * Slots the scheduler would hand out right now for the browser (stereotype browserName).
+     */
+    public synchronized int getAvailableSlots(String browser) {
+        GridStatus current = status;
+        if (current == null) return 0;
+        int free = current.getFreeSlots(browser)
+            - pending.getOrDefault(browser, 0)
+            + delta.getOrDefault(browser, 0);
+        return Math.max(0, Math.min(free, current.getTotalSlots(browser)));
+    }
+
+    /**
+     * Picks the candidate whose browser has the most free grid slots; the first one wins ties
+     * and is used when the grid is disabled or unreachable.
+     */
+    public BrowserTemplate selectBrowser(List<BrowserTemplate> candidates) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No browser candidates to choose from");
+        }
+        BrowserTemplate best = candidates.get(0);
+        if (!enabled || candidates.size() == 1 || getStatus() == null) {
+            return best;
+        }
+        int bestFree = getAvailableSlots(gridBrowser(best));
+        for (BrowserTemplate candidate : candidates.subList(1, candidates.size())) {
+            int free = getAvailableSlots(gridBrowser(candidate));
+            if (free > bestFree) {
+                best = candidate;
+                bestFree = free;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reserves a grid slot for a new session of the template's browser, waiting up to timeout
+     * while the grid is saturated. Call started() once the session exists and release() when it quits.
+     */
+    public Slot acquire(BrowserTemplate template, Duration timeout) {
+        String browser = gridBrowser(template);
+        if (!enabled) {
+            return new Slot(this, browser);
+        }
+
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        boolean counted = false;
+        try {
+            while (true) {
+                GridStatus current = getStatus();
+                synchronized (this) {
+                    if (current == null) {
+                        // hub unreachable: do not gate, the hub's session queue still applies
+                        return grant(browser);
+                    }
+                    if (current.getTotalSlots(browser) == 0) {
+                        throw new RuntimeException("Selenium Grid at " + gridUrl + " has no " + browser + " slots");
+                    }
+                    if (getAvailableSlots(browser) > 0) {
+                        return grant(browser);
+                    }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new RuntimeException("No free " + browser + " slot on Selenium Grid within "
+                            + timeout.toMillis() + "ms (" + current.getBusySlots(browser) + "/"
+                            + current.getTotalSlots(browser) + " busy, " + waiting.get() + " scenarios waiting)");
+                    }
+                    if (!counted) {
+                        counted = true;
+                        waitingScenarios.set(waiting.incrementAndGet());
+                    }
+                    try {
+                        wait(Math.min(remaining, cacheMillis));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Interrupted while waiting for a Selenium Grid slot", e);
+                    }
+                }
+            }
+        } finally {
+            if (counted) {
+                waitingScenarios.set(waiting.decrementAndGet());
+            }
+        }
+    }
+
+    /**
+     * Grid browser name for the template, e.g. MicrosoftEdge for edge.
+     */
+    static String gridBrowser(BrowserTemplate template) {
+        return template.getCapabilities().getBrowserName();
+    }
+
+    // --- Slot accounting (called by Slot) ---
+
+    private Slot grant(String browser) {
+        pending.merge(browser, 1, Integer::sum);
+        return new Slot(this, browser);
+    }
+
+    private synchronized void onStarted(Slot slot) {
+        if (enabled) {
+            pending.merge(slot.browser, -1, Integer::sum);
+            delta.merge(slot.browser, -1, Integer::sum);
+        }
+    }
+
+    private synchronized void onReleased(Slot slot, boolean wasStarted) {
+        if (enabled) {
+            if (wasStarted) {
+                delta.merge(slot.browser, 1, Integer::sum);
+            } else {
+                pending.merge(slot.browser, -1, Integer::sum);
+            }
+            notifyAll();
+        }
+    }
+
+    // --- Hub API ---
+
+    private GridStatus fetch() {
+        try {
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(endpoint("status")).timeout(requestTimeout).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            GridStatus fetched = GridStatus.parse(response.body(), fetchQueueSize(), System.currentTimeMillis());
+            if (!reachable) {
+                System.out.println("Selenium Grid status available again at " + gridUrl);
+                reachable = true;
+            }
+            return fetched;
+        } catch (IOException | RuntimeException e) {
+            if (reachable) {
+                System.err.println("Failed to read Selenium Grid status from " + gridUrl + ": " + e);
+                reachable = false;
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private int fetchQueueSize() throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(endpoint("graphql")).timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(QUEUE_SIZE_QUERY)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) return -1;
+            Integer size = new JsonPath(response.body()).get("data.grid.sessionQueueSize");
+            return size != null ? size : -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private URI endpoint(String path) {
+        // /status and /graphql live at the hub root, not under the legacy /wd/hub prefix
+        String base = gridUrl.toString().replaceAll("/+$", "").replaceAll("/wd/hub$", "");
+        return URI.create(base + "/" + path);
+    }
+
+    private static void publish(GridStatus fetched) {
+        if (fetched == null) return;
+        for (String browser : fetched.getBrowsers()) {
+            slotsTotal.labels(browser).set(fetched.getTotalSlots(browser));
+            slotsBusy.labels(browser).set(fetched.getBusySlots(browser));
+        }
+        int total = fetched.getTotalSlots();
+        slotUtilization.set(total > 0 ? (double) fetched.getBusySlots() / total : 0.0);
+        if (fetched.getQueueSize() >= 0) {
+            hubQueueSize.set(fetched.getQueueSize());
+        }
+        int nodes = fetched.getTotalNodes();
+        ObservabilityEventPipeline.publishGridStatus(nodes, fetched.getSaturatedNodes(), nodes - fetched.getSaturatedNodes());
+    }
+
+    private static URI gridUrl() {
+        String url = ConfigReader.getProperty("grid.url", "").trim();
+        if (url.isEmpty()) {
+            // set for the test-runner container by docker-compose.yml and k8s/selenium-grid.yml
+            String env = System.getenv("SELENIUM_GRID_URL");
+            url = env != null && !env.trim().isEmpty() ? env.trim() : "http://localhost:4444/wd/hub";
+        }
+        return URI.create(url);
+    }
+
+    /**
+     * A reserved grid slot. Idempotent: releasing twice frees the slot once.
+     */
+    public static class Slot {
+        private final GridSlotScheduler scheduler;
+        private final String browser;
+        private boolean started;
+        private boolean released;
+
+        Slot(GridSlotScheduler scheduler, String browser) {
+            this.scheduler = scheduler;
+            this.browser = browser;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        /**
+         * The session is now running on the grid.
+         */
+        public synchronized void started() {
+            if (started || released) return;
+            started = true;
+            scheduler.onStarted(this);
+        }
+
+        /**
+         * The session has quit (or was never created).
+         */
+        public synchronized void release() {
+            if (released) return;
+            released = true;
+            scheduler.onReleased(this, started);
+        }
+    }
+}
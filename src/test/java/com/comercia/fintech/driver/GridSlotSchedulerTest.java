@@ -0,0 +1,177 @@
+package com.comercia.fintech.driver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GridSlotSchedulerTest {
+
+    private static final BrowserTemplate CHROME = new BrowserTemplate("chrome", true, new ChromeOptions());
+
+    private HttpServer hub;
+    private final AtomicReference<String> statusBody = new AtomicReference<>(status(node("UP", 1, slot("chrome", false))));
+
+    @Before
+    public void startHub() throws IOException {
+        hub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hub.createContext("/status", exchange -> respond(exchange, statusBody.get()));
+        hub.createContext("/graphql", exchange -> respond(exchange, "{\"data\":{\"grid\":{\"sessionQueueSize\":3}}}"));
+        hub.start();
+    }
+
+    @After
+    public void stopHub() {
+        hub.stop(0);
+    }
+
+    @Test
+    public void parseCapsFreeSlotsAtMaxSessionsAndIgnoresDownNodes() {
+        String json = status(
+            node("UP", 2, slot("chrome", true), slot("chrome", false), slot("chrome", false), slot("firefox", false)),
+            node("DOWN", 4, slot("firefox", false), slot("firefox", false)),
+            node("UP", 1, slot("MicrosoftEdge", true)));
+
+        GridStatus status = GridStatus.parse(json, 7, 42L);
+
+        assertTrue(status.isReady());
+        assertEquals(3, status.getTotalNodes());
+        assertEquals("DOWN node and the full edge node", 2, status.getSaturatedNodes());
+        assertEquals(7, status.getQueueSize());
+        assertEquals(42L, status.getFetchedMillis());
+
+        assertEquals(3, status.getTotalSlots("chrome"));
+        assertEquals(1, status.getBusySlots("chrome"));
+        assertEquals("two idle chrome slots, but the node only starts one more session", 1, status.getFreeSlots("chrome"));
+        assertEquals(3, status.getTotalSlots("firefox"));
+        assertEquals("only the UP node's firefox slot is usable", 1, status.getFreeSlots("firefox"));
+        assertEquals(0, status.getFreeSlots("MicrosoftEdge"));
+        assertEquals(0, status.getTotalSlots("safari"));
+        assertEquals(7, status.getTotalSlots());
+        assertEquals(2, status.getBusySlots());
+    }
+
+    @Test
+    public void readsStatusAndQueueSizeFromHub() {
+        GridSlotScheduler scheduler = scheduler(hubUrl());
+
+        GridStatus status = scheduler.getStatus();
+
+        assertNotNull(status);
+        assertEquals(3, status.getQueueSize());
+        assertEquals(1, scheduler.getAvailableSlots("chrome"));
+    }
+
+    @Test
+    public void acquireTimesOutWhileGridIsSaturated() {
+        GridSlotScheduler scheduler = scheduler(hubUrl());
+        GridSlotScheduler.Slot first = scheduler.acquire(CHROME, Duration.ofSeconds(1));
+        assertEquals(0, scheduler.getAvailableSlots("chrome"));
+
+        long start = System.nanoTime();
+        try {
+            scheduler.acquire(CHROME, Duration.ofMillis(300));
+            fail("the only chrome slot is reserved");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("No free chrome slot"));
+        }
+        assertTrue("waited for the timeout", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+        assertEquals(0, scheduler.getWaitingCount());
+        first.release();
+    }
+
+    @Test
+    public void releaseWakesWaitingScenario() throws Exception {
+        GridSlotScheduler scheduler = scheduler(hubUrl());
+        GridSlotScheduler.Slot first = scheduler.acquire(CHROME, Duration.ofSeconds(1));
+        // the hub reports the slot as busy from now until the session is gone
+        statusBody.set(status(node("UP", 1, slot("chrome", true))));
+        first.started();
+
+        CompletableFuture<GridSlotScheduler.Slot> second =
+            CompletableFuture.supplyAsync(() -> scheduler.acquire(CHROME, Duration.ofSeconds(10)));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (scheduler.getWaitingCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, scheduler.getWaitingCount());
+        assertFalse(second.isDone());
+
+        Thread.sleep(250);
+        assertFalse("still saturated after the status was refreshed", second.isDone());
+
+        first.release();
+        statusBody.set(status(node("UP", 1, slot("chrome", false))));
+
+        GridSlotScheduler.Slot granted = second.get(2, TimeUnit.SECONDS);
+        assertEquals("chrome", granted.getBrowser());
+        assertEquals(0, scheduler.getWaitingCount());
+        granted.release();
+    }
+
+    @Test
+    public void unreachableHubDoesNotGateScenarios() {
+        hub.stop(0);
+        GridSlotScheduler scheduler = scheduler(hubUrl());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("chrome", scheduler.acquire(CHROME, Duration.ofSeconds(10)).getBrowser());
+        }
+
+        assertNull(scheduler.getStatus());
+        assertTrue("no waiting", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals(CHROME, scheduler.selectBrowser(java.util.Collections.singletonList(CHROME)));
+    }
+
+    private GridSlotScheduler scheduler(URI gridUrl) {
+        return new GridSlotScheduler(true, gridUrl, Duration.ofMillis(100), Duration.ofSeconds(1));
+    }
+
+    private URI hubUrl() {
+        return URI.create("http://127.0.0.1:" + hub.getAddress().getPort() + "/wd/hub");
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\":{\"ready\":true,\"message\":\"Selenium Grid ready.\",\"nodes\":["
+            + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, int maxSessions, String... slots) {
+        return "{\"availability\":\"" + availability + "\",\"maxSessions\":" + maxSessions
+            + ",\"slots\":[" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browser, boolean busy) {
+        return "{\"stereotype\":{\"browserName\":\"" + browser + "\"},\"session\":"
+            + (busy ? "{\"sessionId\":\"s1\"}" : "null") + "}";
+    }
+}
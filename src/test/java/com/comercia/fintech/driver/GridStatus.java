@@ -0,0 +1,135 @@
+package com.comercia.fintech.driver;
+
+import io.restassured.path.json.JsonPath;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a Selenium Grid 4 /status response, summarised per browser name
+ * (the stereotype's browserName, e.g. chrome, firefox, MicrosoftEdge). Free slots respect
+ * each node's maxSessions, and nodes that are not UP contribute no free slots.
+ */
+public final class GridStatus {
+
+    private final boolean ready;
+    private final int totalNodes;
+    private final int saturatedNodes;
+    private final int queueSize;
+    private final long fetchedMillis;
+    private final Map<String, int[]> slots; // browser -> {total, busy, free}
+
+    private GridStatus(boolean ready, int totalNodes, int saturatedNodes, int queueSize,
+                       long fetchedMillis, Map<String, int[]> slots) {
+        this.ready = ready;
+        this.totalNodes = totalNodes;
+        this.saturatedNodes = saturatedNodes;
+        this.queueSize = queueSize;
+        this.fetchedMillis = fetchedMillis;
+        this.slots = Collections.unmodifiableMap(slots);
+    }
+
+    /**
+     * Parses a /status body; queueSize comes from the GraphQL endpoint (-1 when unknown).
+     */
+    @SuppressWarnings("unchecked")
+    static GridStatus parse(String json, int queueSize, long fetchedMillis) {
+        JsonPath path = new JsonPath(json);
+        boolean ready = path.getBoolean("value.ready");
+        List<Map<String, Object>> nodes = path.getList("value.nodes");
+        Map<String, int[]> slots = new HashMap<>();
+        int saturated = 0;
+
+        if (nodes == null) {
+            nodes = Collections.emptyList();
+        }
+        for (Map<String, Object> node : nodes) {
+            boolean up = "UP".equalsIgnoreCase(String.valueOf(node.get("availability")));
+            List<Map<String, Object>> nodeSlots = (List<Map<String, Object>>) node.get("slots");
+            if (nodeSlots == null) nodeSlots = Collections.emptyList();
+            Object max = node.get("maxSessions");
+            int maxSessions = max instanceof Number ? ((Number) max).intValue() : nodeSlots.size();
+
+            int busyOnNode = 0;
+            for (Map<String, Object> slot : nodeSlots) {
+                if (slot.get("session") != null) busyOnNode++;
+            }
+            int nodeCapacity = up ? Math.max(0, maxSessions - busyOnNode) : 0;
+            if (nodeCapacity == 0) saturated++;
+
+            // per browser: free slots of that stereotype, but never more than the node can still start
+            Map<String, int[]> perBrowser = new HashMap<>();
+            for (Map<String, Object> slot : nodeSlots) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                String browser = stereotype != null ? String.valueOf(stereotype.get("browserName")) : "unknown";
+                int[] counts = perBrowser.computeIfAbsent(browser, b -> new int[3]);
+                counts[0]++;
+                if (slot.get("session") != null) counts[1]++;
+                else counts[2]++;
+            }
+            perBrowser.forEach((browser, counts) -> {
+                int[] total = slots.computeIfAbsent(browser, b -> new int[3]);
+                total[0] += counts[0];
+                total[1] += counts[1];
+                total[2] += Math.min(counts[2], nodeCapacity);
+            });
+        }
+        return new GridStatus(ready, nodes.size(), saturated, queueSize, fetchedMillis, slots);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getTotalNodes() {
+        return totalNodes;
+    }
+
+    /**
+     * Nodes that cannot start another session (full, draining or down).
+     */
+    public int getSaturatedNodes() {
+        return saturatedNodes;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public long getFetchedMillis() {
+        return fetchedMillis;
+    }
+
+    public Iterable<String> getBrowsers() {
+        return slots.keySet();
+    }
+
+    public int getTotalSlots(String browser) {
+        int[] counts = slots.get(browser);
+        return counts != null ? counts[0] : 0;
+    }
+
+    public int getBusySlots(String browser) {
+        int[] counts = slots.get(browser);
+        return counts != null ? counts[1] : 0;
+    }
+
+    public int getFreeSlots(String browser) {
+        int[] counts = slots.get(browser);
+        return counts != null ? counts[2] : 0;
+    }
+
+    public int getTotalSlots() {
+        int total = 0;
+        for (int[] counts : slots.values()) total += counts[0];
+        return total;
+    }
+
+    public int getBusySlots() {
+        int busy = 0;
+        for (int[] counts : slots.values()) busy += counts[1];
+        return busy;
+    }
+}
@@ -0,0 +1,87 @@
+package com.comercia.fintech.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A WebDriver session leased from the WebDriverPool. Hand it back with release() when the
+ * scenario ends, or invalidate() if the browser should not be reused.
+ */
+public class PooledWebDriver {
+
+    private final WebDriverPool pool;
+    private final BrowserTemplate key;
+    private final WebDriver driver;
+    private final GridSlotScheduler.Slot slot;
+    private final long createdMillis;
+    private int uses;
+    private long idleSinceMillis;
+    private boolean leased;
+
+    PooledWebDriver(WebDriverPool pool, BrowserTemplate key, WebDriver driver, GridSlotScheduler.Slot slot) {
+        this.pool = pool;
+        this.key = key;
+        this.driver = driver;
+        this.slot = slot;
+        this.createdMillis = System.currentTimeMillis();
+        this.idleSinceMillis = createdMillis;
+    }
+
+    /**
+     * The underlying driver; do not quit it, release the session instead.
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public String getBrowser() {
+        return key.getBrowser();
+    }
+
+    public int getUses() {
+        return uses;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    /**
+     * Resets the browser and returns it to the pool (or quits it when pooling is disabled).
+     */
+    public void release() {
+        pool.release(this);
+    }
+
+    /**
+     * Quits the browser instead of returning it, e.g. after it crashed or hung.
+     */
+    public void invalidate() {
+        pool.invalidate(this);
+    }
+
+    BrowserTemplate getKey() {
+        return key;
+    }
+
+    GridSlotScheduler.Slot getSlot() {
+        return slot;
+    }
+
+    synchronized boolean lease() {
+        if (leased) return false;
+        leased = true;
+        uses++;
+        return true;
+    }
+
+    synchronized boolean returnToPool() {
+        if (!leased) return false;
+        leased = false;
+        idleSinceMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    synchronized long getIdleSinceMillis() {
+        return idleSinceMillis;
+    }
+}
@@ -0,0 +1,408 @@
+package com.comercia.fintech.driver;
+
+import com.comercia.fintech.monitoring.Counter;
+import com.comercia.fintech.monitoring.Gauge;
+import com.comercia.fintech.monitoring.MetricRegistry;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.monitoring.Timer;
+import com.comercia.fintech.utils.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Pool of warm WebDriver sessions shared by UI scenarios, keyed by browser and capabilities.
+ * A returned session is reset (extra windows, cookies, web storage, about:blank) and handed to
+ * the next scenario with the same key instead of launching a new browser. With
+ * webdriver.pool.reset.keep.page=true the last page stays loaded so page objects can restore it
+ * in place (see CheckoutPage.navigateTo) instead of reloading it. At most maxSessions
+ * browsers are alive at once; when the cap is reached an idle session of another key is evicted,
+ * otherwise acquire() waits for a release. Idle sessions are health-checked on hand-out and in
+ * the background, and quit after idleTimeout or maxUses scenarios. With grid.enabled=true each
+ * live session holds a Selenium Grid slot from GridSlotScheduler until it is quit.
+ */
+public class WebDriverPool {
+
+    private static final String BLANK_PAGE = "about:blank";
+    private static final boolean KEEP_PAGE_ON_RESET =
+        ConfigReader.getBooleanProperty("webdriver.pool.reset.keep.page", false);
+    private static final String CLEAR_STORAGE_SCRIPT =
+        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final MetricRegistry metrics = TestObservabilitySystem.getMetricRegistry();
+    private static final Counter sessionsCreated = metrics.counter(
+        "webdriver_pool_sessions_created_total", "Browser sessions launched by the WebDriver pool");
+    private static final Counter sessionsReused = metrics.counter(
+        "webdriver_pool_sessions_reused_total", "Scenarios served by an already running browser");
+    private static final Counter sessionsDiscarded = metrics.counter(
+        "webdriver_pool_sessions_discarded_total", "Browser sessions quit because they were unhealthy, idle or worn out");
+    private static final Gauge liveSessions = metrics.gauge(
+        "webdriver_pool_live_sessions", "Browser sessions currently alive");
+    private static final Gauge idleSessions = metrics.gauge(
+        "webdriver_pool_idle_sessions", "Browser sessions waiting in the pool");
+    private static final Timer acquireTime = metrics.timer(
+        "webdriver_pool_acquire_ms", "Time to obtain a browser session in milliseconds");
+
+    private static final WebDriverPool instance = new WebDriverPool(
+        ConfigReader.getBooleanProperty("webdriver.pool.enabled", true),
+        ConfigReader.getIntProperty("webdriver.pool.max.size", Runtime.getRuntime().availableProcessors()),
+        ConfigReader.getIntProperty("webdriver.pool.max.uses", 50),
+        Duration.ofSeconds(ConfigReader.getIntProperty("webdriver.pool.idle.timeout.seconds", 300)),
+        Duration.ofSeconds(ConfigReader.getIntProperty("webdriver.pool.acquire.timeout.seconds", 120)),
+        DriverFactory::create,
+        GridSlotScheduler.getInstance());
+
+    private final boolean enabled;
+    private final int maxSessions;
+    private final int maxUses;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final Function<BrowserTemplate, WebDriver> launcher;
+    private final GridSlotScheduler grid;
+
+    private final Semaphore capacity;
+    private final Map<BrowserTemplate, Deque<PooledWebDriver>> idle = new ConcurrentHashMap<>();
+    private final Set<PooledWebDriver> live = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Object available = new Object();
+    private final ExecutorService prewarmer;
+    private final ScheduledExecutorService healthChecker;
+    private volatile boolean closed;
+
+    WebDriverPool(boolean enabled, int maxSessions, int maxUses, Duration idleTimeout, Duration acquireTimeout,
+                  Function<BrowserTemplate, WebDriver> launcher, GridSlotScheduler grid) {
+        this.enabled = enabled;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxUses = Math.max(1, maxUses);
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.launcher = launcher;
+        this.grid = grid;
+        this.capacity = new Semaphore(this.maxSessions);
+
+        this.prewarmer = Executors.newFixedThreadPool(Math.min(this.maxSessions, 4), daemon("webdriver-prewarm"));
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(daemon("webdriver-pool-health"));
+        long interval = Math.max(1000, Math.min(idleTimeoutMillis, TimeUnit.SECONDS.toMillis(30)));
+        healthChecker.scheduleWithFixedDelay(this::checkIdleSessions, interval, interval, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "webdriver-pool-shutdown"));
+    }
+
+    public static WebDriverPool getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public PooledWebDriver acquire(String browser, boolean headless) {
+        return acquire(DriverFactory.template(browser, headless));
+    }
+
+    /**
+     * Leases a session for the template, reusing a warm one when available.
+     */
+    public PooledWebDriver acquire(BrowserTemplate key) {
+        long start = System.nanoTime();
+        String browser = key.getBrowser();
+        if (!enabled) {
+            PooledWebDriver session = launch(key, Duration.ofMillis(acquireTimeoutMillis));
+            session.lease();
+            return session;
+        }
+
+        long deadline = System.currentTimeMillis() + acquireTimeoutMillis;
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("WebDriver pool has been shut down");
+            }
+
+            PooledWebDriver session = takeIdle(key);
+            if (session != null) {
+                if (isHealthy(session.getDriver())) {
+                    session.lease();
+                    sessionsReused.inc();
+                    acquireTime.record(Duration.ofNanos(System.nanoTime() - start));
+                    return session;
+                }
+                discard(session, "failed health check");
+                continue;
+            }
+
+            if (capacity.tryAcquire()) {
+                // a new browser also needs a grid slot; waiting for one counts against the same deadline
+                session = launch(key, Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis())));
+                session.lease();
+                acquireTime.record(Duration.ofNanos(System.nanoTime() - start));
+                return session;
+            }
+
+            if (evictIdleExcept(key)) {
+                continue;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new RuntimeException("No " + browser + " session available within " + acquireTimeoutMillis
+                    + "ms; all " + maxSessions + " pooled sessions are in use");
+            }
+            synchronized (available) {
+                try {
+                    available.wait(Math.min(remaining, 250));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a WebDriver session", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Launches up to {@code count} sessions in the background so the first scenarios find warm browsers.
+     */
+    public void prewarm(BrowserTemplate key, int count) {
+        if (!enabled || closed) return;
+
+        String browser = key.getBrowser();
+        for (int i = 0; i < count; i++) {
+            prewarmer.execute(() -> {
+                if (closed || !capacity.tryAcquire()) return;
+                try {
+                    // never wait for a grid slot just to pre-warm
+                    PooledWebDriver session = launch(key, Duration.ZERO);
+                    offerIdle(session);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to pre-warm " + browser + " session: " + e.getMessage());
+                }
+            });
+        }
+        System.out.println("Pre-warming " + count + " " + browser + " session(s) in the background");
+    }
+
+    /**
+     * Pre-warms sessions for the browser and headless mode configured in config.properties.
+     */
+    public void prewarmConfigured(int count) {
+        prewarm(DriverFactory.defaultTemplate(), Math.min(count, maxSessions));
+    }
+
+    public int getLiveCount() {
+        return live.size();
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Quits every session, leased or idle. Registered as a shutdown hook.
+     */
+    public void shutdown() {
+        if (closed) return;
+        closed = true;
+        prewarmer.shutdownNow();
+        healthChecker.shutdownNow();
+        for (PooledWebDriver session : new ArrayList<>(live)) {
+            quit(session);
+        }
+        live.clear();
+        idle.clear();
+        idleCount.set(0);
+        updateGauges();
+    }
+
+    // --- Lease lifecycle (called by PooledWebDriver) ---
+
+    void release(PooledWebDriver session) {
+        if (!session.returnToPool()) return;
+
+        if (!enabled || closed) {
+            discard(session, null);
+        } else if (session.getUses() >= maxUses) {
+            discard(session, "reached " + maxUses + " scenarios");
+        } else if (!reset(session.getDriver())) {
+            discard(session, "could not be reset");
+        } else {
+            offerIdle(session);
+        }
+    }
+
+    void invalidate(PooledWebDriver session) {
+        if (session.returnToPool()) {
+            discard(session, "invalidated");
+        }
+    }
+
+    // --- Internals ---
+
+    private PooledWebDriver launch(BrowserTemplate key, Duration slotTimeout) {
+        GridSlotScheduler.Slot slot = null;
+        try {
+            slot = grid.acquire(key, slotTimeout);
+            WebDriver driver = launcher.apply(key);
+            slot.started();
+            PooledWebDriver session = new PooledWebDriver(this, key, driver, slot);
+            live.add(session);
+            sessionsCreated.inc();
+            updateGauges();
+            return session;
+        } catch (RuntimeException e) {
+            if (slot != null) {
+                slot.release();
+            }
+            if (enabled) {
+                capacity.release();
+            }
+            throw e;
+        }
+    }
+
+    private PooledWebDriver takeIdle(BrowserTemplate key) {
+        Deque<PooledWebDriver> sessions = idle.get(key);
+        PooledWebDriver session = sessions != null ? sessions.pollFirst() : null;
+        if (session != null) {
+            idleCount.decrementAndGet();
+            updateGauges();
+        }
+        return session;
+    }
+
+    private void offerIdle(PooledWebDriver session) {
+        // most recently used first: the warmest browser is handed out next
+        idle.computeIfAbsent(session.getKey(), k -> new ConcurrentLinkedDeque<>()).offerFirst(session);
+        idleCount.incrementAndGet();
+        updateGauges();
+        signalAvailable();
+    }
+
+    private boolean evictIdleExcept(BrowserTemplate key) {
+        for (Map.Entry<BrowserTemplate, Deque<PooledWebDriver>> entry : idle.entrySet()) {
+            if (entry.getKey().equals(key)) continue;
+            PooledWebDriver victim = entry.getValue().pollLast();
+            if (victim != null) {
+                idleCount.decrementAndGet();
+                discard(victim, "evicted for a " + key.getBrowser() + " session");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkIdleSessions() {
+        long now = System.currentTimeMillis();
+        for (Deque<PooledWebDriver> sessions : idle.values()) {
+            for (PooledWebDriver session : new ArrayList<>(sessions)) {
+                // removing first makes sure no scenario is handed this session while it is checked
+                if (!sessions.remove(session)) continue;
+                idleCount.decrementAndGet();
+
+                if (now - session.getIdleSinceMillis() >= idleTimeoutMillis) {
+                    discard(session, "idle for " + (now - session.getIdleSinceMillis()) + "ms");
+                } else if (!isHealthy(session.getDriver())) {
+                    discard(session, "failed health check");
+                } else {
+                    sessions.offerLast(session);
+                    idleCount.incrementAndGet();
+                }
+            }
+        }
+        updateGauges();
+    }
+
+    private void discard(PooledWebDriver session, String reason) {
+        if (!live.remove(session)) return;
+        if (reason != null) {
+            System.out.println("Discarding " + session.getBrowser() + " session: " + reason);
+            sessionsDiscarded.inc();
+        }
+        quit(session);
+        if (enabled) {
+            capacity.release();
+        }
+        updateGauges();
+        signalAvailable();
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            String current = driver.getWindowHandle();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(current)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(current);
+            driver.manage().deleteAllCookies();
+            // web storage is per origin, so it has to be cleared before leaving the page
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            if (!KEEP_PAGE_ON_RESET) {
+                driver.get(BLANK_PAGE);
+            }
+            return true;
+        } catch (WebDriverException e) {
+            System.err.println("Failed to reset pooled WebDriver session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void quit(PooledWebDriver session) {
+        try {
+            session.getDriver().quit();
+        } catch (WebDriverException e) {
+            System.err.println("Error closing WebDriver: " + e.getMessage());
+        } finally {
+            session.getSlot().release();
+        }
+    }
+
+    private void signalAvailable() {
+        synchronized (available) {
+            available.notifyAll();
+        }
+    }
+
+    private void updateGauges() {
+        liveSessions.set(live.size());
+        idleSessions.set(idleCount.get());
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
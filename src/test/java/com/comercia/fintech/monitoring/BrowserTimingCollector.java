@@ -0,0 +1,117 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the browser's own Navigation, Paint and Resource Timing entries in one script call and
+ * records them into TestObservabilitySystem, labelled by page and browser. Each entry is reported
+ * once: navigation and paint timings once per document, resources from where the last collection
+ * on that document stopped, so collecting again after an in-page action only adds its requests.
+ */
+public class BrowserTimingCollector {
+
+    private static final boolean ENABLED = ConfigReader.getBooleanProperty("ui.performance.timing.enabled", true);
+
+    // returns {navigation: {...}?, firstContentfulPaint: ms?, resources: [...]}; bookkeeping lives on window
+    private static final String TIMING_SCRIPT =
+        "var perf = window.performance, out = {resources: []};"
+        + "if (!perf || !perf.getEntriesByType) return out;"
+        + "if (!window.__timingNavigationReported) {"
+        + "  var nav = perf.getEntriesByType('navigation')[0];"
+        // loadEventEnd is 0 until the load event has finished; report on a later collection then
+        + "  if (nav && nav.loadEventEnd > 0) {"
+        + "    out.navigation = {ttfb: nav.responseStart - nav.startTime,"
+        + "      domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime,"
+        + "      load: nav.loadEventEnd - nav.startTime, type: nav.type};"
+        + "    window.__timingNavigationReported = true;"
+        + "  }"
+        + "}"
+        + "if (!window.__timingPaintReported) {"
+        + "  var fcp = perf.getEntriesByName('first-contentful-paint');"
+        + "  if (fcp.length) { out.firstContentfulPaint = fcp[0].startTime; window.__timingPaintReported = true; }"
+        + "}"
+        + "var res = perf.getEntriesByType('resource'), start = window.__timingResourceCursor || 0;"
+        + "if (start > res.length) start = 0;"
+        + "for (var i = start; i < res.length; i++) {"
+        + "  out.resources.push({name: res[i].name, initiator: res[i].initiatorType || 'other',"
+        + "    duration: res[i].duration, bytes: res[i].transferSize || 0});"
+        + "}"
+        + "window.__timingResourceCursor = res.length;"
+        + "return out;";
+
+    private BrowserTimingCollector() {
+    }
+
+    /**
+     * Collects the timings the page has produced since the last call; never fails the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public static void collect(WebDriver driver, String page) {
+        if (!ENABLED || !(driver instanceof JavascriptExecutor)) return;
+        String browser = driver instanceof HasCapabilities
+            ? ((HasCapabilities) driver).getCapabilities().getBrowserName() : "unknown";
+        Map<String, Object> timings;
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT);
+            if (!(result instanceof Map)) return;
+            timings = (Map<String, Object>) result;
+        } catch (Exception e) {
+            System.err.println("Failed to collect browser timings for " + page + ": " + e.getMessage());
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder("Browser timings for " + page + " (" + browser + "):");
+        Object navigation = timings.get("navigation");
+        if (navigation instanceof Map) {
+            Map<String, Object> nav = (Map<String, Object>) navigation;
+            Duration load = millis(nav.get("load"));
+            TestObservabilitySystem.recordPageTiming(page, browser, "ttfb", millis(nav.get("ttfb")));
+            TestObservabilitySystem.recordPageTiming(page, browser, "dom_content_loaded", millis(nav.get("domContentLoaded")));
+            TestObservabilitySystem.recordPageTiming(page, browser, "load", load);
+            ObservabilityEventPipeline.publishPageLoad(page, load, true);
+            summary.append(" ttfb=").append(millis(nav.get("ttfb")).toMillis()).append("ms")
+                .append(" domContentLoaded=").append(millis(nav.get("domContentLoaded")).toMillis()).append("ms")
+                .append(" load=").append(load.toMillis()).append("ms");
+        }
+        if (timings.get("firstContentfulPaint") != null) {
+            Duration fcp = millis(timings.get("firstContentfulPaint"));
+            TestObservabilitySystem.recordPageTiming(page, browser, "first_contentful_paint", fcp);
+            summary.append(" fcp=").append(fcp.toMillis()).append("ms");
+        }
+
+        Object resourceList = timings.get("resources");
+        List<Map<String, Object>> resources = resourceList instanceof List
+            ? (List<Map<String, Object>>) resourceList : Collections.emptyList();
+        Map<String, Object> slowest = null;
+        for (Map<String, Object> resource : resources) {
+            TestObservabilitySystem.recordResourceTiming(page, browser, String.valueOf(resource.get("initiator")),
+                millis(resource.get("duration")), number(resource.get("bytes")).longValue());
+            if (slowest == null || number(resource.get("duration")).doubleValue() > number(slowest.get("duration")).doubleValue()) {
+                slowest = resource;
+            }
+        }
+        summary.append(' ').append(resources.size()).append(" resource(s)");
+        if (slowest != null) {
+            summary.append(", slowest ").append(slowest.get("name")).append(' ')
+                .append(millis(slowest.get("duration")).toMillis()).append("ms");
+        }
+        System.out.println(summary);
+    }
+
+    private static Duration millis(Object value) {
+        // DOMHighResTimeStamp: fractional milliseconds
+        return Duration.ofNanos(Math.max(0L, (long) (number(value).doubleValue() * 1_000_000)));
+    }
+
+    private static Number number(Object value) {
+        return value instanceof Number ? (Number) value : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter handle backed by a LongAdder; increments never allocate.
+ */
+public class Counter implements Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void writeSamples(Writer out, String name, String labels) throws IOException {
+        MetricFamily.writeSample(out, name, labels, Long.toString(value.sum()));
+    }
+
+    @Override
+    public void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,123 @@
+package com.comercia.fintech.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable real-time dashboard values. TestObservabilitySystem builds a new instance after
+ * each batch of events and publishes it with a single volatile write, so console printing,
+ * Grafana polling and the /dashboard endpoint read it in O(1) without locking.
+ */
+public final class DashboardSnapshot {
+
+    static final DashboardSnapshot EMPTY = new DashboardSnapshot(0, 0, Collections.emptyMap());
+
+    private final long version;
+    private final long timestampMillis;
+    private final Map<String, Object> values;
+    // rendered on first request; racing readers at worst render the same JSON twice
+    private volatile String json;
+
+    DashboardSnapshot(long version, long timestampMillis, Map<String, Object> values) {
+        this.version = version;
+        this.timestampMillis = timestampMillis;
+        Map<String, Object> copy = new LinkedHashMap<>();
+        values.forEach((key, value) -> copy.put(key, immutable(value)));
+        this.values = Collections.unmodifiableMap(copy);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Object get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Unmodifiable view of all values, in the getRealTimeDashboard() key layout.
+     */
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    public String toJson() {
+        String rendered = json;
+        if (rendered == null) {
+            StringBuilder out = new StringBuilder(512);
+            out.append("{\"version\":").append(version).append(",\"timestamp\":").append(timestampMillis);
+            values.forEach((key, value) -> {
+                out.append(',');
+                appendJson(out, key);
+                out.append(':');
+                appendJson(out, value);
+            });
+            rendered = out.append('}').toString();
+            json = rendered;
+        }
+        return rendered;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object immutable(Object value) {
+        if (value instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<String, Object>) value));
+        }
+        if (value instanceof Collection) {
+            return Collections.unmodifiableList(new ArrayList<>((Collection<Object>) value));
+        }
+        return value;
+    }
+
+    private static void appendJson(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            out.append(Double.isFinite(number) ? value.toString() : "null");
+        } else if (value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) out.append(',');
+                appendJson(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                appendJson(out, entry.getValue());
+                first = false;
+            }
+            out.append('}');
+        } else if (value instanceof List) {
+            out.append('[');
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) out.append(',');
+                appendJson(out, list.get(i));
+            }
+            out.append(']');
+        } else {
+            String text = value.toString();
+            out.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.append('\\').append(c);
+                } else if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+            out.append('"');
+        }
+    }
+}
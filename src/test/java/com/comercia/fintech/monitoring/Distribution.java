@@ -0,0 +1,52 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Distribution of plain counts (e.g. round trips per step), exposed as a unitless Prometheus summary.
+ * Shares LatencyHistogram's buckets, one unit per millisecond, so it keeps ~3% relative precision.
+ */
+public class Distribution implements Metric {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String[] QUANTILE_LABELS = {"quantile=\"0.5\"", "quantile=\"0.95\"", "quantile=\"0.99\""};
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public void observe(long value) {
+        histogram.recordMillis(value);
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public double getSum() {
+        return histogram.getSumMillis();
+    }
+
+    public double getValueAtPercentile(double percentile) {
+        return histogram.getValueAtPercentileMillis(percentile);
+    }
+
+    LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public void writeSamples(Writer out, String name, String labels) throws IOException {
+        String separator = labels.isEmpty() ? "" : ",";
+        for (int i = 0; i < QUANTILES.length; i++) {
+            MetricFamily.writeSample(out, name, labels + separator + QUANTILE_LABELS[i],
+                Double.toString(histogram.getValueAtPercentileMillis(QUANTILES[i] * 100)));
+        }
+        MetricFamily.writeSample(out, name + "_sum", labels, Double.toString(histogram.getSumMillis()));
+        MetricFamily.writeSample(out, name + "_count", labels, Long.toString(histogram.getCount()));
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+}
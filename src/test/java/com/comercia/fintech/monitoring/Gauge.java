@@ -0,0 +1,73 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauge handle holding a double in an AtomicLong so set/inc/dec never allocate.
+ */
+public class Gauge implements Metric {
+
+    /**
+     * How values of the same gauge reported by several test JVMs are combined.
+     */
+    public enum Merge {
+        /** per-process quantities, e.g. active tests */
+        SUM,
+        /** shared resources every process observes, e.g. grid nodes */
+        MAX,
+        /** value from the most recent snapshot, e.g. last transaction amount */
+        LAST
+    }
+
+    private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final Merge merge;
+
+    public Gauge() {
+        this(Merge.SUM);
+    }
+
+    public Gauge(Merge merge) {
+        this.merge = merge;
+    }
+
+    public Merge getMerge() {
+        return merge;
+    }
+
+    public void set(double value) {
+        bits.set(Double.doubleToRawLongBits(value));
+    }
+
+    public void add(double delta) {
+        long current;
+        long next;
+        do {
+            current = bits.get();
+            next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!bits.compareAndSet(current, next));
+    }
+
+    public void inc() {
+        add(1.0);
+    }
+
+    public void dec() {
+        add(-1.0);
+    }
+
+    public double get() {
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    @Override
+    public void writeSamples(Writer out, String name, String labels) throws IOException {
+        MetricFamily.writeSample(out, name, labels, Double.toString(get()));
+    }
+
+    @Override
+    public void reset() {
+        set(0.0);
+    }
+}
@@ -0,0 +1,488 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes API responses, page loads and business transactions to InfluxDB 2.x as line protocol.
+ * The aggregator thread encodes events into a batch that is sealed (gzip-compressed) once it
+ * reaches batchPoints or batchBytes, or is older than flushInterval. A daemon sender thread
+ * posts sealed batches to /api/v2/write and retries transient failures (IO errors, 429, 5xx)
+ * with exponential backoff. Sealed batches held in memory are capped at memoryBytes; beyond
+ * that, and for whatever is unsent at shutdown, batches are spilled to spillDirectory and sent
+ * once the backend keeps up again (also by later runs). Parallel forks may share spillDirectory:
+ * a spilled batch is replayed only while holding a file lock on it, so each is sent once.
+ */
+public class InfluxLineProtocolExporter implements TelemetryEventListener {
+
+    static final String SPILL_SUFFIX = ".lp.gz";
+
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long SHUTDOWN_FLUSH_MILLIS = 5000;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final Counter pointsWritten = TestObservabilitySystem.getMetricRegistry().counter(
+        "influx_points_written_total", "Points accepted by InfluxDB");
+    private static final Counter pointsDropped = TestObservabilitySystem.getMetricRegistry().counter(
+        "influx_points_dropped_total", "Points discarded because InfluxDB rejected them or the spill directory was full");
+    private static final Counter batchesSpilled = TestObservabilitySystem.getMetricRegistry().counter(
+        "influx_batches_spilled_total", "Batches written to the spill directory instead of memory");
+    private static final Counter writeFailures = TestObservabilitySystem.getMetricRegistry().counter(
+        "influx_write_failures_total", "Failed InfluxDB write attempts");
+    private static final Counter spillFilesBusy = TestObservabilitySystem.getMetricRegistry().counter(
+        "influx_spill_files_busy_total", "Spilled batches skipped because another exporter was replaying them");
+    private static final Gauge pendingBytesGauge = TestObservabilitySystem.getMetricRegistry().gauge(
+        "influx_pending_bytes", "Compressed bytes waiting in memory for InfluxDB");
+
+    private final URI writeUri;
+    private final String token;
+    private final int batchPoints;
+    private final int batchBytes;
+    private final long flushIntervalMillis;
+    private final long memoryBytes;
+    private final Path spillDirectory;
+    private final long spillBytes;
+    private final long initialBackoffMillis;
+    private final String runId;
+    private final HttpClient client;
+
+    // aggregator thread only
+    private final StringBuilder lines = new StringBuilder(64 * 1024);
+    private int points;
+    private long batchStartedMillis;
+
+    private final LinkedBlockingQueue<Batch> pending = new LinkedBlockingQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final AtomicLong spillSequence = new AtomicLong();
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    public InfluxLineProtocolExporter(URI writeUri, String token, int batchPoints, int batchBytes,
+                                      Duration flushInterval, long memoryBytes, Path spillDirectory,
+                                      long spillBytes, Duration initialBackoff) {
+        this.writeUri = writeUri;
+        this.token = token;
+        this.batchPoints = Math.max(1, batchPoints);
+        this.batchBytes = Math.max(1024, batchBytes);
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.memoryBytes = memoryBytes;
+        this.spillDirectory = spillDirectory;
+        this.spillBytes = spillBytes;
+        this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+        this.runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        try {
+            Files.createDirectories(spillDirectory);
+            for (Path file : spillFiles()) {
+                spilledBytes.addAndGet(Files.size(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare InfluxDB spill directory " + spillDirectory, e);
+        }
+
+        this.sender = new Thread(this::sendLoop, "influx-exporter");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Exporter configured by influx.* in config.properties, or null when disabled.
+     */
+    public static InfluxLineProtocolExporter fromConfig() {
+        if (!ConfigReader.getBooleanProperty("influx.enabled", false)) {
+            return null;
+        }
+        URI writeUri = writeUri(ConfigReader.getProperty("influx.url", "http://localhost:8086"),
+            ConfigReader.getProperty("influx.org", "comercia"),
+            ConfigReader.getProperty("influx.bucket", "test-metrics"));
+        return new InfluxLineProtocolExporter(writeUri,
+            ConfigReader.getProperty("influx.token", ""),
+            ConfigReader.getIntProperty("influx.batch.points", 5000),
+            ConfigReader.getIntProperty("influx.batch.kb", 1024) * 1024,
+            Duration.ofMillis(ConfigReader.getIntProperty("influx.flush.millis", 1000)),
+            ConfigReader.getIntProperty("influx.memory.kb", 8192) * 1024L,
+            Paths.get(ConfigReader.getProperty("influx.spill.dir", "target/influx-spill")),
+            ConfigReader.getIntProperty("influx.spill.mb", 256) * 1024L * 1024L,
+            Duration.ofMillis(ConfigReader.getIntProperty("influx.retry.initial.millis", 200)));
+    }
+
+    /**
+     * InfluxDB 2.x write endpoint for the given server, organisation and bucket (millisecond precision).
+     */
+    public static URI writeUri(String baseUrl, String org, String bucket) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return URI.create(base + "/api/v2/write?org=" + URLEncoder.encode(org, StandardCharsets.UTF_8)
+            + "&bucket=" + URLEncoder.encode(bucket, StandardCharsets.UTF_8) + "&precision=ms");
+    }
+
+    @Override
+    public void onEvent(TelemetryEvent event) {
+        if (!running) return;
+
+        switch (event.type) {
+            case API_RESPONSE:
+                lines.append("api_response");
+                tag("endpoint", event.name);
+                tag("method", event.status);
+                tag("status", Integer.toString(event.code));
+                lines.append(" response_time_ms=").append(event.durationNanos / 1_000_000.0)
+                    .append(",size_bytes=").append(event.size).append('i')
+                    .append(",success=").append(event.success);
+                break;
+            case PAGE_LOAD:
+                lines.append("page_load");
+                tag("page", event.name);
+                lines.append(" load_time_ms=").append(event.durationNanos / 1_000_000.0)
+                    .append(",success=").append(event.success);
+                break;
+            case BUSINESS_TRANSACTION:
+                lines.append("business_transaction");
+                tag("type", event.name);
+                tag("status", event.status);
+                tag("currency", event.detail);
+                lines.append(" amount=").append(Double.isFinite(event.amount) ? event.amount : 0.0);
+                break;
+            default:
+                return;
+        }
+        lines.append(' ').append(event.timestampMillis).append('\n');
+
+        if (points++ == 0) {
+            batchStartedMillis = System.currentTimeMillis();
+        }
+        if (points >= batchPoints || lines.length() >= batchBytes) {
+            seal();
+        }
+    }
+
+    @Override
+    public void onBatchComplete() {
+        if (points > 0 && System.currentTimeMillis() - batchStartedMillis >= flushIntervalMillis) {
+            seal();
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        if (!running) return;
+        if (points > 0) {
+            seal();
+        }
+        running = false;
+        try {
+            sender.join(SHUTDOWN_FLUSH_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever could not be sent in time is kept for the next run
+        Batch batch;
+        while ((batch = pending.poll()) != null) {
+            pendingBytes.addAndGet(-batch.payload.length);
+            spill(batch);
+        }
+        pendingBytesGauge.set(pendingBytes.get());
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    static long getBusySpillFiles() {
+        return spillFilesBusy.get();
+    }
+
+    // --- Aggregator thread ---
+
+    private void tag(String key, String value) {
+        if (value == null || value.isEmpty()) return;
+        lines.append(',').append(key).append('=');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '=' || c == ' ' || c == '\\') {
+                lines.append('\\').append(c);
+            } else if (c == '\n' || c == '\r' || c == '\t') {
+                lines.append("\\ ");
+            } else {
+                lines.append(c);
+            }
+        }
+    }
+
+    private void seal() {
+        Batch batch = new Batch(gzip(lines), points);
+        lines.setLength(0);
+        points = 0;
+
+        if (pendingBytes.get() + batch.payload.length <= memoryBytes) {
+            pendingBytes.addAndGet(batch.payload.length);
+            pending.add(batch);
+        } else {
+            spill(batch);
+        }
+        pendingBytesGauge.set(pendingBytes.get());
+    }
+
+    // called by the aggregator when memory is full and by the sender for batches it gave up on
+    private void spill(Batch batch) {
+        if (spilledBytes.get() + batch.payload.length > spillBytes) {
+            pointsDropped.add(batch.points);
+            System.err.println("InfluxDB spill directory " + spillDirectory + " is full, dropping " + batch.points + " points");
+            return;
+        }
+        // points in the name so replay can account for them without decompressing
+        String name = runId + "-" + String.format("%08d", spillSequence.getAndIncrement()) + "-" + batch.points + SPILL_SUFFIX;
+        try {
+            Path temp = spillDirectory.resolve(name + ".tmp");
+            Files.write(temp, batch.payload);
+            Files.move(temp, spillDirectory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            spilledBytes.addAndGet(batch.payload.length);
+            batchesSpilled.inc();
+        } catch (IOException e) {
+            pointsDropped.add(batch.points);
+            System.err.println("Failed to spill " + batch.points + " InfluxDB points: " + e.getMessage());
+        }
+    }
+
+    private static byte[] gzip(CharSequence text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes, 8192)) {
+            out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress InfluxDB batch", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // --- Sender thread ---
+
+    private void sendLoop() {
+        while (running) {
+            try {
+                Batch batch = pending.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    pendingBytes.addAndGet(-batch.payload.length);
+                    pendingBytesGauge.set(pendingBytes.get());
+                } else {
+                    batch = nextSpilled();
+                    if (batch == null) continue;
+                }
+                try {
+                    sendWithRetry(batch);
+                } finally {
+                    batch.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // shutting down: one last attempt for what is already in memory
+        Batch batch;
+        while ((batch = pending.poll()) != null) {
+            pendingBytes.addAndGet(-batch.payload.length);
+            sendWithRetry(batch);
+        }
+    }
+
+    private void sendWithRetry(Batch batch) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int status = post(batch.payload);
+                if (status / 100 == 2) {
+                    pointsWritten.add(batch.points);
+                    deleteSpillFile(batch);
+                    return;
+                }
+                writeFailures.inc();
+                if (status != 429 && status / 100 != 5) {
+                    // malformed points or bad credentials: retrying cannot help
+                    pointsDropped.add(batch.points);
+                    deleteSpillFile(batch);
+                    System.err.println("InfluxDB rejected " + batch.points + " points with HTTP " + status);
+                    return;
+                }
+                System.err.println("InfluxDB write failed with HTTP " + status + " (attempt " + attempt + ")");
+            } catch (IOException e) {
+                writeFailures.inc();
+                System.err.println("InfluxDB write failed (attempt " + attempt + "): " + e.getMessage());
+            }
+            if (!sleep(backoff)) {
+                if (batch.spillFile == null) {
+                    spill(batch);
+                }
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private int post(byte[] payload) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(writeUri)
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "text/plain; charset=utf-8")
+            .header("Content-Encoding", "gzip")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(payload));
+        if (token != null && !token.isEmpty()) {
+            request.header("Authorization", "Token " + token);
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing to " + writeUri, e);
+        }
+    }
+
+    private Batch nextSpilled() {
+        List<Path> files;
+        try {
+            files = spillFiles();
+        } catch (IOException e) {
+            System.err.println("Failed to read InfluxDB spill directory: " + e.getMessage());
+            return null;
+        }
+        for (Path file : files) {
+            Batch batch = lockSpilled(file);
+            if (batch != null) return batch;
+        }
+        return null;
+    }
+
+    // null when another fork is replaying the file or has already sent it
+    private static Batch lockSpilled(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            // the previous holder deletes the file before unlocking it
+            if (lock == null) {
+                spillFilesBusy.inc();
+            } else if (Files.exists(file)) {
+                ByteBuffer payload = ByteBuffer.allocate((int) channel.size());
+                while (payload.hasRemaining() && channel.read(payload) >= 0) {
+                    // read the whole file
+                }
+                return new Batch(payload.array(), spilledPoints(file), file, channel);
+            }
+        } catch (NoSuchFileException e) {
+            // sent by another fork in the meantime
+        } catch (OverlappingFileLockException e) {
+            // being replayed by another exporter in this JVM
+            spillFilesBusy.inc();
+        } catch (IOException e) {
+            System.err.println("Failed to read InfluxDB spill file " + file + ": " + e.getMessage());
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing was read from it
+            }
+        }
+        return null;
+    }
+
+    private void deleteSpillFile(Batch batch) {
+        if (batch.spillFile == null) return;
+        try {
+            if (Files.deleteIfExists(batch.spillFile)) {
+                spilledBytes.addAndGet(-batch.payload.length);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete " + batch.spillFile + ": " + e.getMessage());
+        }
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, "*" + SPILL_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static int spilledPoints(Path file) {
+        String name = file.getFileName().toString();
+        String stem = name.substring(0, name.length() - SPILL_SUFFIX.length());
+        try {
+            return Integer.parseInt(stem.substring(stem.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean sleep(long millis) {
+        if (!running) return false; // shutting down: spill instead of holding the JVM
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class Batch {
+        private final byte[] payload;
+        private final int points;
+        // set when the batch was read back from the spill directory; the channel holds its lock
+        private final Path spillFile;
+        private final FileChannel lockedChannel;
+
+        Batch(byte[] payload, int points) {
+            this(payload, points, null, null);
+        }
+
+        Batch(byte[] payload, int points, Path spillFile, FileChannel lockedChannel) {
+            this.payload = payload;
+            this.points = points;
+            this.spillFile = spillFile;
+            this.lockedChannel = lockedChannel;
+        }
+
+        void unlock() {
+            if (lockedChannel == null) return;
+            try {
+                lockedChannel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to unlock " + spillFile + ": " + e.getMessage());
+            }
+        }
+    }
+}
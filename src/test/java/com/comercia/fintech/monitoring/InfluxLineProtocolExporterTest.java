@@ -0,0 +1,229 @@
+package com.comercia.fintech.monitoring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InfluxLineProtocolExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer influx;
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final List<String> headers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int failWith;
+    private volatile int failuresLeft;
+    private InfluxLineProtocolExporter exporter;
+
+    @Before
+    public void startInflux() throws IOException {
+        influx = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        influx.createContext("/api/v2/write", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                requests.incrementAndGet();
+                byte[] body = in.readAllBytes();
+                if (failuresLeft > 0) {
+                    failuresLeft--;
+                    exchange.sendResponseHeaders(failWith, -1);
+                    return;
+                }
+                headers.add(exchange.getRequestHeaders().getFirst("Content-Encoding") + " "
+                    + exchange.getRequestHeaders().getFirst("Authorization") + " "
+                    + exchange.getRequestURI().getQuery());
+                written.add(gunzip(body));
+                exchange.sendResponseHeaders(204, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        influx.start();
+    }
+
+    @After
+    public void stop() {
+        if (exporter != null) exporter.onShutdown();
+        influx.stop(0);
+    }
+
+    @Test
+    public void sealsBatchAtPointLimitAndPostsGzippedLineProtocol() throws Exception {
+        exporter = exporter(3, Duration.ofMinutes(1), 1024 * 1024);
+
+        for (int i = 0; i < 3; i++) {
+            exporter.onEvent(apiResponse("/payments", "POST", 201, 120 + i, 512));
+        }
+        exporter.onEvent(gridStatus(4, 1));
+
+        await(() -> written.size() == 1);
+        String[] lines = written.get(0).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("api_response,endpoint=/payments,method=POST,status=201 "
+            + "response_time_ms=120.0,size_bytes=512i,success=true "));
+        assertEquals("gzip Token secret org=comercia&bucket=test-metrics&precision=ms", headers.get(0));
+    }
+
+    @Test
+    public void sealsPartialBatchAfterFlushInterval() throws Exception {
+        exporter = exporter(1000, Duration.ZERO, 1024 * 1024);
+
+        exporter.onEvent(apiResponse("/refunds", "GET", 200, 10, 64));
+        assertEquals(0, requests.get());
+        exporter.onBatchComplete();
+
+        await(() -> written.size() == 1);
+        assertTrue(written.get(0), written.get(0).startsWith("api_response,endpoint=/refunds"));
+    }
+
+    @Test
+    public void retriesServerErrorsWithBackoff() throws Exception {
+        failWith = 503;
+        failuresLeft = 2;
+        exporter = exporter(1, Duration.ofMinutes(1), 1024 * 1024);
+
+        long start = System.nanoTime();
+        exporter.onEvent(apiResponse("/payments", "POST", 500, 900, 0));
+
+        await(() -> written.size() == 1);
+        assertEquals(3, requests.get());
+        assertTrue("backed off 10ms then 20ms", (System.nanoTime() - start) / 1_000_000 >= 30);
+        assertTrue(written.get(0), written.get(0).contains("status=500"));
+    }
+
+    @Test
+    public void dropsBatchesTheServerRejects() throws Exception {
+        failWith = 400;
+        failuresLeft = 1;
+        exporter = exporter(1, Duration.ofMinutes(1), 1024 * 1024);
+
+        exporter.onEvent(apiResponse("/payments", "POST", 201, 1, 1));
+        exporter.onEvent(apiResponse("/payments", "POST", 202, 1, 1));
+
+        await(() -> written.size() == 1);
+        assertEquals("no retry of the rejected batch", 2, requests.get());
+        assertTrue(written.get(0), written.get(0).contains("status=202"));
+    }
+
+    @Test
+    public void spillsWhenMemoryIsFullAndReplaysOnceBackendRecovers() throws Exception {
+        failWith = 503;
+        failuresLeft = Integer.MAX_VALUE;
+        exporter = exporter(1, Duration.ofMinutes(1), 0);
+
+        exporter.onEvent(apiResponse("/payments", "POST", 201, 5, 10));
+        exporter.onEvent(apiResponse("/payments", "POST", 202, 5, 10));
+        assertEquals("no memory budget: both batches go to disk", 2, spillFiles().size());
+
+        failuresLeft = 0;
+        await(() -> written.size() == 2);
+        await(() -> spillFiles().isEmpty());
+        assertTrue(written.get(0), written.get(0).contains("status=201"));
+        assertTrue(written.get(1), written.get(1).contains("status=202"));
+    }
+
+    @Test
+    public void leavesSpillFilesLockedByAnotherExporterAlone() throws Exception {
+        Path spill = folder.getRoot().toPath().resolve("spill");
+        Files.createDirectories(spill);
+        Path file = spill.resolve("20260101-000000-1-00000000-1" + InfluxLineProtocolExporter.SPILL_SUFFIX);
+        Files.write(file, gzip("page_load,page=/checkout load_time_ms=830.0,success=true 1\n"));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                long busyBefore = InfluxLineProtocolExporter.getBusySpillFiles();
+                exporter = exporter(1, Duration.ofMinutes(1), 1024 * 1024);
+                // the sender has tried the file and found it locked
+                await(() -> InfluxLineProtocolExporter.getBusySpillFiles() > busyBefore);
+                assertEquals("locked file must not be replayed", 0, requests.get());
+            } finally {
+                lock.release();
+            }
+        }
+
+        await(() -> written.size() == 1);
+        await(() -> !Files.exists(file));
+        assertTrue(written.get(0), written.get(0).startsWith("page_load,page=/checkout"));
+        assertEquals(1, requests.get());
+    }
+
+    private InfluxLineProtocolExporter exporter(int batchPoints, Duration flushInterval, long memoryBytes) {
+        URI writeUri = InfluxLineProtocolExporter.writeUri(
+            "http://127.0.0.1:" + influx.getAddress().getPort() + "/", "comercia", "test-metrics");
+        return new InfluxLineProtocolExporter(writeUri, "secret", batchPoints, 1024 * 1024, flushInterval,
+            memoryBytes, folder.getRoot().toPath().resolve("spill"), 1024 * 1024, Duration.ofMillis(10));
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.getRoot().toPath().resolve("spill"),
+            "*" + InfluxLineProtocolExporter.SPILL_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static TelemetryEvent apiResponse(String endpoint, String method, int statusCode, long millis, long size) {
+        return TelemetryEvent.builder(TelemetryEvent.Type.API_RESPONSE).name(endpoint).status(method).code(statusCode)
+            .duration(Duration.ofMillis(millis)).size(size).success(statusCode < 400).build();
+    }
+
+    private static TelemetryEvent gridStatus(int totalNodes, int busyNodes) {
+        return TelemetryEvent.builder(TelemetryEvent.Type.GRID_STATUS)
+            .code(totalNodes).size(busyNodes).amount(totalNodes - busyNodes).build();
+    }
+
+    private static void await(Check condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.holds()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new java.io.ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        boolean holds() throws Exception;
+    }
+}
@@ -0,0 +1,172 @@
+package com.comercia.fintech.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory, lock-free latency histogram with log-linear (HDR-style) buckets.
+ * Values are tracked in microseconds with ~3% relative precision up to one hour;
+ * larger values are clamped into the last bucket while min/max stay exact.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int MAX_SHIFT = (63 - Long.numberOfLeadingZeros(MAX_TRACKABLE_MICROS)) - SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = SUB_BUCKETS * (MAX_SHIFT + 2);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong(0);
+
+    public void record(Duration duration) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(duration.toNanos()));
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(TimeUnit.MILLISECONDS.toMicros(millis));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sumMicros.add(value);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : sumMicros.sum() / (double) n / 1000.0;
+    }
+
+    public double getSumMillis() {
+        return sumMicros.sum() / 1000.0;
+    }
+
+    public double getMinMillis() {
+        long min = minMicros.get();
+        return min == Long.MAX_VALUE ? 0.0 : min / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100) in milliseconds.
+     * Runs in O(BUCKET_COUNT) regardless of how many values were recorded.
+     */
+    public double getValueAtPercentileMillis(double percentile) {
+        long n = count.sum();
+        if (n == 0) return 0.0;
+
+        long rank = rankOf(percentile, n);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                long value = Math.min(bucketMidpoint(i), maxMicros.get());
+                return Math.max(value, minMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Adds this histogram's bucket counts into {@code target} (sized BUCKET_COUNT) so several
+     * histograms can be merged without copying samples. Returns the number of values added.
+     */
+    public long addCountsTo(long[] target) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = buckets.get(i);
+            target[i] += bucket;
+            total += bucket;
+        }
+        return total;
+    }
+
+    /**
+     * Percentile (0-100) in milliseconds over merged bucket counts produced by addCountsTo.
+     */
+    public static double percentileMillis(long[] counts, long total, double percentile) {
+        if (total == 0) return 0.0;
+
+        long rank = rankOf(percentile, total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketMidpoint(i) / 1000.0;
+            }
+        }
+        return bucketMidpoint(BUCKET_COUNT - 1) / 1000.0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sumMicros.reset();
+        minMicros.set(Long.MAX_VALUE);
+        maxMicros.set(0);
+    }
+
+    private static long rankOf(double percentile, long total) {
+        return Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+    }
+
+    static int bucketIndex(long micros) {
+        long value = Math.min(micros, MAX_TRACKABLE_MICROS);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return bucketLowerBound(index) + ((1L << shift) >>> 1);
+    }
+
+    private void updateMin(long value) {
+        long current = minMicros.get();
+        while (value < current && !minMicros.compareAndSet(current, value)) {
+            current = minMicros.get();
+        }
+    }
+
+    private void updateMax(long value) {
+        long current = maxMicros.get();
+        while (value > current && !maxMicros.compareAndSet(current, value)) {
+            current = maxMicros.get();
+        }
+    }
+}
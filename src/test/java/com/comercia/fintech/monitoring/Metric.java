@@ -0,0 +1,18 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A single labelled series handle resolved once from a MetricFamily.
+ */
+public interface Metric {
+
+    /**
+     * Writes this series in Prometheus text format. {@code labels} is the pre-rendered
+     * label set (e.g. {@code feature="payment"}) or an empty string.
+     */
+    void writeSamples(Writer out, String name, String labels) throws IOException;
+
+    void reset();
+}
@@ -0,0 +1,269 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * All series of one metric name, keyed by label values.
+ * Handles are resolved through a per-label trie of ConcurrentHashMaps, so a lookup for an
+ * existing series is a few map reads with no key objects built. New series beyond the
+ * cardinality cap collapse into a single overflow series instead of growing memory; once the
+ * cap is reached, lookups of unknown label values go straight to it without taking the lock.
+ */
+public class MetricFamily<T extends Metric> {
+
+    static final String UNKNOWN_LABEL_VALUE = "unknown";
+    static final String OVERFLOW_LABEL_VALUE = "_other_";
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String[] labelNames;
+    private final Supplier<T> factory;
+    private final int maxSeries;
+
+    private final Map<String, Object> root = new ConcurrentHashMap<>();
+    private final List<Series<T>> series = new CopyOnWriteArrayList<>();
+    // samples recorded into the overflow series, not distinct label tuples (those are not kept)
+    private final Counter droppedSamples = new Counter();
+    private volatile T unlabelled;
+    private volatile T overflow;
+
+    MetricFamily(String name, String help, String type, String[] labelNames, Supplier<T> factory, int maxSeries) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.factory = factory;
+        this.maxSeries = maxSeries;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getDroppedSamples() {
+        return droppedSamples.get();
+    }
+
+    public T labels() {
+        checkArity(0);
+        T metric = unlabelled;
+        return metric != null ? metric : create();
+    }
+
+    @SuppressWarnings("unchecked")
+    public T labels(String value) {
+        checkArity(1);
+        Object hit = root.get(normalize(value));
+        if (hit != null) return (T) hit;
+        T full = overflowIfFull();
+        return full != null ? full : create(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T labels(String first, String second) {
+        checkArity(2);
+        Object level = root.get(normalize(first));
+        if (level != null) {
+            Object hit = ((Map<String, Object>) level).get(normalize(second));
+            if (hit != null) return (T) hit;
+        }
+        T full = overflowIfFull();
+        return full != null ? full : create(first, second);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T labels(String first, String second, String third) {
+        checkArity(3);
+        Object level = root.get(normalize(first));
+        if (level != null) {
+            level = ((Map<String, Object>) level).get(normalize(second));
+            if (level != null) {
+                Object hit = ((Map<String, Object>) level).get(normalize(third));
+                if (hit != null) return (T) hit;
+            }
+        }
+        T full = overflowIfFull();
+        return full != null ? full : create(first, second, third);
+    }
+
+    /**
+     * Returns the series for the given label values, or null if it was never recorded.
+     * Unlike labels(...) this never creates a series.
+     */
+    @SuppressWarnings("unchecked")
+    public T find(String... values) {
+        checkArity(values.length);
+        if (values.length == 0) return unlabelled;
+
+        Object level = root;
+        for (String value : values) {
+            level = ((Map<String, Object>) level).get(normalize(value));
+            if (level == null) return null;
+        }
+        return (T) level;
+    }
+
+    public void forEachSeries(BiConsumer<String, T> action) {
+        for (Series<T> entry : series) {
+            action.accept(entry.labels, entry.metric);
+        }
+    }
+
+    /**
+     * Sums all counter series of this family (e.g. totals across features).
+     */
+    public long sum() {
+        long total = 0;
+        for (Series<T> entry : series) {
+            if (entry.metric instanceof Counter) {
+                total += ((Counter) entry.metric).get();
+            }
+        }
+        return total;
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        if (series.isEmpty()) return;
+
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+        for (Series<T> entry : series) {
+            entry.metric.writeSamples(out, name, entry.labels);
+        }
+    }
+
+    public void reset() {
+        for (Series<T> entry : series) {
+            entry.metric.reset();
+        }
+        droppedSamples.reset();
+    }
+
+    static void writeSample(Writer out, String name, String labels, String value) throws IOException {
+        out.write(name);
+        if (!labels.isEmpty()) {
+            out.write('{');
+            out.write(labels);
+            out.write('}');
+        }
+        out.write(' ');
+        out.write(value);
+        out.write('\n');
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T create(String... rawValues) {
+        if (rawValues.length == 0) {
+            if (unlabelled == null) {
+                unlabelled = register(factory.get(), rawValues);
+            }
+            return unlabelled;
+        }
+
+        String[] values = new String[rawValues.length];
+        for (int i = 0; i < rawValues.length; i++) {
+            values[i] = normalize(rawValues[i]);
+        }
+
+        T existing = find(values);
+        if (existing != null) return existing;
+
+        if (series.size() >= maxSeries) {
+            droppedSamples.inc();
+            return overflowSeries();
+        }
+
+        Map<String, Object> level = root;
+        for (int i = 0; i < values.length - 1; i++) {
+            level = (Map<String, Object>) level.computeIfAbsent(values[i], v -> new ConcurrentHashMap<String, Object>());
+        }
+        T metric = register(factory.get(), values);
+        level.put(values[values.length - 1], metric);
+        return metric;
+    }
+
+    // series are never removed, so once the cap is reached no unknown label tuple gets its own series
+    private T overflowIfFull() {
+        T metric = overflow;
+        if (metric == null || series.size() < maxSeries) return null;
+        droppedSamples.inc();
+        return metric;
+    }
+
+    private T overflowSeries() {
+        if (overflow == null) {
+            String[] values = new String[labelNames.length];
+            Arrays.fill(values, OVERFLOW_LABEL_VALUE);
+            overflow = register(factory.get(), values);
+            System.err.println("Metric '" + name + "' reached its cardinality cap of " + maxSeries
+                + " series; further label values are aggregated as " + OVERFLOW_LABEL_VALUE);
+        }
+        return overflow;
+    }
+
+    private T register(T metric, String[] values) {
+        series.add(new Series<>(renderLabels(values), metric));
+        return metric;
+    }
+
+    private String renderLabels(String[] values) {
+        StringBuilder rendered = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) rendered.append(',');
+            rendered.append(labelNames[i]).append("=\"");
+            escapeLabelValue(values[i], rendered);
+            rendered.append('"');
+        }
+        return rendered.toString();
+    }
+
+    private static void escapeLabelValue(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': out.append("\\\\"); break;
+                case '"': out.append("\\\""); break;
+                case '\n': out.append("\\n"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? UNKNOWN_LABEL_VALUE : value;
+    }
+
+    private void checkArity(int count) {
+        if (count != labelNames.length) {
+            throw new IllegalArgumentException("Metric '" + name + "' expects " + labelNames.length
+                + " label values but got " + count);
+        }
+    }
+
+    private static class Series<T> {
+        private final String labels;
+        private final T metric;
+
+        Series(String labels, T metric) {
+            this.labels = labels;
+            this.metric = metric;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.comercia.fintech.monitoring;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class MetricFamilyTest {
+
+    private final MetricFamily<Counter> family = new MetricFamily<>("requests_total", "Requests",
+        "counter", new String[] {"endpoint", "method"}, Counter::new, 2);
+
+    @Test
+    public void unknownLabelsGoToTheOverflowSeriesOnceTheCapIsReached() {
+        Counter first = family.labels("/a", "GET");
+        Counter second = family.labels("/b", "GET");
+        Counter overflow = family.labels("/c", "GET");
+
+        assertNotSame(first, overflow);
+        assertNotSame(second, overflow);
+        assertSame(overflow, family.labels("/d", "POST"));
+        assertSame(overflow, family.labels("/c", "GET"));
+        assertSame(first, family.labels("/a", "GET"));
+        assertEquals(3, family.getDroppedSamples());
+
+        List<String> labels = new ArrayList<>();
+        family.forEachSeries((rendered, counter) -> labels.add(rendered));
+        assertEquals(List.of("endpoint=\"/a\",method=\"GET\"", "endpoint=\"/b\",method=\"GET\"",
+            "endpoint=\"_other_\",method=\"_other_\""), labels);
+    }
+}
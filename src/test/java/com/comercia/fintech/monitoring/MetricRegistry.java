@@ -0,0 +1,94 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Registry of metric families. Families are registered once (typically into static
+ * fields) and series handles are resolved from them, so the hot recording path never
+ * concatenates names or hashes composite keys.
+ */
+public class MetricRegistry {
+
+    private final int maxSeriesPerFamily;
+    private final Map<String, MetricFamily<?>> familiesByName = new ConcurrentHashMap<>();
+    private final List<MetricFamily<?>> families = new CopyOnWriteArrayList<>();
+
+    public MetricRegistry(int maxSeriesPerFamily) {
+        this.maxSeriesPerFamily = maxSeriesPerFamily;
+    }
+
+    public MetricFamily<Counter> counterFamily(String name, String help, String... labelNames) {
+        return register(name, help, "counter", labelNames, Counter::new);
+    }
+
+    public MetricFamily<Gauge> gaugeFamily(String name, String help, String... labelNames) {
+        return register(name, help, "gauge", labelNames, Gauge::new);
+    }
+
+    public MetricFamily<Gauge> gaugeFamily(String name, String help, Gauge.Merge merge, String... labelNames) {
+        return register(name, help, "gauge", labelNames, () -> new Gauge(merge));
+    }
+
+    public MetricFamily<Timer> timerFamily(String name, String help, String... labelNames) {
+        return register(name, help, "summary", labelNames, Timer::new);
+    }
+
+    public MetricFamily<Distribution> distributionFamily(String name, String help, String... labelNames) {
+        return register(name, help, "summary", labelNames, Distribution::new);
+    }
+
+    public Counter counter(String name, String help) {
+        return counterFamily(name, help).labels();
+    }
+
+    public Gauge gauge(String name, String help) {
+        return gaugeFamily(name, help).labels();
+    }
+
+    public Gauge gauge(String name, String help, Gauge.Merge merge) {
+        return gaugeFamily(name, help, merge).labels();
+    }
+
+    public Timer timer(String name, String help) {
+        return timerFamily(name, help).labels();
+    }
+
+    public List<MetricFamily<?>> getFamilies() {
+        return families;
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        for (MetricFamily<?> family : families) {
+            family.writeTo(out);
+        }
+    }
+
+    public void reset() {
+        for (MetricFamily<?> family : families) {
+            family.reset();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T extends Metric> MetricFamily<T> register(String name, String help, String type,
+                                                                     String[] labelNames, Supplier<T> factory) {
+        MetricFamily<?> existing = familiesByName.get(name);
+        if (existing != null) {
+            if (!existing.getType().equals(type)) {
+                throw new IllegalArgumentException("Metric '" + name + "' is already registered as " + existing.getType());
+            }
+            return (MetricFamily<T>) existing;
+        }
+
+        MetricFamily<T> family = new MetricFamily<>(name, help, type, labelNames, factory, maxSeriesPerFamily);
+        familiesByName.put(name, family);
+        families.add(family);
+        return family;
+    }
+}
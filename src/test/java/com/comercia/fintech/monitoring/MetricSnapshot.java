@@ -0,0 +1,372 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a MetricRegistry that can be serialized and merged with snapshots
+ * from other test JVMs. Counters add up, timers merge their histogram buckets (so merged
+ * percentiles are as accurate as local ones) and gauges follow their Gauge.Merge rule.
+ * Renders to the same Prometheus text and getAllMetrics() map as the live registry.
+ */
+public class MetricSnapshot {
+
+    private static final int MAGIC = 0x43464d53; // "CFMS"
+    private static final int VERSION = 1;
+    private static final byte COUNTER = 0;
+    private static final byte GAUGE = 1;
+    private static final byte SUMMARY = 2;
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final String source;
+    private final long timestampMillis;
+    private final Map<String, FamilySnapshot> families = new LinkedHashMap<>();
+
+    public MetricSnapshot(String source, long timestampMillis) {
+        this.source = source;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public static MetricSnapshot capture(MetricRegistry registry, String source) {
+        MetricSnapshot snapshot = new MetricSnapshot(source, System.currentTimeMillis());
+        for (MetricFamily<?> family : registry.getFamilies()) {
+            FamilySnapshot copy = new FamilySnapshot(family.getName(), family.getHelp(), family.getType());
+            family.forEachSeries((labels, metric) -> copy.series.put(labels, SeriesSnapshot.of(metric, snapshot.timestampMillis)));
+            if (!copy.series.isEmpty()) {
+                snapshot.families.put(copy.name, copy);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Combines several snapshots into a new global one; the inputs are not modified.
+     */
+    public static MetricSnapshot merge(String source, List<MetricSnapshot> snapshots) {
+        long newest = 0;
+        for (MetricSnapshot snapshot : snapshots) {
+            newest = Math.max(newest, snapshot.timestampMillis);
+        }
+        MetricSnapshot merged = new MetricSnapshot(source, newest);
+        for (MetricSnapshot snapshot : snapshots) {
+            merged.mergeFrom(snapshot);
+        }
+        return merged;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    private void mergeFrom(MetricSnapshot other) {
+        for (FamilySnapshot family : other.families.values()) {
+            FamilySnapshot target = families.computeIfAbsent(family.name,
+                name -> new FamilySnapshot(family.name, family.help, family.type));
+            if (!target.type.equals(family.type)) {
+                System.err.println("Skipping metric '" + family.name + "' from " + other.source
+                    + ": type " + family.type + " conflicts with " + target.type);
+                continue;
+            }
+            family.series.forEach((labels, series) -> {
+                SeriesSnapshot existing = target.series.get(labels);
+                if (existing == null) {
+                    target.series.put(labels, series.copy());
+                } else {
+                    existing.mergeFrom(series);
+                }
+            });
+        }
+    }
+
+    // --- Rendering ---
+
+    /**
+     * Prometheus text format, identical in shape to TestObservabilitySystem.writeMetrics.
+     */
+    public void writeTo(Writer out) throws IOException {
+        for (FamilySnapshot family : families.values()) {
+            out.write("# HELP " + family.name + " " + family.help + "\n");
+            out.write("# TYPE " + family.name + " " + family.type + "\n");
+            for (Map.Entry<String, SeriesSnapshot> entry : family.series.entrySet()) {
+                entry.getValue().writeSamples(out, family.name, entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Same counters/gauges/timings map as TestObservabilitySystem.getAllMetrics.
+     */
+    public Map<String, Object> toMetricsMap() {
+        Map<String, Long> counterValues = new HashMap<>();
+        Map<String, Double> gaugeValues = new HashMap<>();
+        Map<String, Map<String, Double>> timingSummaries = new HashMap<>();
+
+        for (FamilySnapshot family : families.values()) {
+            family.series.forEach((labels, series) -> {
+                String seriesId = labels.isEmpty() ? family.name : family.name + "{" + labels + "}";
+                switch (series.kind) {
+                    case COUNTER:
+                        counterValues.put(seriesId, series.count);
+                        break;
+                    case GAUGE:
+                        gaugeValues.put(seriesId, series.value);
+                        break;
+                    default:
+                        if (series.count > 0) {
+                            timingSummaries.put(seriesId, series.summarize());
+                        }
+                }
+            });
+        }
+
+        Map<String, Object> allMetrics = new HashMap<>();
+        allMetrics.put("counters", counterValues);
+        allMetrics.put("gauges", gaugeValues);
+        allMetrics.put("timings", timingSummaries);
+        return allMetrics;
+    }
+
+    // --- Serialization ---
+
+    public void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(source);
+        out.writeLong(timestampMillis);
+        out.writeInt(families.size());
+        for (FamilySnapshot family : families.values()) {
+            out.writeUTF(family.name);
+            out.writeUTF(family.help);
+            out.writeUTF(family.type);
+            out.writeInt(family.series.size());
+            for (Map.Entry<String, SeriesSnapshot> entry : family.series.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeBinary(out);
+            }
+        }
+    }
+
+    public static MetricSnapshot readBinary(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a metric snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported metric snapshot version " + version);
+        }
+        MetricSnapshot snapshot = new MetricSnapshot(in.readUTF(), in.readLong());
+        int familyCount = in.readInt();
+        for (int f = 0; f < familyCount; f++) {
+            FamilySnapshot family = new FamilySnapshot(in.readUTF(), in.readUTF(), in.readUTF());
+            int seriesCount = in.readInt();
+            for (int s = 0; s < seriesCount; s++) {
+                family.series.put(in.readUTF(), SeriesSnapshot.readBinary(in));
+            }
+            snapshot.families.put(family.name, family);
+        }
+        return snapshot;
+    }
+
+    private static class FamilySnapshot {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final Map<String, SeriesSnapshot> series = new LinkedHashMap<>();
+
+        FamilySnapshot(String name, String help, String type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    /**
+     * One series: a counter value, a gauge value or a timer histogram.
+     */
+    private static class SeriesSnapshot {
+        private final byte kind;
+        // counter value, or number of timer observations
+        private long count;
+        // gauge value
+        private double value;
+        private Gauge.Merge merge;
+        private long timestampMillis;
+        // timer histogram
+        private long[] buckets;
+        private double sumMillis;
+        private double minMillis;
+        private double maxMillis;
+
+        SeriesSnapshot(byte kind) {
+            this.kind = kind;
+        }
+
+        static SeriesSnapshot of(Metric metric, long timestampMillis) {
+            if (metric instanceof Counter) {
+                SeriesSnapshot series = new SeriesSnapshot(COUNTER);
+                series.count = ((Counter) metric).get();
+                return series;
+            }
+            if (metric instanceof Gauge) {
+                SeriesSnapshot series = new SeriesSnapshot(GAUGE);
+                series.value = ((Gauge) metric).get();
+                series.merge = ((Gauge) metric).getMerge();
+                series.timestampMillis = timestampMillis;
+                return series;
+            }
+            LatencyHistogram histogram = metric instanceof Distribution
+                ? ((Distribution) metric).getHistogram() : ((Timer) metric).getHistogram();
+            SeriesSnapshot series = new SeriesSnapshot(SUMMARY);
+            series.buckets = new long[LatencyHistogram.BUCKET_COUNT];
+            series.count = histogram.addCountsTo(series.buckets);
+            series.sumMillis = histogram.getSumMillis();
+            series.minMillis = histogram.getMinMillis();
+            series.maxMillis = histogram.getMaxMillis();
+            return series;
+        }
+
+        SeriesSnapshot copy() {
+            SeriesSnapshot copy = new SeriesSnapshot(kind);
+            copy.count = count;
+            copy.value = value;
+            copy.merge = merge;
+            copy.timestampMillis = timestampMillis;
+            copy.buckets = buckets == null ? null : buckets.clone();
+            copy.sumMillis = sumMillis;
+            copy.minMillis = minMillis;
+            copy.maxMillis = maxMillis;
+            return copy;
+        }
+
+        void mergeFrom(SeriesSnapshot other) {
+            if (other.kind != kind) return;
+            switch (kind) {
+                case COUNTER:
+                    count += other.count;
+                    break;
+                case GAUGE:
+                    if (merge == Gauge.Merge.MAX) {
+                        value = Math.max(value, other.value);
+                    } else if (merge == Gauge.Merge.LAST) {
+                        if (other.timestampMillis >= timestampMillis) value = other.value;
+                    } else {
+                        value += other.value;
+                    }
+                    timestampMillis = Math.max(timestampMillis, other.timestampMillis);
+                    break;
+                default:
+                    if (other.count == 0) return;
+                    minMillis = count == 0 ? other.minMillis : Math.min(minMillis, other.minMillis);
+                    maxMillis = Math.max(maxMillis, other.maxMillis);
+                    for (int i = 0; i < buckets.length; i++) {
+                        buckets[i] += other.buckets[i];
+                    }
+                    count += other.count;
+                    sumMillis += other.sumMillis;
+            }
+        }
+
+        double percentileMillis(double percentile) {
+            double value = LatencyHistogram.percentileMillis(buckets, count, percentile);
+            return count == 0 ? 0.0 : Math.max(minMillis, Math.min(maxMillis, value));
+        }
+
+        Map<String, Double> summarize() {
+            Map<String, Double> summary = new HashMap<>();
+            summary.put("min", minMillis);
+            summary.put("max", maxMillis);
+            summary.put("avg", count == 0 ? 0.0 : sumMillis / count);
+            summary.put("p50", percentileMillis(50));
+            summary.put("p95", percentileMillis(95));
+            summary.put("p99", percentileMillis(99));
+            return summary;
+        }
+
+        void writeSamples(Writer out, String name, String labels) throws IOException {
+            switch (kind) {
+                case COUNTER:
+                    MetricFamily.writeSample(out, name, labels, Long.toString(count));
+                    break;
+                case GAUGE:
+                    MetricFamily.writeSample(out, name, labels, Double.toString(value));
+                    break;
+                default:
+                    String separator = labels.isEmpty() ? "" : ",";
+                    for (double quantile : QUANTILES) {
+                        MetricFamily.writeSample(out, name, labels + separator + "quantile=\"" + quantile + "\"",
+                            Double.toString(percentileMillis(quantile * 100)));
+                    }
+                    MetricFamily.writeSample(out, name + "_sum", labels, Double.toString(sumMillis));
+                    MetricFamily.writeSample(out, name + "_count", labels, Long.toString(count));
+            }
+        }
+
+        void writeBinary(DataOutputStream out) throws IOException {
+            out.writeByte(kind);
+            switch (kind) {
+                case COUNTER:
+                    out.writeLong(count);
+                    break;
+                case GAUGE:
+                    out.writeByte(merge.ordinal());
+                    out.writeDouble(value);
+                    out.writeLong(timestampMillis);
+                    break;
+                default:
+                    out.writeLong(count);
+                    out.writeDouble(sumMillis);
+                    out.writeDouble(minMillis);
+                    out.writeDouble(maxMillis);
+                    // sparse: only non-empty buckets
+                    List<Integer> used = new ArrayList<>();
+                    for (int i = 0; i < buckets.length; i++) {
+                        if (buckets[i] != 0) used.add(i);
+                    }
+                    out.writeShort(used.size());
+                    for (int index : used) {
+                        out.writeShort(index);
+                        out.writeLong(buckets[index]);
+                    }
+            }
+        }
+
+        static SeriesSnapshot readBinary(DataInputStream in) throws IOException {
+            SeriesSnapshot series = new SeriesSnapshot(in.readByte());
+            switch (series.kind) {
+                case COUNTER:
+                    series.count = in.readLong();
+                    break;
+                case GAUGE:
+                    series.merge = Gauge.Merge.values()[in.readByte()];
+                    series.value = in.readDouble();
+                    series.timestampMillis = in.readLong();
+                    break;
+                case SUMMARY:
+                    series.count = in.readLong();
+                    series.sumMillis = in.readDouble();
+                    series.minMillis = in.readDouble();
+                    series.maxMillis = in.readDouble();
+                    series.buckets = new long[LatencyHistogram.BUCKET_COUNT];
+                    int used = in.readUnsignedShort();
+                    for (int i = 0; i < used; i++) {
+                        series.buckets[in.readUnsignedShort()] = in.readLong();
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown series kind " + series.kind);
+            }
+            return series;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds a global metric view from the snapshots of many test JVMs (forks, containers or
+ * pods). Snapshots are either read from a shared directory, where each process keeps one
+ * file up to date, or pushed to a loopback socket owned by the collecting process.
+ * The latest snapshot per source is kept, so re-publishing never double-counts. Snapshot files
+ * last written well before the collector was created are left over from earlier runs and ignored.
+ */
+public class MetricSnapshotCollector {
+
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int SOCKET_READ_TIMEOUT_MILLIS = 5000;
+
+    private final Path directory;
+    private final long notBeforeMillis;
+    private final ServerSocket server;
+    private final Map<String, MetricSnapshot> received = new ConcurrentHashMap<>();
+
+    private MetricSnapshotCollector(Path directory, long notBeforeMillis, ServerSocket server) {
+        this.directory = directory;
+        this.notBeforeMillis = notBeforeMillis;
+        this.server = server;
+    }
+
+    /**
+     * Collector over a directory shared by all runners (volume mount, NFS, workspace). Files not
+     * rewritten within staleGrace before now belong to an earlier run and are skipped; forks of
+     * this run rewrite theirs every publish interval.
+     */
+    public static MetricSnapshotCollector directory(Path directory, Duration staleGrace) {
+        return new MetricSnapshotCollector(directory, System.currentTimeMillis() - staleGrace.toMillis(), null);
+    }
+
+    /**
+     * Collector accepting snapshots on 127.0.0.1:port. Fails if the port is already owned,
+     * which is how forks on one host elect a single collector.
+     */
+    public static MetricSnapshotCollector listen(int port) throws IOException {
+        ServerSocket server = new ServerSocket();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        MetricSnapshotCollector collector = new MetricSnapshotCollector(null, 0, server);
+        Thread acceptor = new Thread(collector::acceptLoop, "metric-snapshot-collector");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return collector;
+    }
+
+    /**
+     * Adds or replaces the snapshot of one source, e.g. this JVM's own.
+     */
+    public void accept(MetricSnapshot snapshot) {
+        received.put(snapshot.getSource(), snapshot);
+    }
+
+    /**
+     * Merged view of every known source.
+     */
+    public MetricSnapshot collect() throws IOException {
+        List<MetricSnapshot> snapshots = new ArrayList<>(received.values());
+        if (directory != null && Files.isDirectory(directory)) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .filter(this::isCurrent)
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                MetricSnapshot snapshot = read(file);
+                if (snapshot != null && !received.containsKey(snapshot.getSource())) {
+                    snapshots.add(snapshot);
+                }
+            }
+        }
+        return MetricSnapshot.merge("global", snapshots);
+    }
+
+    public int getPort() {
+        return server != null ? server.getLocalPort() : -1;
+    }
+
+    public void close() {
+        if (server == null) return;
+        try {
+            server.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close metric snapshot collector: " + e.getMessage());
+        }
+    }
+
+    private boolean isCurrent(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() >= notBeforeMillis;
+        } catch (IOException e) {
+            // replaced or removed while listing
+            return false;
+        }
+    }
+
+    private static MetricSnapshot read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return MetricSnapshot.readBinary(in);
+        } catch (IOException e) {
+            // a publisher may be replacing the file right now; its next snapshot will be picked up
+            System.err.println("Skipping unreadable metric snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                socket.setSoTimeout(SOCKET_READ_TIMEOUT_MILLIS);
+                InputStream input = new BufferedInputStream(socket.getInputStream());
+                accept(MetricSnapshot.readBinary(new DataInputStream(input)));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Failed to receive metric snapshot: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
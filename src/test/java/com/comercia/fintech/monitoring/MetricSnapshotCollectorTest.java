@@ -0,0 +1,75 @@
+package com.comercia.fintech.monitoring;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class MetricSnapshotCollectorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mergesSnapshotsOfCurrentForks() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        write(directory, "fork-1", 3);
+        write(directory, "fork-2", 4);
+
+        MetricSnapshot global = MetricSnapshotCollector.directory(directory, Duration.ofMinutes(1)).collect();
+
+        assertEquals(Long.valueOf(7), counters(global).get("payments_total"));
+    }
+
+    @Test
+    public void ignoresSnapshotsLeftOverFromEarlierRuns() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Path stale = write(directory, "yesterday", 100);
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(20).toMillis()));
+        write(directory, "fork-1", 3);
+
+        MetricSnapshot global = MetricSnapshotCollector.directory(directory, Duration.ofMinutes(1)).collect();
+
+        assertEquals(Long.valueOf(3), counters(global).get("payments_total"));
+    }
+
+    @Test
+    public void ownSnapshotReplacesItsFile() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        write(directory, "fork-1", 3);
+        MetricSnapshotCollector collector = MetricSnapshotCollector.directory(directory, Duration.ofMinutes(1));
+
+        collector.accept(snapshot("fork-1", 5));
+
+        assertEquals(Long.valueOf(5), counters(collector.collect()).get("payments_total"));
+    }
+
+    private static Path write(Path directory, String source, int payments) throws IOException {
+        Path file = directory.resolve(source + MetricSnapshotCollector.SNAPSHOT_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            snapshot(source, payments).writeBinary(out);
+        }
+        return file;
+    }
+
+    private static MetricSnapshot snapshot(String source, int payments) {
+        MetricRegistry registry = new MetricRegistry(10);
+        registry.counter("payments_total", "Payments").add(payments);
+        return MetricSnapshot.capture(registry, source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> counters(MetricSnapshot snapshot) {
+        return (Map<String, Long>) snapshot.toMetricsMap().get("counters");
+    }
+}
@@ -0,0 +1,161 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically publishes this JVM's metric snapshot for cross-process aggregation, as
+ * configured by metrics.aggregation.* in config.properties:
+ * <ul>
+ *   <li>directory: each JVM atomically rewrites {@code <dir>/<source>.snapshot}; any JVM
+ *       (or a post-run job) can merge the directory</li>
+ *   <li>socket: the first JVM to bind the loopback port becomes the collector, the other
+ *       forks push their snapshots to it</li>
+ * </ul>
+ */
+public class MetricSnapshotPublisher {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private static volatile MetricSnapshotPublisher instance;
+
+    private final String source;
+    private final Path directory;
+    private final int port;
+    private final MetricSnapshotCollector collector;
+    private final ScheduledExecutorService scheduler;
+    private boolean lastPushFailed;
+
+    private MetricSnapshotPublisher(Path directory, int port, MetricSnapshotCollector collector, long intervalMillis) {
+        this.source = sourceId();
+        this.directory = directory;
+        this.port = port;
+        this.collector = collector;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metric-snapshot-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::publishQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts publishing once per JVM if metrics.aggregation.mode is directory or socket.
+     */
+    public static void ensureStarted() {
+        if (instance != null) return;
+
+        synchronized (MetricSnapshotPublisher.class) {
+            if (instance != null) return;
+            String mode = ConfigReader.getProperty("metrics.aggregation.mode", "none").trim().toLowerCase();
+            long intervalMillis = ConfigReader.getIntProperty("metrics.aggregation.publish.millis", 5000);
+
+            try {
+                if ("directory".equals(mode)) {
+                    Path directory = Paths.get(ConfigReader.getProperty("metrics.aggregation.dir", "target/metric-snapshots"));
+                    Files.createDirectories(directory);
+                    Duration staleGrace = Duration.ofMillis(
+                        ConfigReader.getIntProperty("metrics.aggregation.stale.grace.millis", 60000));
+                    instance = new MetricSnapshotPublisher(directory, -1,
+                        MetricSnapshotCollector.directory(directory, staleGrace), intervalMillis);
+                } else if ("socket".equals(mode)) {
+                    int port = ConfigReader.getIntProperty("metrics.aggregation.socket.port", 9464);
+                    instance = new MetricSnapshotPublisher(null, port, electCollector(port), intervalMillis);
+                } else {
+                    return;
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to start metric snapshot publishing (" + mode + "): " + e.getMessage());
+                return;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::publishQuietly, "metric-snapshot-final-publish"));
+            System.out.println("Publishing metric snapshots as '" + instance.source + "' (" + mode + ")"
+                + (instance.collector != null ? ", collecting global view" : ""));
+        }
+    }
+
+    /**
+     * Collector available in this JVM, or null if aggregation is off or another fork collects.
+     */
+    public static MetricSnapshotCollector getCollector() {
+        MetricSnapshotPublisher publisher = instance;
+        return publisher != null ? publisher.collector : null;
+    }
+
+    /**
+     * Publishes this JVM's current snapshot now, e.g. before reading the global view.
+     */
+    public static void publishNow() throws IOException {
+        MetricSnapshotPublisher publisher = instance;
+        if (publisher != null) {
+            publisher.publish();
+        }
+    }
+
+    private static MetricSnapshotCollector electCollector(int port) {
+        try {
+            return MetricSnapshotCollector.listen(port);
+        } catch (IOException e) {
+            // another fork on this host already collects; push to it instead
+            return null;
+        }
+    }
+
+    private synchronized void publish() throws IOException {
+        MetricSnapshot snapshot = MetricSnapshot.capture(TestObservabilitySystem.getMetricRegistry(), source);
+        if (directory != null) {
+            Path target = directory.resolve(source + MetricSnapshotCollector.SNAPSHOT_SUFFIX);
+            Path temp = directory.resolve(source + MetricSnapshotCollector.SNAPSHOT_SUFFIX + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                snapshot.writeBinary(out);
+            }
+            // readers never observe a half-written snapshot
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } else if (collector != null) {
+            collector.accept(snapshot);
+        } else {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MILLIS);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                snapshot.writeBinary(out);
+                out.flush();
+            }
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+            lastPushFailed = false;
+        } catch (IOException e) {
+            if (!lastPushFailed) {
+                System.err.println("Failed to publish metric snapshot: " + e.getMessage());
+            }
+            lastPushFailed = true;
+        }
+    }
+
+    private static String sourceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "localhost";
+        }
+        return host.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + ProcessHandle.current().pid();
+    }
+}
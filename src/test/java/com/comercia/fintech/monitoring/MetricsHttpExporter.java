@@ -0,0 +1,177 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process Prometheus scrape endpoint for the test JVM.
+ * Serves /actuator/prometheus and /metrics by streaming TestObservabilitySystem
+ * straight to the socket on a single daemon thread, so scrape cost stays
+ * proportional to the number of series rather than the number of scenarios.
+ * /metrics/global serves the view merged across all test JVMs.
+ * Scrapes beyond the pending limit are answered with 503 instead of queueing.
+ */
+public class MetricsHttpExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int MAX_PENDING_SCRAPES = 4;
+    private static final int WRITE_BUFFER_SIZE = 8 * 1024;
+
+    private static volatile MetricsHttpExporter instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsHttpExporter(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), MAX_PENDING_SCRAPES);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_PENDING_SCRAPES),
+            runnable -> {
+                Thread thread = new Thread(runnable, "metrics-http-exporter");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, pool) -> {
+                if (!(runnable instanceof Scrape)) throw new RejectedExecutionException("Metrics endpoint is busy");
+                ((Scrape) runnable).reject();
+            });
+
+        // handlers are dispatched here rather than via server.setExecutor: a task rejected by the
+        // server's own executor is opaque and its exchange would never be answered or closed
+        server.createContext("/actuator/prometheus", queued(this::handleScrape));
+        server.createContext("/metrics", queued(this::handleScrape));
+        server.createContext("/metrics/global", queued(this::handleGlobalScrape));
+        server.createContext("/dashboard", queued(this::handleDashboard));
+    }
+
+    /**
+     * Starts the exporter once per JVM if enabled in config.properties.
+     * Failing to bind (e.g. another fork owns the port) only disables the endpoint.
+     */
+    public static void ensureStarted() {
+        if (instance != null) return;
+
+        synchronized (MetricsHttpExporter.class) {
+            if (instance != null) return;
+            if (!ConfigReader.getBooleanProperty("metrics.exporter.enabled", true)) return;
+
+            int port = ConfigReader.getIntProperty("metrics.exporter.port", 8080);
+            try {
+                MetricsHttpExporter exporter = new MetricsHttpExporter(port);
+                // Starting from the daemon worker makes the server's dispatcher a daemon too,
+                // so the endpoint never keeps the test JVM alive
+                exporter.executor.submit(exporter.server::start).get();
+                Runtime.getRuntime().addShutdownHook(new Thread(exporter::stop, "metrics-http-exporter-shutdown"));
+                instance = exporter;
+                System.out.println("Metrics endpoint listening on port " + exporter.getPort());
+            } catch (IOException | ExecutionException e) {
+                System.err.println("Failed to start metrics endpoint on port " + port + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static boolean isRunning() {
+        return instance != null;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        for (Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof Scrape) ((Scrape) pending).reject();
+        }
+    }
+
+    private HttpHandler queued(HttpHandler handler) {
+        return exchange -> executor.execute(new Scrape(exchange, handler));
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        respond(exchange, CONTENT_TYPE, TestObservabilitySystem::writeMetrics);
+    }
+
+    private void handleGlobalScrape(HttpExchange exchange) throws IOException {
+        respond(exchange, CONTENT_TYPE, out -> TestObservabilitySystem.getGlobalSnapshot().writeTo(out));
+    }
+
+    private void handleDashboard(HttpExchange exchange) throws IOException {
+        respond(exchange, JSON_CONTENT_TYPE, out -> out.write(TestObservabilitySystem.getDashboardSnapshot().toJson()));
+    }
+
+    private void respond(HttpExchange exchange, String contentType, MetricsWriter body) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, 0); // chunked, no Content-Length needed
+
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                body.write(out);
+            }
+        } catch (IOException e) {
+            System.err.println("Metrics scrape failed: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static final class Scrape implements Runnable {
+        private final HttpExchange exchange;
+        private final HttpHandler handler;
+
+        Scrape(HttpExchange exchange, HttpHandler handler) {
+            this.exchange = exchange;
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            try {
+                handler.handle(exchange);
+            } catch (IOException e) {
+                System.err.println("Metrics scrape failed: " + e.getMessage());
+                exchange.close();
+            }
+        }
+
+        void reject() {
+            try {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+            } catch (IOException e) {
+                System.err.println("Failed to reject metrics scrape: " + e.getMessage());
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private interface MetricsWriter {
+        void write(Writer out) throws IOException;
+    }
+}
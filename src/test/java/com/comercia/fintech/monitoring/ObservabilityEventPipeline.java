@@ -0,0 +1,409 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.monitoring.alerting.AlertEngine;
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous hand-off between test threads and observability aggregation.
+ * Test threads claim a pre-allocated slot in a bounded multi-producer ring buffer, fill it
+ * and publish it; a single daemon aggregator drains the ring in batches and feeds the
+ * registered listeners (metrics, alerts, exporters). When disabled in config.properties
+ * events are dispatched synchronously on the calling thread instead. Events published once
+ * shutdown has begun are dropped and counted, so listeners only ever see the aggregator thread.
+ */
+public class ObservabilityEventPipeline {
+
+    public enum BackpressurePolicy { DROP, BLOCK }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_FLUSH_MILLIS = 5000;
+
+    private static final List<TelemetryEventListener> listeners = new CopyOnWriteArrayList<>();
+    private static final Counter droppedEvents = TestObservabilitySystem.getMetricRegistry().counter(
+        "observability_events_dropped_total", "Events dropped because the pipeline ring buffer was full or shutting down");
+    private static final Gauge pipelineDepth = TestObservabilitySystem.getMetricRegistry().gauge(
+        "observability_pipeline_depth", "Events waiting in the pipeline ring buffer");
+
+    static {
+        listeners.add(new MetricsListener());
+        listeners.add(AlertEngine.getInstance());
+        // after the alert engine so each snapshot carries the alerts of the same batch
+        listeners.add(new DashboardListener());
+        TelemetryJournal journal = TelemetryJournal.fromConfig();
+        if (journal != null) {
+            listeners.add(journal);
+        }
+        InfluxLineProtocolExporter influx = InfluxLineProtocolExporter.fromConfig();
+        if (influx != null) {
+            listeners.add(influx);
+        }
+    }
+
+    private static final ObservabilityEventPipeline instance = create();
+
+    private final List<TelemetryEventListener> consumers;
+    private final TelemetryEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int batchSize;
+    private final BackpressurePolicy policy;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile boolean running = true;
+    private final Thread aggregator;
+
+    ObservabilityEventPipeline(int capacity, int batchSize, BackpressurePolicy policy, List<TelemetryEventListener> consumers) {
+        this.consumers = consumers;
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new TelemetryEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new TelemetryEvent();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.batchSize = batchSize;
+        this.policy = policy;
+
+        this.aggregator = new Thread(this::drainLoop, "observability-aggregator");
+        aggregator.setDaemon(true);
+        aggregator.start();
+    }
+
+    private static ObservabilityEventPipeline create() {
+        if (!ConfigReader.getBooleanProperty("observability.pipeline.enabled", true)) {
+            return null;
+        }
+        int capacity = ConfigReader.getIntProperty("observability.pipeline.capacity", 8192);
+        int batchSize = ConfigReader.getIntProperty("observability.pipeline.batch.size", 256);
+        BackpressurePolicy policy = BackpressurePolicy.valueOf(
+            ConfigReader.getProperty("observability.pipeline.backpressure", "DROP").trim().toUpperCase());
+        ObservabilityEventPipeline pipeline = new ObservabilityEventPipeline(capacity, batchSize, policy, listeners);
+        Runtime.getRuntime().addShutdownHook(new Thread(pipeline::shutdown, "observability-flush"));
+        return pipeline;
+    }
+
+    // --- Registration ---
+
+    public static void addListener(TelemetryEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(TelemetryEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    // --- Publishing (test threads) ---
+    // Every argument is read before claim(): a slot that is claimed but never published stalls the drain.
+
+    public static void publishTestStart(String testName, String feature, String browser, String environment) {
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.TEST_START;
+        event.name = testName;
+        event.feature = feature;
+        event.browser = browser;
+        event.environment = environment;
+        publish(event);
+    }
+
+    public static void publishTestCompletion(String testName, String feature, String result,
+                                             Duration duration, String errorMessage) {
+        long durationNanos = duration.toNanos();
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.TEST_COMPLETION;
+        event.name = testName;
+        event.feature = feature;
+        event.status = result;
+        event.detail = errorMessage;
+        event.durationNanos = durationNanos;
+        event.success = "PASSED".equalsIgnoreCase(result);
+        publish(event);
+    }
+
+    public static void publishApiResponse(String endpoint, String method, int statusCode,
+                                          long responseTimeMillis, long responseSize) {
+        long durationNanos = TimeUnit.MILLISECONDS.toNanos(responseTimeMillis);
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.API_RESPONSE;
+        event.name = endpoint;
+        event.status = method;
+        event.code = statusCode;
+        event.durationNanos = durationNanos;
+        event.size = responseSize;
+        event.success = statusCode < 400;
+        publish(event);
+    }
+
+    public static void publishPageLoad(String pageUrl, Duration loadTime, boolean success) {
+        long loadNanos = loadTime.toNanos();
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.PAGE_LOAD;
+        event.name = pageUrl;
+        event.durationNanos = loadNanos;
+        event.success = success;
+        publish(event);
+    }
+
+    public static void publishBusinessTransaction(String transactionType, String status,
+                                                  double amount, String currency) {
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.BUSINESS_TRANSACTION;
+        event.name = transactionType;
+        event.status = status;
+        event.amount = amount;
+        event.detail = currency;
+        publish(event);
+    }
+
+    public static void publishGridStatus(int totalNodes, int busyNodes, int freeNodes) {
+        TelemetryEvent event = claim();
+        if (event == null) return;
+        event.type = TelemetryEvent.Type.GRID_STATUS;
+        event.code = totalNodes;
+        event.size = busyNodes;
+        event.amount = freeNodes;
+        publish(event);
+    }
+
+    /**
+     * Blocks until every event published before this call has been applied (or the timeout expires).
+     */
+    public static void flush(Duration timeout) {
+        if (instance != null) {
+            instance.awaitDrained(timeout);
+        }
+    }
+
+    public static long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    // --- Ring buffer ---
+
+    private static TelemetryEvent claim() {
+        return instance != null ? instance.claimEvent() : unpooledEvent();
+    }
+
+    private static void publish(TelemetryEvent event) {
+        if (instance != null) {
+            instance.publishEvent(event);
+        } else {
+            dispatchSynchronously(event);
+        }
+    }
+
+    /**
+     * Claims the next slot, or returns null if the event is dropped (ring full under DROP, or shutting down).
+     */
+    TelemetryEvent claimEvent() {
+        if (!running) {
+            // the aggregator may still be draining: dispatching here would run listeners on two threads
+            droppedEvents.inc();
+            return null;
+        }
+        return claimSlot();
+    }
+
+    void publishEvent(TelemetryEvent event) {
+        sequences.set((int) (event.sequence & mask), event.sequence + 1);
+    }
+
+    private static TelemetryEvent unpooledEvent() {
+        TelemetryEvent event = new TelemetryEvent();
+        event.sequence = -1;
+        event.timestampMillis = System.currentTimeMillis();
+        return event;
+    }
+
+    private TelemetryEvent claimSlot() {
+        long position = tail.get();
+        int spins = 0;
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    TelemetryEvent event = slots[index];
+                    event.clear();
+                    event.sequence = position;
+                    event.timestampMillis = System.currentTimeMillis();
+                    return event;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                if (policy == BackpressurePolicy.DROP) {
+                    droppedEvents.inc();
+                    return null;
+                }
+                if (!running) {
+                    droppedEvents.inc();
+                    return null;
+                }
+                if (++spins < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(FULL_PARK_NANOS);
+                }
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running || head != tail.get()) {
+            int drained = drainBatch();
+            if (drained == 0) {
+                if (!running) {
+                    // a producer claimed a slot but has not published it yet
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    private int drainBatch() {
+        int drained = 0;
+        long position = head;
+        while (drained < batchSize) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) break;
+
+            dispatch(consumers, slots[index]);
+            sequences.set(index, position + slots.length);
+            position++;
+            drained++;
+        }
+        if (drained > 0) {
+            completeBatch(consumers);
+            // advanced after onBatchComplete so flush() also covers per-batch work such as alert evaluation
+            head = position;
+            pipelineDepth.set(tail.get() - position);
+        }
+        return drained;
+    }
+
+    private static void dispatch(List<TelemetryEventListener> consumers, TelemetryEvent event) {
+        for (TelemetryEventListener listener : consumers) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Observability listener failed on " + event.type + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void completeBatch(List<TelemetryEventListener> consumers) {
+        for (TelemetryEventListener listener : consumers) {
+            try {
+                listener.onBatchComplete();
+            } catch (RuntimeException e) {
+                System.err.println("Observability listener failed on batch completion: " + e.getMessage());
+            }
+        }
+    }
+
+    // pipeline disabled: the lock stands in for the single aggregator thread
+    private static void dispatchSynchronously(TelemetryEvent event) {
+        synchronized (listeners) {
+            dispatch(listeners, event);
+            completeBatch(listeners);
+        }
+    }
+
+    void awaitDrained(Duration timeout) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (head < target && aggregator.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(aggregator);
+        try {
+            aggregator.join(SHUTDOWN_FLUSH_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (aggregator.isAlive()) {
+            System.err.println("Observability pipeline did not flush within " + SHUTDOWN_FLUSH_MILLIS + "ms");
+            return;
+        }
+        for (TelemetryEventListener listener : consumers) {
+            try {
+                listener.onShutdown();
+            } catch (RuntimeException e) {
+                System.err.println("Observability listener failed on shutdown: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Default listener: applies events to TestObservabilitySystem.
+     */
+    private static class MetricsListener implements TelemetryEventListener {
+
+        @Override
+        public void onEvent(TelemetryEvent event) {
+            switch (event.type) {
+                case TEST_START:
+                    TestObservabilitySystem.recordTestStart(event.name, event.feature, event.browser, event.environment);
+                    break;
+                case TEST_COMPLETION:
+                    TestObservabilitySystem.recordTestCompletion(event.name, event.feature, event.status,
+                        event.getDuration(), event.detail);
+                    break;
+                case API_RESPONSE:
+                    TestObservabilitySystem.recordApiResponse(event.name, event.status, event.code,
+                        TimeUnit.NANOSECONDS.toMillis(event.durationNanos), event.size);
+                    break;
+                case PAGE_LOAD:
+                    TestObservabilitySystem.recordPageLoad(event.name, event.getDuration(), event.success);
+                    break;
+                case BUSINESS_TRANSACTION:
+                    TestObservabilitySystem.recordBusinessTransaction(event.name, event.status, event.amount, event.detail);
+                    break;
+                case GRID_STATUS:
+                    TestObservabilitySystem.updateSeleniumGridStatus(event.code, (int) event.size, (int) event.amount);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Publishes a fresh dashboard snapshot once per drained batch rather than per event.
+     */
+    private static class DashboardListener implements TelemetryEventListener {
+
+        @Override
+        public void onEvent(TelemetryEvent event) {
+            // values are read from TestObservabilitySystem once the batch has been applied
+        }
+
+        @Override
+        public void onBatchComplete() {
+            TestObservabilitySystem.refreshDashboard();
+        }
+    }
+}
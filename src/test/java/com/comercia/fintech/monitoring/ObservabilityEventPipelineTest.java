@@ -0,0 +1,227 @@
+package com.comercia.fintech.monitoring;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ObservabilityEventPipelineTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final TelemetryEventListener recorder = event -> received.add(event.getType() + ":" + event.getName());
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstEventEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstEvent = new CountDownLatch(1);
+    private final AtomicBoolean shutDown = new AtomicBoolean();
+    // holds the aggregator inside the first event, so the ring fills up behind it
+    private final TelemetryEventListener gate = new TelemetryEventListener() {
+        private int batch;
+
+        @Override
+        public void onEvent(TelemetryEvent event) {
+            threads.add(Thread.currentThread().getName());
+            events.add(event.getName());
+            batch++;
+            if (events.size() == 1) {
+                firstEventEntered.countDown();
+                await(releaseFirstEvent);
+            }
+        }
+
+        @Override
+        public void onBatchComplete() {
+            batchSizes.add(batch);
+            batch = 0;
+        }
+
+        @Override
+        public void onShutdown() {
+            shutDown.set(true);
+        }
+    };
+
+    private ObservabilityEventPipeline pipeline;
+
+    @Before
+    public void register() {
+        ObservabilityEventPipeline.addListener(recorder);
+    }
+
+    @After
+    public void unregister() {
+        ObservabilityEventPipeline.removeListener(recorder);
+        releaseFirstEvent.countDown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void invalidArgumentDoesNotLeaveASlotClaimed() {
+        try {
+            ObservabilityEventPipeline.publishTestCompletion("broken", "checkout", "PASSED", null, null);
+            fail("a null duration must be rejected");
+        } catch (NullPointerException expected) {
+            // rejected before a slot was claimed
+        }
+        try {
+            ObservabilityEventPipeline.publishPageLoad("/broken", null, true);
+            fail("a null load time must be rejected");
+        } catch (NullPointerException expected) {
+            // rejected before a slot was claimed
+        }
+
+        ObservabilityEventPipeline.publishTestStart("after", "checkout", "chrome", "test");
+        ObservabilityEventPipeline.flush(Duration.ofSeconds(5));
+
+        assertEquals(1, received.size());
+        assertEquals("TEST_START:after", received.get(0));
+    }
+
+    @Test
+    public void wrapsAroundTheRingInOrder() {
+        pipeline = pipeline(4, 2, ObservabilityEventPipeline.BackpressurePolicy.BLOCK);
+        releaseFirstEvent.countDown();
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(publish("event-" + i));
+        }
+        pipeline.awaitDrained(Duration.ofSeconds(5));
+
+        assertEquals(names(0, 50), events);
+    }
+
+    @Test
+    public void drainsInBatchesAndCompletesEachBatch() throws InterruptedException {
+        pipeline = pipeline(8, 3, ObservabilityEventPipeline.BackpressurePolicy.DROP);
+        publish("event-0");
+        assertTrue(firstEventEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 7; i++) {
+            assertTrue(publish("event-" + i));
+        }
+
+        releaseFirstEvent.countDown();
+        pipeline.awaitDrained(Duration.ofSeconds(5));
+
+        assertEquals(names(0, 7), events);
+        assertEquals(List.of(3, 3, 1), batchSizes);
+    }
+
+    @Test
+    public void dropPolicyDropsEventsWhenTheRingIsFull() throws InterruptedException {
+        pipeline = pipeline(4, 8, ObservabilityEventPipeline.BackpressurePolicy.DROP);
+        publish("event-0");
+        assertTrue(firstEventEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(publish("event-" + i));
+        }
+        long droppedBefore = ObservabilityEventPipeline.getDroppedEvents();
+
+        assertFalse(publish("overflow-1"));
+        assertFalse(publish("overflow-2"));
+
+        releaseFirstEvent.countDown();
+        pipeline.awaitDrained(Duration.ofSeconds(5));
+        assertEquals(names(0, 4), events);
+        assertEquals(droppedBefore + 2, ObservabilityEventPipeline.getDroppedEvents());
+    }
+
+    @Test
+    public void blockPolicyWaitsForAFreeSlot() throws InterruptedException {
+        pipeline = pipeline(4, 8, ObservabilityEventPipeline.BackpressurePolicy.BLOCK);
+        publish("event-0");
+        assertTrue(firstEventEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(publish("event-" + i));
+        }
+        long droppedBefore = ObservabilityEventPipeline.getDroppedEvents();
+
+        AtomicBoolean published = new AtomicBoolean();
+        Thread producer = new Thread(() -> published.set(publish("event-4")), "blocked-producer");
+        producer.start();
+        // spins first, then parks between retries
+        while (producer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        assertFalse(published.get());
+
+        releaseFirstEvent.countDown();
+        producer.join(5000);
+        pipeline.awaitDrained(Duration.ofSeconds(5));
+        assertTrue(published.get());
+        assertEquals(names(0, 5), events);
+        assertEquals(droppedBefore, ObservabilityEventPipeline.getDroppedEvents());
+    }
+
+    @Test
+    public void shutdownFlushesPendingEventsOnTheAggregatorThread() throws InterruptedException {
+        pipeline = pipeline(8, 2, ObservabilityEventPipeline.BackpressurePolicy.DROP);
+        publish("event-0");
+        assertTrue(firstEventEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 6; i++) {
+            assertTrue(publish("event-" + i));
+        }
+
+        Thread shutdown = new Thread(pipeline::shutdown, "pipeline-shutdown");
+        shutdown.start();
+        while (shutdown.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        // shutdown has begun: late events are dropped, never dispatched on this thread
+        long droppedBefore = ObservabilityEventPipeline.getDroppedEvents();
+        assertFalse(publish("late"));
+        assertEquals(droppedBefore + 1, ObservabilityEventPipeline.getDroppedEvents());
+
+        releaseFirstEvent.countDown();
+        shutdown.join(5000);
+        assertEquals(names(0, 6), events);
+        assertTrue(shutDown.get());
+        for (String thread : threads) {
+            assertEquals("observability-aggregator", thread);
+        }
+    }
+
+    private ObservabilityEventPipeline pipeline(int capacity, int batchSize, ObservabilityEventPipeline.BackpressurePolicy policy) {
+        return new ObservabilityEventPipeline(capacity, batchSize, policy, List.of(gate));
+    }
+
+    private boolean publish(String name) {
+        TelemetryEvent event = pipeline.claimEvent();
+        if (event == null) return false;
+        event.type = TelemetryEvent.Type.TEST_START;
+        event.name = name;
+        pipeline.publishEvent(event);
+        return true;
+    }
+
+    private static List<String> names(int from, int to) {
+        List<String> names = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            names.add("event-" + i);
+        }
+        return names;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
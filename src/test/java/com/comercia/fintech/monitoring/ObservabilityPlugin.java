@@ -0,0 +1,70 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunStarted;
+
+/**
+ * Cucumber plugin that starts the per-JVM metrics endpoint and snapshot publisher when a run
+ * starts and publishes a test start and completion event per scenario to the observability
+ * pipeline. The Cucumber runners never reach BaseTest's JUnit hooks, so this is what feeds the
+ * pass rates, critical-path status and test alert rules in Cucumber runs.
+ *
+ * Register with {@code plugin = "com.comercia.fintech.monitoring.ObservabilityPlugin"}.
+ */
+public class ObservabilityPlugin implements ConcurrentEventListener {
+
+    private final String browser = ConfigReader.getProperty("browser", "chrome");
+    private final String environment = ConfigReader.getProperty("environment", "test");
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, this::onTestRunStarted);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    /**
+     * Feature a test belongs to, from keywords in its name or location (payment, authentication, ...).
+     */
+    public static String featureOf(String text) {
+        String lower = text.toLowerCase();
+        if (lower.contains("payment")) return "payment";
+        if (lower.contains("auth")) return "authentication";
+        if (lower.contains("checkout")) return "checkout";
+        if (lower.contains("api")) return "api";
+        if (lower.contains("ui")) return "ui";
+        return "general";
+    }
+
+    private void onTestRunStarted(TestRunStarted event) {
+        // both start once per JVM and only log when disabled or the port is taken
+        MetricsHttpExporter.ensureStarted();
+        MetricSnapshotPublisher.ensureStarted();
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        ObservabilityEventPipeline.publishTestStart(testCase.getName(), feature(testCase), browser, environment);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        Result result = event.getResult();
+        String error = result.getError() != null ? result.getError().getMessage() : null;
+        ObservabilityEventPipeline.publishTestCompletion(testCase.getName(), feature(testCase),
+            result.getStatus().name(), result.getDuration(), error);
+    }
+
+    private static String feature(TestCase testCase) {
+        // the feature file name (payment_api.feature) is more telling than the scenario name;
+        // the rest of the path is left out so directory names cannot match a keyword
+        String path = testCase.getUri().getPath() != null ? testCase.getUri().getPath() : testCase.getUri().toString();
+        return featureOf(path.substring(path.lastIndexOf('/') + 1) + " " + testCase.getName());
+    }
+}
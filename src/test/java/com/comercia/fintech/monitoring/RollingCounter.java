@@ -0,0 +1,88 @@
+package com.comercia.fintech.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Event count over a sliding time window, kept as a ring of fixed-width buckets.
+ * Each bucket is stamped with the time slice it belongs to, so stale buckets are
+ * recycled lazily on the next write and ignored by queries without a sweeper thread.
+ */
+public class RollingCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final LongSupplier clock;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param span   longest window that can be queried
+     * @param bucket width of one bucket (query resolution)
+     */
+    public RollingCounter(Duration span, Duration bucket) {
+        this(span, bucket, System::currentTimeMillis);
+    }
+
+    RollingCounter(Duration span, Duration bucket, LongSupplier clock) {
+        this.bucketMillis = bucket.toMillis();
+        this.bucketCount = (int) Math.max(1, (span.toMillis() + bucketMillis - 1) / bucketMillis);
+        this.clock = clock;
+        this.epochs = new AtomicLongArray(bucketCount);
+        this.counts = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            epochs.set(i, -1);
+        }
+    }
+
+    public void inc() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int slot = (int) (epoch % bucketCount);
+        if (epochs.get(slot) != epoch) {
+            rotate(slot, epoch);
+        }
+        counts.addAndGet(slot, amount);
+    }
+
+    /**
+     * Sum over the most recent {@code window}, in O(window / bucket width).
+     */
+    public long sum(Duration window) {
+        long now = clock.getAsLong() / bucketMillis;
+        int buckets = bucketsIn(window);
+        long total = 0;
+        for (long epoch = now; epoch > now - buckets; epoch--) {
+            int slot = (int) (epoch % bucketCount);
+            if (epochs.get(slot) == epoch) {
+                total += counts.get(slot);
+            }
+        }
+        return total;
+    }
+
+    public void reset() {
+        synchronized (this) {
+            for (int i = 0; i < bucketCount; i++) {
+                epochs.set(i, -1);
+                counts.set(i, 0);
+            }
+        }
+    }
+
+    private int bucketsIn(Duration window) {
+        long buckets = (window.toMillis() + bucketMillis - 1) / bucketMillis;
+        return (int) Math.max(1, Math.min(bucketCount, buckets));
+    }
+
+    private synchronized void rotate(int slot, long epoch) {
+        if (epochs.get(slot) < epoch) {
+            counts.set(slot, 0);
+            epochs.set(slot, epoch);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.comercia.fintech.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency distribution over a sliding time window: a ring of LatencyHistograms, one per
+ * time slice. Percentiles for a window merge only the buckets inside it, so the cost of a
+ * query depends on the window length and never on how many values were recorded.
+ */
+public class RollingHistogram {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final LongSupplier clock;
+    private final AtomicLongArray epochs;
+    private final LatencyHistogram[] histograms;
+
+    /**
+     * @param span   longest window that can be queried
+     * @param bucket width of one time slice (query resolution)
+     */
+    public RollingHistogram(Duration span, Duration bucket) {
+        this(span, bucket, System::currentTimeMillis);
+    }
+
+    RollingHistogram(Duration span, Duration bucket, LongSupplier clock) {
+        this.bucketMillis = bucket.toMillis();
+        this.bucketCount = (int) Math.max(1, (span.toMillis() + bucketMillis - 1) / bucketMillis);
+        this.clock = clock;
+        this.epochs = new AtomicLongArray(bucketCount);
+        this.histograms = new LatencyHistogram[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            epochs.set(i, -1);
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(Duration duration) {
+        current().record(duration);
+    }
+
+    public void recordMillis(long millis) {
+        current().recordMillis(millis);
+    }
+
+    public long getCount(Duration window) {
+        long now = clock.getAsLong() / bucketMillis;
+        long total = 0;
+        for (long epoch = now; epoch > now - bucketsIn(window); epoch--) {
+            LatencyHistogram histogram = live(epoch);
+            if (histogram != null) total += histogram.getCount();
+        }
+        return total;
+    }
+
+    public double getMeanMillis(Duration window) {
+        long now = clock.getAsLong() / bucketMillis;
+        long count = 0;
+        double sum = 0.0;
+        for (long epoch = now; epoch > now - bucketsIn(window); epoch--) {
+            LatencyHistogram histogram = live(epoch);
+            if (histogram != null) {
+                count += histogram.getCount();
+                sum += histogram.getSumMillis();
+            }
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Percentile (0-100) in milliseconds over the most recent {@code window}.
+     */
+    public double getValueAtPercentileMillis(Duration window, double percentile) {
+        long now = clock.getAsLong() / bucketMillis;
+        long[] merged = new long[LatencyHistogram.BUCKET_COUNT];
+        long total = 0;
+        for (long epoch = now; epoch > now - bucketsIn(window); epoch--) {
+            LatencyHistogram histogram = live(epoch);
+            if (histogram != null) total += histogram.addCountsTo(merged);
+        }
+        return LatencyHistogram.percentileMillis(merged, total, percentile);
+    }
+
+    public void reset() {
+        synchronized (this) {
+            for (int i = 0; i < bucketCount; i++) {
+                epochs.set(i, -1);
+                histograms[i].reset();
+            }
+        }
+    }
+
+    private LatencyHistogram current() {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int slot = (int) (epoch % bucketCount);
+        if (epochs.get(slot) != epoch) {
+            rotate(slot, epoch);
+        }
+        return histograms[slot];
+    }
+
+    private LatencyHistogram live(long epoch) {
+        int slot = (int) (epoch % bucketCount);
+        return epochs.get(slot) == epoch ? histograms[slot] : null;
+    }
+
+    private int bucketsIn(Duration window) {
+        long buckets = (window.toMillis() + bucketMillis - 1) / bucketMillis;
+        return (int) Math.max(1, Math.min(bucketCount, buckets));
+    }
+
+    private synchronized void rotate(int slot, long epoch) {
+        if (epochs.get(slot) < epoch) {
+            histograms[slot].reset();
+            epochs.set(slot, epoch);
+        }
+    }
+}
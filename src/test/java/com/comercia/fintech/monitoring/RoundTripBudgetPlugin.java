@@ -0,0 +1,171 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cucumber plugin that attributes WebDriver round trips (see {@link WebDriverCommandRecorder}) to
+ * the step that issued them and checks each scenario against a round-trip budget, so a page-object
+ * change that multiplies remote calls shows up as a budget breach instead of a slow suite.
+ *
+ * The budget is {@code webdriver.roundtrip.budget} (0 disables the check) and can be set per
+ * scenario with a {@code @roundtrip-budget:N} tag. One row per scenario is appended to
+ * {@code webdriver.roundtrip.report.file}.
+ *
+ * Register with {@code plugin = "com.comercia.fintech.monitoring.RoundTripBudgetPlugin"}.
+ */
+public class RoundTripBudgetPlugin implements ConcurrentEventListener {
+
+    private static final String BUDGET_TAG = "@roundtrip-budget:";
+    private static final String REPORT_HEADER = "# scenario\tstatus\tround_trips\tbudget\tcommand_ms\tbytes_sent\tbytes_received\tsteps";
+    private static final Object REPORT_LOCK = new Object();
+
+    private final int defaultBudget;
+    private final Path reportFile;
+
+    public RoundTripBudgetPlugin() {
+        this.defaultBudget = ConfigReader.getIntProperty("webdriver.roundtrip.budget", 0);
+        String report = ConfigReader.getProperty("webdriver.roundtrip.report.file", "");
+        this.reportFile = report.isEmpty() ? null : Paths.get(report);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        WebDriverCommandRecorder.startScenario(event.getTestCase().getName());
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        WebDriverCommandRecorder.ScenarioCommands scenario = WebDriverCommandRecorder.currentScenario();
+        if (scenario != null) {
+            scenario.startStep(label(event.getTestStep()));
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        WebDriverCommandRecorder.ScenarioCommands scenario = WebDriverCommandRecorder.currentScenario();
+        if (scenario == null) return;
+        WebDriverCommandRecorder.StepCommands step = scenario.finishStep();
+        if (step != null && step.getRoundTrips() > 0) {
+            TestObservabilitySystem.recordStepWebDriverCommands(step.getLabel(), step.getRoundTrips(),
+                Duration.ofNanos(step.getNanos()));
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        WebDriverCommandRecorder.ScenarioCommands scenario = WebDriverCommandRecorder.finishScenario();
+        if (scenario == null || scenario.getRoundTrips() == 0) return;
+
+        int roundTrips = scenario.getRoundTrips();
+        int budget = budget(event.getTestCase());
+        long commandMillis = Duration.ofNanos(scenario.getCommandNanos()).toMillis();
+        System.out.println("WebDriver round trips for '" + scenario.getName() + "': " + roundTrips
+            + (budget > 0 ? " (budget " + budget + ")" : "") + ", " + commandMillis + "ms in commands");
+
+        if (budget > 0 && roundTrips > budget) {
+            TestObservabilitySystem.recordRoundTripBudgetExceeded();
+            System.err.println("Round-trip budget exceeded for '" + scenario.getName() + "': "
+                + roundTrips + " > " + budget + "\n" + breakdown(scenario));
+        }
+        appendReport(scenario, event.getResult().getStatus().name(), budget);
+    }
+
+    private int budget(TestCase testCase) {
+        for (String tag : testCase.getTags()) {
+            if (tag.startsWith(BUDGET_TAG)) {
+                try {
+                    return Integer.parseInt(tag.substring(BUDGET_TAG.length()));
+                } catch (NumberFormatException e) {
+                    System.err.println("Ignoring invalid round-trip budget tag " + tag);
+                }
+            }
+        }
+        return defaultBudget;
+    }
+
+    private static String label(TestStep testStep) {
+        // the pattern keeps labels low-cardinality, like the tracing span names
+        if (testStep instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) testStep;
+            return step.getStep().getKeyword().trim() + " " + step.getPattern();
+        }
+        if (testStep instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) testStep;
+            return hook.getHookType() + " " + hook.getCodeLocation();
+        }
+        return testStep.getCodeLocation();
+    }
+
+    private static String breakdown(WebDriverCommandRecorder.ScenarioCommands scenario) {
+        StringBuilder out = new StringBuilder();
+        for (WebDriverCommandRecorder.StepCommands step : scenario.getSteps()) {
+            if (step.getRoundTrips() == 0) continue;
+            String top = step.getByCommand().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(3)
+                .map(e -> e.getKey() + " x" + e.getValue())
+                .collect(Collectors.joining(", "));
+            out.append(String.format("  %4d round trips %6dms  %s  [%s]%n", step.getRoundTrips(),
+                Duration.ofNanos(step.getNanos()).toMillis(), step.getLabel(), top));
+        }
+        return out.toString();
+    }
+
+    private void appendReport(WebDriverCommandRecorder.ScenarioCommands scenario, String status, int budget) {
+        if (reportFile == null) return;
+        long sent = 0;
+        long received = 0;
+        StringBuilder steps = new StringBuilder();
+        for (WebDriverCommandRecorder.StepCommands step : scenario.getSteps()) {
+            sent += step.getBytesSent();
+            received += step.getBytesReceived();
+            if (step.getRoundTrips() == 0) continue;
+            if (steps.length() > 0) steps.append(" | ");
+            steps.append(step.getLabel()).append('=').append(step.getRoundTrips());
+        }
+        String row = String.join("\t", scenario.getName().replace('\t', ' '), status,
+            String.valueOf(scenario.getRoundTrips()), String.valueOf(budget),
+            String.valueOf(Duration.ofNanos(scenario.getCommandNanos()).toMillis()),
+            String.valueOf(sent), String.valueOf(received), steps.toString().replace('\t', ' '));
+
+        synchronized (REPORT_LOCK) {
+            try {
+                Path parent = reportFile.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                if (!Files.exists(reportFile)) {
+                    Files.write(reportFile, (REPORT_HEADER + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+                Files.write(reportFile, (row + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.err.println("Failed to write round-trip report " + reportFile + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.comercia.fintech.monitoring;
+
+import java.time.Duration;
+
+/**
+ * Pre-allocated, reusable slot of the observability ring buffer.
+ * Listeners must copy anything they need: the instance is overwritten once the batch is drained.
+ */
+public class TelemetryEvent {
+
+    public enum Type {
+        TEST_START,
+        TEST_COMPLETION,
+        API_RESPONSE,
+        PAGE_LOAD,
+        BUSINESS_TRANSACTION,
+        GRID_STATUS
+    }
+
+    Type type;
+    long timestampMillis;
+    // ring buffer position of this slot, or -1 for events dispatched synchronously
+    long sequence;
+
+    // test name, API endpoint, page URL or transaction type depending on the event type
+    String name;
+    String feature;
+    String browser;
+    String environment;
+    // test result, HTTP method or transaction status
+    String status;
+    // error message or currency
+    String detail;
+
+    long durationNanos;
+    // response size, or busy nodes for grid status
+    long size;
+    // HTTP status code, or total nodes for grid status
+    int code;
+    // transaction amount, or free nodes for grid status
+    double amount;
+    boolean success;
+
+    public Type getType() { return type; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public String getName() { return name; }
+    public String getFeature() { return feature; }
+    public String getBrowser() { return browser; }
+    public String getEnvironment() { return environment; }
+    public String getStatus() { return status; }
+    public String getDetail() { return detail; }
+    public long getDurationNanos() { return durationNanos; }
+    public long getSize() { return size; }
+    public int getCode() { return code; }
+    public double getAmount() { return amount; }
+    public boolean isSuccess() { return success; }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * Standalone event that never was in the ring buffer, e.g. to feed a listener in a unit test.
+     */
+    public static Builder builder(Type type) {
+        return new Builder(type);
+    }
+
+    void clear() {
+        type = null;
+        name = null;
+        feature = null;
+        browser = null;
+        environment = null;
+        status = null;
+        detail = null;
+        durationNanos = 0;
+        size = 0;
+        code = 0;
+        amount = 0.0;
+        success = false;
+    }
+
+    public static final class Builder {
+        private final TelemetryEvent event = new TelemetryEvent();
+
+        private Builder(Type type) {
+            event.type = type;
+            event.sequence = -1;
+            event.timestampMillis = System.currentTimeMillis();
+        }
+
+        public Builder name(String name) { event.name = name; return this; }
+        public Builder feature(String feature) { event.feature = feature; return this; }
+        public Builder status(String status) { event.status = status; return this; }
+        public Builder detail(String detail) { event.detail = detail; return this; }
+        public Builder duration(Duration duration) { event.durationNanos = duration.toNanos(); return this; }
+        public Builder size(long size) { event.size = size; return this; }
+        public Builder code(int code) { event.code = code; return this; }
+        public Builder amount(double amount) { event.amount = amount; return this; }
+        public Builder success(boolean success) { event.success = success; return this; }
+
+        public TelemetryEvent build() {
+            return event;
+        }
+    }
+}
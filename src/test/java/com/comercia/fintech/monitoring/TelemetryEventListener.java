@@ -0,0 +1,21 @@
+package com.comercia.fintech.monitoring;
+
+/**
+ * Consumer of drained observability events; always invoked from the single aggregator thread.
+ */
+public interface TelemetryEventListener {
+
+    void onEvent(TelemetryEvent event);
+
+    /**
+     * Called once after each drained batch, e.g. to evaluate alerts or flush buffers.
+     */
+    default void onBatchComplete() {
+    }
+
+    /**
+     * Called once after the pipeline has drained its last event at JVM shutdown.
+     */
+    default void onShutdown() {
+    }
+}
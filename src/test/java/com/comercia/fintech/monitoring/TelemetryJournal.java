@@ -0,0 +1,255 @@
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary journal of every telemetry event, so a run can be analysed after the
+ * JVM exits. Events are written by the aggregator thread into memory-mapped segment files
+ * as fixed 64-byte records; strings are stored once per segment as symbol records and
+ * referenced by id. Segments roll at a configured size and are self-contained, so old ones
+ * can be archived or deleted independently. On start only the newest
+ * observability.journal.retain.runs runs are kept; runs whose JVM is still alive are never pruned.
+ * Read back with TelemetryJournalReader.
+ *
+ * Segment layout (little endian):
+ * <pre>
+ * header  : int magic, int version, int record size, int segment number
+ * symbol  : byte 0x7F, 3 pad, int id, int length, UTF-8 bytes, padded to 8
+ * event   : byte type, byte success, 2 pad, int code, long timestamp, long durationNanos,
+ *           long size, double amount, int name, feature, status, detail, browser, environment
+ * end     : byte 0 (unwritten, zero-filled space)
+ * </pre>
+ */
+public class TelemetryJournal implements TelemetryEventListener {
+
+    static final int MAGIC = 0x4346544a; // "CFTJ"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 64;
+    static final byte SYMBOL_RECORD = 0x7F;
+    static final int NO_SYMBOL = -1;
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int MAX_SYMBOL_CHARS = 1024;
+    private static final int STRINGS_PER_RECORD = 6;
+    // worst case for one event: the record plus six new symbols of MAX_SYMBOL_CHARS 3-byte chars
+    private static final int MAX_EVENT_BYTES = RECORD_SIZE + STRINGS_PER_RECORD * (12 + MAX_SYMBOL_CHARS * 3 + 7);
+
+    private final Path directory;
+    private final String runId;
+    private final int segmentBytes;
+    private final long forceIntervalMillis;
+    private final Map<String, Integer> symbols = new HashMap<>();
+
+    private MappedByteBuffer buffer;
+    private int segmentNumber;
+    private long lastForceMillis;
+    private boolean closed;
+
+    public TelemetryJournal(Path directory, int segmentBytes, long forceIntervalMillis) {
+        this(directory, segmentBytes, forceIntervalMillis, 0);
+    }
+
+    /**
+     * @param retainRuns runs to keep in the directory including this one; 0 keeps all
+     */
+    public TelemetryJournal(Path directory, int segmentBytes, long forceIntervalMillis, int retainRuns) {
+        if (segmentBytes < HEADER_SIZE + MAX_EVENT_BYTES) {
+            throw new IllegalArgumentException("Journal segment size must be at least " + (HEADER_SIZE + MAX_EVENT_BYTES) + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceIntervalMillis = forceIntervalMillis;
+        this.runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+        try {
+            Files.createDirectories(directory);
+            if (retainRuns > 0) {
+                pruneRuns(directory, retainRuns - 1);
+            }
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create telemetry journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Journal configured by observability.journal.* in config.properties, or null when disabled.
+     */
+    public static TelemetryJournal fromConfig() {
+        if (!ConfigReader.getBooleanProperty("observability.journal.enabled", false)) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigReader.getProperty("observability.journal.dir", "target/telemetry-journal"));
+        int segmentBytes = ConfigReader.getIntProperty("observability.journal.segment.mb", 64) * 1024 * 1024;
+        long forceMillis = ConfigReader.getIntProperty("observability.journal.force.millis", 1000);
+        int retainRuns = ConfigReader.getIntProperty("observability.journal.retain.runs", 3);
+        return new TelemetryJournal(directory, segmentBytes, forceMillis, retainRuns);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Id of this JVM's run, as accepted by TelemetryJournalReader.forEach(runId, ...).
+     */
+    public String getRunId() {
+        return runId;
+    }
+
+    @Override
+    public void onEvent(TelemetryEvent event) {
+        if (closed) return;
+        try {
+            append(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to telemetry journal", e);
+        }
+    }
+
+    @Override
+    public void onBatchComplete() {
+        long now = System.currentTimeMillis();
+        if (!closed && now - lastForceMillis >= forceIntervalMillis) {
+            buffer.force();
+            lastForceMillis = now;
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        if (!closed) {
+            buffer.force();
+            closed = true;
+        }
+    }
+
+    private void append(TelemetryEvent event) throws IOException {
+        if (buffer.remaining() < MAX_EVENT_BYTES) {
+            buffer.force();
+            segmentNumber++;
+            openSegment();
+        }
+
+        // symbols first so the event record only references ids already in this segment
+        int name = symbol(event.name);
+        int feature = symbol(event.feature);
+        int status = symbol(event.status);
+        int detail = symbol(event.detail);
+        int browser = symbol(event.browser);
+        int environment = symbol(event.environment);
+
+        int start = buffer.position();
+        buffer.put(start + 1, (byte) (event.success ? 1 : 0));
+        buffer.putInt(start + 4, event.code);
+        buffer.putLong(start + 8, event.timestampMillis);
+        buffer.putLong(start + 16, event.durationNanos);
+        buffer.putLong(start + 24, event.size);
+        buffer.putDouble(start + 32, event.amount);
+        buffer.putInt(start + 40, name);
+        buffer.putInt(start + 44, feature);
+        buffer.putInt(start + 48, status);
+        buffer.putInt(start + 52, detail);
+        buffer.putInt(start + 56, browser);
+        buffer.putInt(start + 60, environment);
+        // type byte last: a reader never sees a record whose type is set but fields are not
+        buffer.put(start, (byte) (event.type.ordinal() + 1));
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    private int symbol(String value) {
+        if (value == null) return NO_SYMBOL;
+        Integer id = symbols.get(value);
+        if (id != null) return id;
+
+        String stored = value.length() > MAX_SYMBOL_CHARS ? value.substring(0, MAX_SYMBOL_CHARS) : value;
+        byte[] bytes = stored.getBytes(StandardCharsets.UTF_8);
+        int newId = symbols.size();
+        int start = buffer.position();
+        buffer.putInt(start + 4, newId);
+        buffer.putInt(start + 8, bytes.length);
+        buffer.position(start + 12);
+        buffer.put(bytes);
+        buffer.put(start, SYMBOL_RECORD);
+        buffer.position(align(start + 12 + bytes.length));
+        symbols.put(value, newId);
+        return newId;
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s-%06d%s", runId, segmentNumber, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(segmentNumber);
+        symbols.clear();
+    }
+
+    /**
+     * Deletes the segments of all but the newest {@code keep} earlier runs. Run ids start with
+     * their start time, so they sort chronologically.
+     */
+    static void pruneRuns(Path directory, int keep) throws IOException {
+        TreeMap<String, List<Path>> runs;
+        try (Stream<Path> files = Files.list(directory)) {
+            runs = files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .filter(file -> runId(file) != null)
+                .collect(Collectors.groupingBy(TelemetryJournal::runId, TreeMap::new, Collectors.toList()));
+        }
+        while (runs.size() > keep) {
+            Map.Entry<String, List<Path>> oldest = runs.pollFirstEntry();
+            if (isRunning(oldest.getKey())) continue;
+            for (Path segment : oldest.getValue()) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    System.err.println("Failed to delete old journal segment " + segment + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // "<yyyyMMdd-HHmmss>-<pid>-<segment>.journal" -> "<yyyyMMdd-HHmmss>-<pid>"
+    static String runId(Path segment) {
+        String name = segment.getFileName().toString();
+        int end = name.lastIndexOf('-');
+        return end > 0 ? name.substring(0, end) : null;
+    }
+
+    // a parallel fork still writing this run
+    private static boolean isRunning(String runId) {
+        try {
+            long pid = Long.parseLong(runId.substring(runId.lastIndexOf('-') + 1));
+            return pid != ProcessHandle.current().pid() && ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static int align(int position) {
+        return (position + 7) & ~7;
+    }
+}
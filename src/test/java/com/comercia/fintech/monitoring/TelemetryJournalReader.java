@@ -0,0 +1,151 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the events of one run of a TelemetryJournal directory in write order. The directory
+ * keeps several runs (and parallel forks write their own), so pick one from getRuns(). Segments are mapped
+ * one at a time and decoded into a single reused TelemetryEvent, so heap use is bounded by
+ * one segment's symbol table no matter how large the journal is. Like pipeline listeners,
+ * consumers must copy anything they keep beyond the callback.
+ *
+ * <pre>
+ * TelemetryJournalReader reader = new TelemetryJournalReader(Paths.get("target/telemetry-journal"));
+ * List&lt;String&gt; runs = reader.getRuns();
+ * reader.forEach(runs.get(runs.size() - 1), event -&gt; ...);
+ * </pre>
+ */
+public class TelemetryJournalReader {
+
+    private static final TelemetryEvent.Type[] TYPES = TelemetryEvent.Type.values();
+
+    private final Path directory;
+
+    public TelemetryJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Ids of the runs in the directory, oldest first (run ids start with the run's start time)
+     */
+    public List<String> getRuns() throws IOException {
+        return segments().stream().map(TelemetryJournal::runId).distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * Segment files of one run in write order
+     */
+    public List<Path> getSegments(String runId) throws IOException {
+        return segments().stream().filter(file -> runId.equals(TelemetryJournal.runId(file))).collect(Collectors.toList());
+    }
+
+    /**
+     * Feeds every event journaled by the run to {@code action}; returns the number of events read.
+     */
+    public long forEach(String runId, Consumer<TelemetryEvent> action) throws IOException {
+        long events = 0;
+        TelemetryEvent event = new TelemetryEvent();
+        List<String> symbols = new ArrayList<>();
+        for (Path segment : getSegments(runId)) {
+            events += readSegment(segment, event, symbols, action);
+        }
+        return events;
+    }
+
+    /**
+     * Replays one run into a listener, e.g. to rebuild metrics for a finished run.
+     */
+    public long replay(String runId, TelemetryEventListener listener) throws IOException {
+        long events = forEach(runId, listener::onEvent);
+        listener.onBatchComplete();
+        return events;
+    }
+
+    // sorted by run id, then segment number
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(TelemetryJournal.SEGMENT_SUFFIX))
+                .filter(file -> TelemetryJournal.runId(file) != null)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private long readSegment(Path segment, TelemetryEvent event, List<String> symbols,
+                             Consumer<TelemetryEvent> action) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < TelemetryJournal.HEADER_SIZE || buffer.getInt(0) != TelemetryJournal.MAGIC) {
+            throw new IOException("Not a telemetry journal segment: " + segment);
+        }
+        if (buffer.getInt(4) != TelemetryJournal.VERSION) {
+            throw new IOException("Unsupported journal version " + buffer.getInt(4) + " in " + segment);
+        }
+
+        symbols.clear();
+        long events = 0;
+        int position = TelemetryJournal.HEADER_SIZE;
+        while (position + 12 <= buffer.limit()) {
+            byte type = buffer.get(position);
+            if (type == 0) break;
+
+            if (type == TelemetryJournal.SYMBOL_RECORD) {
+                int length = buffer.getInt(position + 8);
+                if (length < 0 || position + 12 + length > buffer.limit()) {
+                    throw new IOException("Corrupt journal symbol at offset " + position + " in " + segment);
+                }
+                byte[] bytes = new byte[length];
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + 12);
+                view.get(bytes);
+                symbols.add(new String(bytes, StandardCharsets.UTF_8));
+                position = TelemetryJournal.align(position + 12 + length);
+                continue;
+            }
+            if (type < 1 || type > TYPES.length || position + TelemetryJournal.RECORD_SIZE > buffer.limit()) {
+                throw new IOException("Corrupt journal record at offset " + position + " in " + segment);
+            }
+
+            event.clear();
+            event.sequence = -1;
+            event.type = TYPES[type - 1];
+            event.success = buffer.get(position + 1) != 0;
+            event.code = buffer.getInt(position + 4);
+            event.timestampMillis = buffer.getLong(position + 8);
+            event.durationNanos = buffer.getLong(position + 16);
+            event.size = buffer.getLong(position + 24);
+            event.amount = buffer.getDouble(position + 32);
+            event.name = symbol(symbols, buffer.getInt(position + 40));
+            event.feature = symbol(symbols, buffer.getInt(position + 44));
+            event.status = symbol(symbols, buffer.getInt(position + 48));
+            event.detail = symbol(symbols, buffer.getInt(position + 52));
+            event.browser = symbol(symbols, buffer.getInt(position + 56));
+            event.environment = symbol(symbols, buffer.getInt(position + 60));
+            action.accept(event);
+            events++;
+            position += TelemetryJournal.RECORD_SIZE;
+        }
+        return events;
+    }
+
+    private static String symbol(List<String> symbols, int id) {
+        return id == TelemetryJournal.NO_SYMBOL || id >= symbols.size() ? null : symbols.get(id);
+    }
+}
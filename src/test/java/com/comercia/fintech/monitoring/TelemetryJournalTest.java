@@ -0,0 +1,101 @@
+package com.comercia.fintech.monitoring;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TelemetryJournalTest {
+
+    // far above any real pid, so these runs belong to no live process
+    private static final long DEAD_PID = 999_999_991L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keepsOnlyTheNewestRuns() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        segment(directory, "20260101-090000-" + DEAD_PID, 0);
+        segment(directory, "20260101-090000-" + DEAD_PID, 1);
+        segment(directory, "20260102-090000-" + DEAD_PID, 0);
+        segment(directory, "20260103-090000-" + DEAD_PID, 0);
+
+        TelemetryJournal.pruneRuns(directory, 1);
+
+        assertEquals(List.of("20260103-090000-" + DEAD_PID + "-000000.journal"), segments(directory));
+    }
+
+    @Test
+    public void neverPrunesARunWhoseJvmIsAlive() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        long livePid = ProcessHandle.current().parent().map(ProcessHandle::pid).orElseThrow();
+        segment(directory, "20260101-090000-" + livePid, 0);
+        segment(directory, "20260102-090000-" + DEAD_PID, 0);
+        segment(directory, "20260103-090000-" + DEAD_PID, 0);
+
+        TelemetryJournal.pruneRuns(directory, 1);
+
+        assertEquals(List.of("20260101-090000-" + livePid + "-000000.journal",
+            "20260103-090000-" + DEAD_PID + "-000000.journal"), segments(directory));
+    }
+
+    @Test
+    public void newJournalCountsTowardsRetainedRuns() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        segment(directory, "20260101-090000-" + DEAD_PID, 0);
+        segment(directory, "20260102-090000-" + DEAD_PID, 0);
+
+        TelemetryJournal journal = new TelemetryJournal(directory, 1024 * 1024, 1000, 2);
+        journal.onShutdown();
+
+        List<String> remaining = segments(directory);
+        assertEquals(2, remaining.size());
+        assertTrue(remaining.contains("20260102-090000-" + DEAD_PID + "-000000.journal"));
+    }
+
+    @Test
+    public void readerReplaysOneRunAtATime() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        TelemetryJournal journal = new TelemetryJournal(directory, 1024 * 1024, 1000, 0);
+        journal.onEvent(testStart("current"));
+        journal.onShutdown();
+        // an earlier run left in the directory
+        Path current = directory.resolve(journal.getRunId() + "-000000" + TelemetryJournal.SEGMENT_SUFFIX);
+        Files.copy(current, directory.resolve("20260101-090000-" + DEAD_PID + "-000000" + TelemetryJournal.SEGMENT_SUFFIX));
+
+        TelemetryJournalReader reader = new TelemetryJournalReader(directory);
+        List<String> names = new ArrayList<>();
+
+        assertEquals(List.of("20260101-090000-" + DEAD_PID, journal.getRunId()), reader.getRuns());
+        assertEquals(1, reader.forEach(journal.getRunId(), event -> names.add(event.getName())));
+        assertEquals(List.of("current"), names);
+    }
+
+    private static TelemetryEvent testStart(String name) {
+        TelemetryEvent event = new TelemetryEvent();
+        event.type = TelemetryEvent.Type.TEST_START;
+        event.name = name;
+        return event;
+    }
+
+    private static void segment(Path directory, String runId, int number) throws IOException {
+        Files.createFile(directory.resolve(String.format("%s-%06d%s", runId, number, TelemetryJournal.SEGMENT_SUFFIX)));
+    }
+
+    private static List<String> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -1,44 +1,428 @@
-        double utilization = (Double) gauges.getOrDefault("selenium_grid_utilization", 0.0);
-        if (utilization > 0.8) { // 80% threshold
-            sendAlert("GRID_CAPACITY", 
-                "Selenium grid utilization is " + String.format("%.1f%%", utilization * 100));
+package com.comercia.fintech.monitoring;
+
+import com.comercia.fintech.monitoring.alerting.AlertEngine;
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enterprise Test Observability System
+ * Real-time metrics, alerting and business intelligence for test execution
+ */
+public class TestObservabilitySystem {
+    
+    // Metric registry with handles resolved once per (name, labels)
+    private static final MetricRegistry registry =
+        new MetricRegistry(ConfigReader.getIntProperty("metrics.max.series.per.family", 200));
+    
+    private static final MetricFamily<Counter> testsStarted = registry.counterFamily(
+        "tests_started_total", "Test executions started", "feature", "browser", "environment");
+    private static final MetricFamily<Counter> testsPassed = registry.counterFamily(
+        "tests_passed_total", "Test executions passed", "feature");
+    private static final MetricFamily<Counter> testsFailed = registry.counterFamily(
+        "tests_failed_total", "Test executions failed", "feature");
+    private static final MetricFamily<Counter> testErrors = registry.counterFamily(
+        "test_errors_total", "Test failures by error category", "category");
+    private static final MetricFamily<Counter> slaBreaches = registry.counterFamily(
+        "sla_breaches_total", "Test executions exceeding their feature SLA", "feature");
+    private static final MetricFamily<Timer> testDuration = registry.timerFamily(
+        "test_duration_ms", "Test execution duration in milliseconds", "feature");
+    private static final Timer testDurationTotal = registry.timer(
+        "test_duration_all_ms", "Test execution duration across all features in milliseconds");
+    
+    private static final MetricFamily<Counter> apiRequests = registry.counterFamily(
+        "api_requests_total", "API requests by method and status code", "method", "status");
+    private static final Counter apiErrors = registry.counter(
+        "api_errors_total", "API responses with status code >= 400");
+    private static final MetricFamily<Timer> apiResponseTime = registry.timerFamily(
+        "api_response_time_ms", "API response time in milliseconds", "endpoint");
+    private static final Timer apiResponseTimeTotal = registry.timer(
+        "api_response_time_all_ms", "API response time across all endpoints in milliseconds");
+    private static final Gauge apiLastResponseSize = registry.gauge(
+        "api_last_response_size_bytes", "Size of the most recent API response", Gauge.Merge.LAST);
+    
+    private static final Counter pageLoads = registry.counter(
+        "page_loads_total", "UI page loads");
+    private static final Counter pageLoadFailures = registry.counter(
+        "page_load_failures_total", "UI page loads that failed");
+    private static final Timer pageLoadTime = registry.timer(
+        "page_load_time_ms", "UI page load time in milliseconds");
+    private static final MetricFamily<Timer> browserPageTiming = registry.timerFamily(
+        "browser_page_timing_ms", "Navigation and paint timings reported by the browser in milliseconds",
+        "page", "browser", "timing");
+    private static final MetricFamily<Timer> browserResourceTime = registry.timerFamily(
+        "browser_resource_time_ms", "Resource Timing durations reported by the browser in milliseconds",
+        "page", "browser", "initiator");
+    private static final MetricFamily<Counter> browserResourceBytes = registry.counterFamily(
+        "browser_resource_bytes_total", "Bytes transferred for page resources", "page", "browser");
+    
+    private static final MetricFamily<Timer> uiWaitTime = registry.timerFamily(
+        "ui_wait_ms", "Time spent waiting for page elements to become ready in milliseconds", "locator", "outcome");
+    private static final MetricFamily<Timer> uiActionTime = registry.timerFamily(
+        "ui_action_ms", "Time spent interacting with ready page elements in milliseconds", "action");
+    
+    private static final MetricFamily<Counter> pageEntries = registry.counterFamily(
+        "ui_page_entries_total", "Page object entries by a full load (reloaded) or an in-place reset (restored)", "page", "mode");
+    private static final MetricFamily<Counter> elementCacheLookups = registry.counterFamily(
+        "page_element_cache_total", "Page object element references served from cache (hit), looked up (miss) or refreshed after going stale", "result");
+    
+    private static final MetricFamily<Timer> webDriverCommandTime = registry.timerFamily(
+        "webdriver_command_ms", "WebDriver command round-trip time in milliseconds", "command");
+    private static final MetricFamily<Counter> webDriverCommandBytes = registry.counterFamily(
+        "webdriver_command_bytes_total", "WebDriver command payload bytes", "direction");
+    private static final MetricFamily<Distribution> stepRoundTrips = registry.distributionFamily(
+        "webdriver_step_round_trips", "WebDriver round trips per step execution", "step");
+    private static final MetricFamily<Timer> stepCommandTime = registry.timerFamily(
+        "webdriver_step_command_ms", "Time spent in WebDriver round trips per step execution in milliseconds", "step");
+    private static final Counter roundTripBudgetExceeded = registry.counter(
+        "webdriver_round_trip_budget_exceeded_total", "Scenarios that issued more WebDriver round trips than their budget");
+    
+    private static final MetricFamily<Counter> businessTransactions = registry.counterFamily(
+        "business_transactions_total", "Business transactions by type and status", "type", "status");
+    private static final MetricFamily<Gauge> businessLastAmount = registry.gaugeFamily(
+        "business_last_transaction_amount", "Amount of the most recent business transaction", Gauge.Merge.LAST, "currency");
+    
+    private static final Gauge activeTestsGauge = registry.gauge(
+        "active_tests", "Tests currently executing");
+    private static final Gauge gridTotalNodes = registry.gauge(
+        "selenium_grid_total_nodes", "Selenium Grid nodes", Gauge.Merge.MAX);
+    private static final Gauge gridBusyNodes = registry.gauge(
+        "selenium_grid_busy_nodes", "Selenium Grid nodes running a session", Gauge.Merge.MAX);
+    private static final Gauge gridAvailableNodes = registry.gauge(
+        "selenium_grid_available_nodes", "Selenium Grid nodes free for a new session", Gauge.Merge.MAX);
+    private static final Gauge gridUtilization = registry.gauge(
+        "selenium_grid_utilization", "Busy / total Selenium Grid nodes", Gauge.Merge.MAX);
+    
+    // Sliding windows so alerts and the dashboard reflect recent behaviour, not the whole run
+    public static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    public static final Duration FIVE_MINUTES = Duration.ofMinutes(5);
+    public static final Duration FIFTEEN_MINUTES = Duration.ofMinutes(15);
+    private static final Duration COUNTER_BUCKET = Duration.ofSeconds(5);
+    private static final Duration HISTOGRAM_BUCKET = Duration.ofSeconds(30);
+    
+    private static final OutcomeWindow recentOutcomes = new OutcomeWindow();
+    private static final Map<String, OutcomeWindow> recentOutcomesByFeature = new ConcurrentHashMap<>();
+    private static final RollingHistogram recentTestDuration = new RollingHistogram(FIFTEEN_MINUTES, HISTOGRAM_BUCKET);
+    private static final RollingHistogram recentApiResponseTime = new RollingHistogram(FIFTEEN_MINUTES, HISTOGRAM_BUCKET);
+    
+    // Execution state
+    private static final AtomicInteger activeTests = new AtomicInteger(0);
+    private static final AtomicInteger queuedTests = new AtomicInteger(0);
+    private static final AtomicInteger availableNodes = new AtomicInteger(0);
+    private static final Map<String, LocalDateTime> businessProcessTimers = new ConcurrentHashMap<>();
+    
+    // Run totals maintained as events arrive so the dashboard never sums label series
+    private static final LongAdder passedTotal = new LongAdder();
+    private static final LongAdder failedTotal = new LongAdder();
+    private static final LongAdder slaBreachesTotal = new LongAdder();
+    private static final LongAdder businessTransactionsTotal = new LongAdder();
+    
+    // Published by refreshDashboard() with a single volatile write; readers never lock
+    private static final long DASHBOARD_WINDOW_REFRESH_MILLIS =
+        ConfigReader.getIntProperty("dashboard.window.refresh.millis", 1000);
+    private static volatile DashboardSnapshot dashboard = DashboardSnapshot.EMPTY;
+    private static long dashboardVersion;
+    private static long windowsRefreshedAt;
+    
+    private static final List<String> CRITICAL_PATH_FEATURES = Arrays.asList("payment", "authentication", "checkout");
+    private static final double DEFAULT_SLA_THRESHOLD_MS = 5000.0;
+    private static final Map<String, Double> slaThresholds = new ConcurrentHashMap<>();
+    private static final String[] STATUS_CODE_LABELS = new String[600];
+    
+    static {
+        for (int code = 0; code < STATUS_CODE_LABELS.length; code++) {
+            STATUS_CODE_LABELS[code] = Integer.toString(code);
         }
+        // while nothing is drained windowed values still have to age out; readers never refresh
+        ScheduledExecutorService dashboardRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dashboardRefresher.scheduleWithFixedDelay(TestObservabilitySystem::refreshDashboardIfIdle,
+            DASHBOARD_WINDOW_REFRESH_MILLIS, DASHBOARD_WINDOW_REFRESH_MILLIS, TimeUnit.MILLISECONDS);
     }
     
-    // Utility methods
-    private static void incrementCounter(String key) {
-        counters.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+    /**
+     * Record the start of a test execution
+     */
+    public static void recordTestStart(String testName, String feature, String browser, String environment) {
+        activeTests.incrementAndGet();
+        businessProcessTimers.put(testName, LocalDateTime.now());
+        
+        testsStarted.labels(feature, browser, environment).inc();
+        activeTestsGauge.inc();
     }
     
-    private static void recordTiming(String key, Duration duration) {
-        timings.computeIfAbsent(key, k -> new ArrayList<>()).add(duration);
+    /**
+     * Record the completion of a test execution
+     */
+    public static void recordTestCompletion(String testName, String feature, String result, 
+                                           Duration duration, String errorMessage) {
+        activeTests.decrementAndGet();
+        businessProcessTimers.remove(testName);
+        
+        testDurationTotal.record(duration);
+        testDuration.labels(feature).record(duration);
+        recentTestDuration.record(duration);
+        
+        boolean passed = "PASSED".equalsIgnoreCase(result);
+        recentOutcomes.record(passed);
+        outcomeWindowFor(feature).record(passed);
+        
+        if (passed) {
+            testsPassed.labels(feature).inc();
+            passedTotal.increment();
+        } else {
+            testsFailed.labels(feature).inc();
+            failedTotal.increment();
+            testErrors.labels(categorizeError(errorMessage)).inc();
+        }
+        
+        updateSLAMetrics(feature, duration);
+        activeTestsGauge.dec();
     }
     
-    private static void recordGauge(String key, Object value) {
-        gauges.put(key, value);
+    /**
+     * Record API response metrics
+     */
+    public static void recordApiResponse(String endpoint, String method, int statusCode, 
+                                        long responseTime, long responseSize) {
+        apiRequests.labels(method, statusCodeLabel(statusCode)).inc();
+        
+        if (statusCode >= 400) {
+            apiErrors.inc();
+        }
+        
+        apiResponseTimeTotal.recordMillis(responseTime);
+        apiResponseTime.labels(endpoint).recordMillis(responseTime);
+        recentApiResponseTime.recordMillis(responseTime);
+        apiLastResponseSize.set(responseSize);
     }
     
-    private static long getCounterValue(String key) {
-        return counters.getOrDefault(key, new AtomicLong(0)).get();
+    /**
+     * Record UI page load metrics
+     */
+    public static void recordPageLoad(String pageUrl, Duration loadTime, boolean success) {
+        pageLoads.inc();
+        
+        if (success) {
+            pageLoadTime.record(loadTime);
+        } else {
+            pageLoadFailures.inc();
+        }
     }
     
-    private static AtomicLong getFeatureCounter(String feature) {
-        return featureCounters.computeIfAbsent(feature, f -> new AtomicLong(0));
+    /**
+     * Record how long an element took to become ready (outcome "ready") or how long was waited in vain ("timeout")
+     */
+    public static void recordUiWait(String locator, Duration waited, boolean ready) {
+        uiWaitTime.labels(locator, ready ? "ready" : "timeout").record(waited);
     }
     
-    private static double calculateAverageTime(String key) {
-        List<Duration> times = timings.get(key);
-        if (times == null || times.isEmpty()) return 0.0;
+    /**
+     * Record a UI interaction (type, click, select...) excluding the wait before it
+     */
+    public static void recordUiAction(String action, Duration duration) {
+        uiActionTime.labels(action).record(duration);
+    }
+    
+    public static void recordPageEntry(String page, String mode) {
+        pageEntries.labels(page, mode).inc();
+    }
+    
+    public static void recordElementCacheLookup(String result) {
+        elementCacheLookups.labels(result).inc();
+    }
+    
+    /**
+     * Record a browser-reported page timing (ttfb, dom_content_loaded, load, first_contentful_paint)
+     */
+    public static void recordPageTiming(String page, String browser, String timing, Duration value) {
+        browserPageTiming.labels(page, browser, timing).record(value);
+    }
+    
+    /**
+     * Record one Resource Timing entry; initiator is the entry's initiatorType (script, fetch, img...)
+     */
+    public static void recordResourceTiming(String page, String browser, String initiator, Duration duration, long bytes) {
+        browserResourceTime.labels(page, browser, initiator).record(duration);
+        browserResourceBytes.labels(page, browser).add(bytes);
+    }
+    
+    /**
+     * Record one WebDriver HTTP round trip (command is e.g. "POST /element/{id}/click")
+     */
+    public static void recordWebDriverCommand(String command, Duration latency, long requestBytes, long responseBytes) {
+        webDriverCommandTime.labels(command).record(latency);
+        webDriverCommandBytes.labels("sent").add(requestBytes);
+        webDriverCommandBytes.labels("received").add(responseBytes);
+    }
+    
+    /**
+     * Record the WebDriver round trips one Cucumber step execution issued
+     */
+    public static void recordStepWebDriverCommands(String step, int roundTrips, Duration commandTime) {
+        stepRoundTrips.labels(step).observe(roundTrips);
+        stepCommandTime.labels(step).record(commandTime);
+    }
+    
+    public static void recordRoundTripBudgetExceeded() {
+        roundTripBudgetExceeded.inc();
+    }
+    
+    /**
+     * Record business transaction metrics
+     */
+    public static void recordBusinessTransaction(String transactionType, String status, 
+                                                double amount, String currency) {
+        businessTransactions.labels(transactionType, status).inc();
+        businessTransactionsTotal.increment();
+        businessLastAmount.labels(currency).set(amount);
+    }
+    
+    /**
+     * Update Selenium Grid capacity metrics
+     */
+    public static void updateSeleniumGridStatus(int totalNodes, int busyNodes, int freeNodes) {
+        availableNodes.set(freeNodes);
         
-        return times.stream()
-            .mapToLong(Duration::toMillis)
-            .average()
-            .orElse(0.0);
+        gridTotalNodes.set(totalNodes);
+        gridBusyNodes.set(busyNodes);
+        gridAvailableNodes.set(freeNodes);
+        gridUtilization.set(totalNodes > 0 ? (double) busyNodes / totalNodes : 0.0);
+    }
+    
+    /**
+     * Shared registry so other components can pre-register their own handles
+     */
+    public static MetricRegistry getMetricRegistry() {
+        return registry;
+    }
+    
+    /**
+     * Real-time dashboard data (unmodifiable view of the latest snapshot)
+     */
+    public static Map<String, Object> getRealTimeDashboard() {
+        return getDashboardSnapshot().asMap();
+    }
+    
+    /**
+     * Latest published dashboard snapshot: refreshed by the event pipeline after each drained
+     * batch and by a background task while nothing is drained, so reading it never locks.
+     */
+    public static DashboardSnapshot getDashboardSnapshot() {
+        return dashboard;
+    }
+    
+    /**
+     * Rebuilds the dashboard snapshot and publishes it. Called by the event pipeline after each
+     * drained batch; counter-derived values are O(1), windowed values are recomputed at most
+     * every dashboard.window.refresh.millis and carried over in between.
+     */
+    static synchronized void refreshDashboard() {
+        long now = System.currentTimeMillis();
+        DashboardSnapshot previous = dashboard;
+        boolean refreshWindows = previous == DashboardSnapshot.EMPTY
+            || now - windowsRefreshedAt >= DASHBOARD_WINDOW_REFRESH_MILLIS;
+        
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("activeTests", activeTests.get());
+        values.put("queuedTests", queuedTests.get());
+        values.put("availableNodes", availableNodes.get());
+        values.put("passRateToday", calculatePassRate());
+        if (refreshWindows) {
+            values.put("passRateLast1m", recentOutcomes.passRate(ONE_MINUTE));
+            values.put("passRateLast5m", recentOutcomes.passRate(FIVE_MINUTES));
+            values.put("passRateLast15m", recentOutcomes.passRate(FIFTEEN_MINUTES));
+        } else {
+            values.put("passRateLast1m", previous.get("passRateLast1m"));
+            values.put("passRateLast5m", previous.get("passRateLast5m"));
+            values.put("passRateLast15m", previous.get("passRateLast15m"));
+        }
+        values.put("averageTestDuration", testDurationTotal.getHistogram().getMeanMillis());
+        if (refreshWindows) {
+            values.put("p95TestDurationLast5m", recentTestDuration.getValueAtPercentileMillis(FIVE_MINUTES, 95));
+            values.put("p95ApiResponseTimeLast5m", recentApiResponseTime.getValueAtPercentileMillis(FIVE_MINUTES, 95));
+        } else {
+            values.put("p95TestDurationLast5m", previous.get("p95TestDurationLast5m"));
+            values.put("p95ApiResponseTimeLast5m", previous.get("p95ApiResponseTimeLast5m"));
+        }
+        values.put("seleniumGridUtilization", gridUtilization.get());
+        values.put("criticalPathStatus", refreshWindows ? getCriticalPathStatus() : previous.get("criticalPathStatus"));
+        values.put("slaBreachesToday", slaBreachesTotal.sum());
+        values.put("revenueImpact", calculateRevenueImpact());
+        values.put("activeAlerts", AlertEngine.getInstance().getActiveAlerts());
+        
+        if (refreshWindows) {
+            windowsRefreshedAt = now;
+        }
+        dashboard = new DashboardSnapshot(++dashboardVersion, now, values);
+    }
+    
+    private static void refreshDashboardIfIdle() {
+        try {
+            if (System.currentTimeMillis() - dashboard.getTimestampMillis() >= DASHBOARD_WINDOW_REFRESH_MILLIS) {
+                refreshDashboard();
+            }
+        } catch (RuntimeException e) {
+            // a failed refresh must not cancel the schedule
+            System.err.println("Failed to refresh dashboard: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Re-evaluate all windowed alert rules now. Rules are otherwise evaluated incrementally
+     * as events are drained; see alert.rules in config.properties.
+     */
+    public static void checkAlertConditions() {
+        AlertEngine.getInstance().evaluateAll();
+    }
+    
+    /**
+     * SLA for a feature from sla.threshold.ms.&lt;feature&gt; in config.properties (default 5000ms)
+     */
+    public static double getSlaThresholdMillis(String feature) {
+        String key = feature == null ? MetricFamily.UNKNOWN_LABEL_VALUE : feature.toLowerCase();
+        Double threshold = slaThresholds.get(key);
+        if (threshold == null) {
+            threshold = slaThresholds.computeIfAbsent(key, k ->
+                Double.parseDouble(ConfigReader.getProperty("sla.threshold.ms." + k, String.valueOf(DEFAULT_SLA_THRESHOLD_MS))));
+        }
+        return threshold;
+    }
+    
+    // Utility methods
+    private static String statusCodeLabel(int statusCode) {
+        return statusCode >= 0 && statusCode < STATUS_CODE_LABELS.length
+            ? STATUS_CODE_LABELS[statusCode] : Integer.toString(statusCode);
+    }
+    
+    private static OutcomeWindow outcomeWindowFor(String feature) {
+        String key = feature == null ? MetricFamily.UNKNOWN_LABEL_VALUE : feature.toLowerCase();
+        OutcomeWindow window = recentOutcomesByFeature.get(key);
+        return window != null ? window : recentOutcomesByFeature.computeIfAbsent(key, k -> new OutcomeWindow());
     }
     
     private static double calculatePassRate() {
-        long passed = getCounterValue("tests_passed_total");
-        long failed = getCounterValue("tests_failed_total");
+        long passed = passedTotal.sum();
+        long failed = failedTotal.sum();
         long total = passed + failed;
         
         return total > 0 ? (double) passed / total : 1.0;
@@ -49,36 +433,15 @@
     }
     
     private static void updateSLAMetrics(String feature, Duration duration) {
-        double slaThreshold = getSLAThreshold(feature);
+        double slaThreshold = getSlaThresholdMillis(feature);
         boolean slaBreached = duration.toMillis() > slaThreshold;
         
         if (slaBreached) {
-            incrementCounter("sla_breaches_total");
-            incrementCounter("sla_breaches_" + feature);
+            slaBreaches.labels(feature).inc();
+            slaBreachesTotal.increment();
         }
     }
     
-    private static boolean isCriticalPath(String feature) {
-        return Arrays.asList("payment", "authentication", "checkout", "transaction")
-            .contains(feature.toLowerCase());
-    }
-    
-    private static void sendCriticalPathAlert(String testName, String feature, String error) {
-        String message = String.format("🚨 CRITICAL PATH FAILURE\nTest: %s\nFeature: %s\nError: %s\nTime: %s", 
-            testName, feature, error, LocalDateTime.now());
-        
-        System.err.println(message);
-        
-        // TODO: Integrate with real alerting systems
-        // sendSlackAlert(message);
-        // sendPagerDutyAlert(message);
-    }
-    
-    private static void sendAlert(String alertType, String message) {
-        System.out.println("🚨 ALERT [" + alertType + "]: " + message);
-        // TODO: Implement actual alerting mechanism
-    }
-    
     private static String categorizeError(String errorMessage) {
         if (errorMessage == null) return "unknown";
         
@@ -92,13 +455,11 @@
     
     private static Map<String, String> getCriticalPathStatus() {
         Map<String, String> status = new HashMap<>();
-        for (String feature : Arrays.asList("payment", "authentication", "checkout")) {
-            long passed = getCounterValue("tests_passed_" + feature);
-            long failed = getCounterValue("tests_failed_" + feature);
-            long total = passed + failed;
+        for (String feature : CRITICAL_PATH_FEATURES) {
+            OutcomeWindow window = recentOutcomesByFeature.get(feature);
             
-            if (total > 0) {
-                double rate = (double) passed / total;
+            if (window != null && window.total(FIFTEEN_MINUTES) > 0) {
+                double rate = window.passRate(FIFTEEN_MINUTES);
                 status.put(feature, rate > 0.95 ? "HEALTHY" : rate > 0.8 ? "WARNING" : "CRITICAL");
             } else {
                 status.put(feature, "NO_DATA");
@@ -111,89 +472,111 @@
         // Simplified revenue impact calculation
         double failureRate = calculateFailureRate();
         double avgTransactionValue = 100.0; // Mock value
-        long totalTransactions = getCounterValue("business_transactions_total");
+        long totalTransactions = businessTransactionsTotal.sum();
         
         return failureRate * avgTransactionValue * totalTransactions;
     }
     
-    private static double getSLAThreshold(String feature) {
-        Map<String, Double> thresholds = Map.of(
-            "payment", 5000.0,
-            "authentication", 2000.0,
-            "checkout", 3000.0,
-            "api", 1000.0
-        );
-        return thresholds.getOrDefault(feature.toLowerCase(), 5000.0);
-    }
-    
     // Metrics export for Prometheus
     public static String exportMetrics() {
-        StringBuilder metrics = new StringBuilder();
-        
-        // Export counters
-        counters.forEach((key, value) -> {
-            metrics.append("# TYPE ").append(key).append(" counter\n");
-            metrics.append(key).append(" ").append(value.get()).append("\n");
-        });
-        
-        // Export gauges
-        gauges.forEach((key, value) -> {
-            metrics.append("# TYPE ").append(key).append(" gauge\n");
-            metrics.append(key).append(" ").append(value).append("\n");
-        });
-        
-        // Export timing summaries
-        timings.forEach((key, durations) -> {
-            if (!durations.isEmpty()) {
-                double avg = durations.stream().mapToLong(Duration::toMillis).average().orElse(0.0);
-                metrics.append("# TYPE ").append(key).append("_avg gauge\n");
-                metrics.append(key).append("_avg ").append(avg).append("\n");
-            }
-        });
-        
+        StringWriter metrics = new StringWriter();
+        try {
+            writeMetrics(metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export metrics", e);
+        }
         return metrics.toString();
     }
     
+    /**
+     * Streams the current metrics in Prometheus text format without building the whole payload first
+     */
+    public static void writeMetrics(Writer out) throws IOException {
+        registry.writeTo(out);
+    }
+    
     // Reset metrics (for testing)
     public static void reset() {
-        counters.clear();
-        timings.clear();
-        gauges.clear();
+        registry.reset();
         activeTests.set(0);
         queuedTests.set(0);
         availableNodes.set(0);
-        featureCounters.clear();
         businessProcessTimers.clear();
+        recentOutcomes.reset();
+        recentOutcomesByFeature.clear();
+        recentTestDuration.reset();
+        recentApiResponseTime.reset();
+        passedTotal.reset();
+        failedTotal.reset();
+        slaBreachesTotal.reset();
+        businessTransactionsTotal.reset();
+        AlertEngine.getInstance().reset();
+        synchronized (TestObservabilitySystem.class) {
+            dashboard = DashboardSnapshot.EMPTY;
+        }
+        refreshDashboard();
     }
     
     // Get all metrics for reporting
     public static Map<String, Object> getAllMetrics() {
-        Map<String, Object> allMetrics = new HashMap<>();
-        allMetrics.put("counters", new HashMap<>(counters));
-        allMetrics.put("gauges", new HashMap<>(gauges));
-        allMetrics.put("timings", calculateTimingSummaries());
-        return allMetrics;
-    }
-    
-    private static Map<String, Map<String, Double>> calculateTimingSummaries() {
-        Map<String, Map<String, Double>> summaries = new HashMap<>();
-        
-        timings.forEach((key, durations) -> {
-            if (!durations.isEmpty()) {
-                Map<String, Double> summary = new HashMap<>();
-                List<Long> times = durations.stream().mapToLong(Duration::toMillis).sorted().boxed().toList();
-                
-                summary.put("min", (double) times.get(0));
-                summary.put("max", (double) times.get(times.size() - 1));
-                summary.put("avg", times.stream().mapToDouble(Long::doubleValue).average().orElse(0.0));
-                summary.put("p50", (double) times.get(times.size() / 2));
-                summary.put("p95", (double) times.get((int) (times.size() * 0.95)));
-                summary.put("p99", (double) times.get((int) (times.size() * 0.99)));
-                
-                summaries.put(key, summary);
-            }
-        });
+        return MetricSnapshot.capture(registry, "local").toMetricsMap();
+    }
+    
+    /**
+     * Metrics merged across every forked/containerised test JVM (see metrics.aggregation.*).
+     * Falls back to this JVM's metrics when aggregation is off or another fork collects.
+     */
+    public static MetricSnapshot getGlobalSnapshot() throws IOException {
+        MetricSnapshotCollector collector = MetricSnapshotPublisher.getCollector();
+        if (collector == null) {
+            return MetricSnapshot.capture(registry, "local");
+        }
+        MetricSnapshotPublisher.publishNow();
+        return collector.collect();
+    }
+    
+    public static String exportGlobalMetrics() {
+        StringWriter metrics = new StringWriter();
+        try {
+            getGlobalSnapshot().writeTo(metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export global metrics", e);
+        }
+        return metrics.toString();
+    }
+    
+    public static Map<String, Object> getGlobalMetrics() {
+        try {
+            return getGlobalSnapshot().toMetricsMap();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to collect global metrics", e);
+        }
+    }
+    
+    /**
+     * Passed/failed counts over a sliding window
+     */
+    private static class OutcomeWindow {
+        private final RollingCounter passed = new RollingCounter(FIFTEEN_MINUTES, COUNTER_BUCKET);
+        private final RollingCounter failed = new RollingCounter(FIFTEEN_MINUTES, COUNTER_BUCKET);
         
-        return summaries;
+        void record(boolean success) {
+            (success ? passed : failed).inc();
+        }
+        
+        long total(Duration window) {
+            return passed.sum(window) + failed.sum(window);
+        }
+        
+        double passRate(Duration window) {
+            long passedCount = passed.sum(window);
+            long total = passedCount + failed.sum(window);
+            return total > 0 ? (double) passedCount / total : 1.0;
+        }
+        
+        void reset() {
+            passed.reset();
+            failed.reset();
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.comercia.fintech.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+
+/**
+ * Timer handle over a LatencyHistogram, exposed as a Prometheus summary in milliseconds.
+ */
+public class Timer implements Metric {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String[] QUANTILE_LABELS = {"quantile=\"0.5\"", "quantile=\"0.95\"", "quantile=\"0.99\""};
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public void record(Duration duration) {
+        histogram.record(duration);
+    }
+
+    public void recordMillis(long millis) {
+        histogram.recordMillis(millis);
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public void writeSamples(Writer out, String name, String labels) throws IOException {
+        String separator = labels.isEmpty() ? "" : ",";
+        for (int i = 0; i < QUANTILES.length; i++) {
+            MetricFamily.writeSample(out, name, labels + separator + QUANTILE_LABELS[i],
+                Double.toString(histogram.getValueAtPercentileMillis(QUANTILES[i] * 100)));
+        }
+        MetricFamily.writeSample(out, name + "_sum", labels, Double.toString(histogram.getSumMillis()));
+        MetricFamily.writeSample(out, name + "_count", labels, Long.toString(histogram.getCount()));
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,199 @@
+package com.comercia.fintech.monitoring;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Measures every WebDriver HTTP round trip (command, latency, request and response bytes) at the
+ * client's HTTP layer, so one entry is one real remote call no matter which Selenium API issued it.
+ * Commands are recorded into TestObservabilitySystem and, when the calling thread is running a
+ * scenario (see {@link RoundTripBudgetPlugin}), attributed to the current Cucumber step.
+ */
+public final class WebDriverCommandRecorder {
+
+    private static final Pattern SESSION_PREFIX = Pattern.compile("^/session/[^/]+");
+    // element and shadow root ids in command paths (/element/active is a command, not an id)
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(element|shadow)/(?!active(?:/|$))[^/]+");
+
+    private static final ThreadLocal<ScenarioCommands> current = new ThreadLocal<>();
+    private static final Filter FILTER = next -> request -> {
+        long start = System.nanoTime();
+        HttpResponse response = null;
+        try {
+            response = next.execute(request);
+            return response;
+        } finally {
+            record(request, response, System.nanoTime() - start);
+        }
+    };
+
+    private WebDriverCommandRecorder() {
+    }
+
+    /**
+     * HTTP filter to install on the driver's ClientConfig.
+     */
+    public static Filter filter() {
+        return FILTER;
+    }
+
+    /**
+     * Command label without session or element ids, e.g. "POST /element/{id}/click".
+     */
+    static String commandName(HttpRequest request) {
+        String path = request.getUri();
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+        if ("/session".equals(path) || SESSION_PREFIX.matcher(path).replaceFirst("").isEmpty()) {
+            return request.getMethod() + " /session";
+        }
+        path = SESSION_PREFIX.matcher(path).replaceFirst("");
+        return request.getMethod() + " " + ID_SEGMENT.matcher(path).replaceAll("/$1/{id}");
+    }
+
+    private static void record(HttpRequest request, HttpResponse response, long nanos) {
+        String command = commandName(request);
+        long sent = length(request.getContent());
+        long received = response != null ? length(response.getContent()) : 0;
+        Duration latency = Duration.ofNanos(nanos);
+        TestObservabilitySystem.recordWebDriverCommand(command, latency, sent, received);
+
+        ScenarioCommands scenario = current.get();
+        if (scenario != null) {
+            scenario.record(command, nanos, sent, received);
+        }
+    }
+
+    private static long length(Contents.Supplier content) {
+        try {
+            return content != null ? content.length() : 0;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // --- Scenario/step attribution (driven by RoundTripBudgetPlugin on the scenario thread) ---
+
+    static ScenarioCommands startScenario(String name) {
+        ScenarioCommands scenario = new ScenarioCommands(name);
+        current.set(scenario);
+        return scenario;
+    }
+
+    static ScenarioCommands finishScenario() {
+        ScenarioCommands scenario = current.get();
+        current.remove();
+        return scenario;
+    }
+
+    static ScenarioCommands currentScenario() {
+        return current.get();
+    }
+
+    /**
+     * Round trips of one scenario, grouped by step in execution order.
+     */
+    static class ScenarioCommands {
+        private final String name;
+        private final List<StepCommands> steps = new ArrayList<>();
+        private StepCommands step;
+
+        ScenarioCommands(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        void startStep(String label) {
+            step = new StepCommands(label);
+            steps.add(step);
+        }
+
+        StepCommands finishStep() {
+            StepCommands finished = step;
+            step = null;
+            return finished;
+        }
+
+        List<StepCommands> getSteps() {
+            return Collections.unmodifiableList(steps);
+        }
+
+        int getRoundTrips() {
+            int total = 0;
+            for (StepCommands each : steps) total += each.roundTrips;
+            return total;
+        }
+
+        long getCommandNanos() {
+            long total = 0;
+            for (StepCommands each : steps) total += each.nanos;
+            return total;
+        }
+
+        private void record(String command, long nanos, long sent, long received) {
+            if (step == null) {
+                // commands between steps (e.g. a plugin) still count towards the scenario
+                startStep("(between steps)");
+            }
+            step.record(command, nanos, sent, received);
+        }
+    }
+
+    static class StepCommands {
+        private final String label;
+        private final Map<String, Integer> byCommand = new LinkedHashMap<>();
+        private int roundTrips;
+        private long nanos;
+        private long bytesSent;
+        private long bytesReceived;
+
+        StepCommands(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        int getRoundTrips() {
+            return roundTrips;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+
+        long getBytesSent() {
+            return bytesSent;
+        }
+
+        long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        Map<String, Integer> getByCommand() {
+            return byCommand;
+        }
+
+        private void record(String command, long commandNanos, long sent, long received) {
+            roundTrips++;
+            nanos += commandNanos;
+            bytesSent += sent;
+            bytesReceived += received;
+            byCommand.merge(command, 1, Integer::sum);
+        }
+    }
+}
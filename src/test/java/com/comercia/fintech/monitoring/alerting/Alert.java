@@ -0,0 +1,48 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import java.time.Instant;
+
+/**
+ * A single alert notification produced by an AlertRule. Immutable so it can be queued
+ * and retried by sinks on other threads.
+ */
+public class Alert {
+
+    public enum State { FIRING, RESOLVED }
+
+    private final String rule;
+    private final String key;
+    private final AlertRule.Severity severity;
+    private final State state;
+    private final String message;
+    private final double value;
+    private final double threshold;
+    private final Instant timestamp;
+
+    Alert(String rule, String key, AlertRule.Severity severity, State state,
+          String message, double value, double threshold, Instant timestamp) {
+        this.rule = rule;
+        this.key = key;
+        this.severity = severity;
+        this.state = state;
+        this.message = message;
+        this.value = value;
+        this.threshold = threshold;
+        this.timestamp = timestamp;
+    }
+
+    public String getRule() { return rule; }
+    public String getKey() { return key; }
+    public AlertRule.Severity getSeverity() { return severity; }
+    public State getState() { return state; }
+    public String getMessage() { return message; }
+    public double getValue() { return value; }
+    public double getThreshold() { return threshold; }
+    public Instant getTimestamp() { return timestamp; }
+
+    @Override
+    public String toString() {
+        return "[" + severity + "][" + key + "] "
+            + (state == State.RESOLVED ? "RESOLVED: " : "") + message;
+    }
+}
@@ -0,0 +1,214 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import com.comercia.fintech.monitoring.Counter;
+import com.comercia.fintech.monitoring.MetricFamily;
+import com.comercia.fintech.monitoring.TelemetryEvent;
+import com.comercia.fintech.monitoring.TelemetryEventListener;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Evaluates AlertRules incrementally as telemetry events are drained by the observability
+ * pipeline. Each event only touches the rules interested in it; windowed rules are
+ * re-evaluated once per batch, and only if they saw a relevant event. A rule that keeps
+ * breaching notifies once per cooldown period instead of once per test, and sends a
+ * RESOLVED notification when it clears; breaching again after that notifies immediately.
+ */
+public class AlertEngine implements TelemetryEventListener {
+
+    private static final long SHUTDOWN_FLUSH_MILLIS = 5000;
+
+    private static final MetricFamily<Counter> notifications = TestObservabilitySystem.getMetricRegistry().counterFamily(
+        "alerts_total", "Alert notifications by rule and state", "rule", "state");
+    private static final MetricFamily<Counter> suppressed = TestObservabilitySystem.getMetricRegistry().counterFamily(
+        "alerts_suppressed_total", "Repeat firings suppressed by the rule cooldown", "rule");
+
+    private static final AlertEngine instance = fromConfig();
+
+    private final List<AlertRule> rules;
+    private final List<AsyncAlertSink> sinks = new CopyOnWriteArrayList<>();
+    private final Set<AlertRule> dirtyRules = new LinkedHashSet<>();
+    private final Map<String, FiringState> states = new HashMap<>();
+
+    public AlertEngine(List<AlertRule> rules) {
+        this.rules = new ArrayList<>(rules);
+    }
+
+    public static AlertEngine getInstance() {
+        return instance;
+    }
+
+    private static AlertEngine fromConfig() {
+        List<AlertRule> rules = new ArrayList<>();
+        for (String name : ConfigReader.getListProperty("alert.rules")) {
+            try {
+                rules.add(AlertRule.fromConfig(name));
+            } catch (RuntimeException e) {
+                System.err.println("Skipping invalid alert rule '" + name + "': " + e.getMessage());
+            }
+        }
+        AlertEngine engine = new AlertEngine(rules);
+
+        int capacity = ConfigReader.getIntProperty("alert.sink.queue.capacity", 1000);
+        int batchSize = ConfigReader.getIntProperty("alert.sink.batch.size", 20);
+        Duration flushInterval = Duration.ofMillis(ConfigReader.getIntProperty("alert.sink.flush.millis", 1000));
+        int attempts = ConfigReader.getIntProperty("alert.sink.retry.attempts", 3);
+        Duration backoff = Duration.ofMillis(ConfigReader.getIntProperty("alert.sink.retry.backoff.millis", 500));
+
+        if (ConfigReader.getBooleanProperty("alert.sink.console.enabled", true)) {
+            engine.addSink(new AsyncAlertSink(new ConsoleAlertSink(), capacity, batchSize, flushInterval, attempts, backoff));
+        }
+        String webhookUrl = ConfigReader.getProperty("alert.sink.webhook.url", "").trim();
+        if (!webhookUrl.isEmpty()) {
+            Duration timeout = Duration.ofMillis(ConfigReader.getIntProperty("alert.sink.webhook.timeout.millis", 5000));
+            engine.addSink(new AsyncAlertSink(new WebhookAlertSink(webhookUrl, timeout), capacity, batchSize, flushInterval, attempts, backoff));
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(engine::close, "alert-sink-flush"));
+        System.out.println("Alert engine loaded " + rules.size() + " rules and " + engine.sinks.size() + " sinks");
+        return engine;
+    }
+
+    public void addSink(AsyncAlertSink sink) {
+        sinks.add(sink);
+    }
+
+    public List<AlertRule> getRules() {
+        return rules;
+    }
+
+    // --- Incremental evaluation (aggregator thread) ---
+
+    @Override
+    public synchronized void onEvent(TelemetryEvent event) {
+        for (AlertRule rule : rules) {
+            if (!rule.accept(event)) continue;
+
+            if (rule.isPerEvent()) {
+                String key = rule.getName() + ":" + event.getFeature();
+                fire(rule, key, rule.describe(event), 1.0);
+            } else {
+                dirtyRules.add(rule);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onBatchComplete() {
+        if (dirtyRules.isEmpty()) return;
+        for (AlertRule rule : dirtyRules) {
+            evaluate(rule);
+        }
+        dirtyRules.clear();
+    }
+
+    /**
+     * Re-evaluates every windowed rule, e.g. so a firing rule can resolve once its window
+     * has drained even though no new events arrived.
+     */
+    public synchronized void evaluateAll() {
+        for (AlertRule rule : rules) {
+            if (!rule.isPerEvent()) {
+                evaluate(rule);
+            }
+        }
+        dirtyRules.clear();
+    }
+
+    /**
+     * Keys of the alerts currently firing
+     */
+    public synchronized List<String> getActiveAlerts() {
+        List<String> active = new ArrayList<>();
+        states.forEach((key, state) -> {
+            if (state.firing) active.add(key);
+        });
+        return active;
+    }
+
+    public synchronized void reset() {
+        for (AlertRule rule : rules) {
+            rule.reset();
+        }
+        dirtyRules.clear();
+        states.clear();
+    }
+
+    public void close() {
+        for (AsyncAlertSink sink : sinks) {
+            sink.close(Duration.ofMillis(SHUTDOWN_FLUSH_MILLIS));
+        }
+    }
+
+    // --- Firing, debouncing and resolution ---
+
+    private void evaluate(AlertRule rule) {
+        if (!rule.hasEnoughData()) {
+            resolve(rule, rule.getName(), "Not enough recent data to evaluate; treating as resolved", Double.NaN);
+            return;
+        }
+        double value = rule.currentValue();
+        if (value > rule.getThreshold()) {
+            fire(rule, rule.getName(), rule.describe(value), value);
+        } else {
+            resolve(rule, rule.getName(), rule.describe(value), value);
+        }
+    }
+
+    private void fire(AlertRule rule, String key, String message, double value) {
+        long now = System.currentTimeMillis();
+        FiringState state = states.computeIfAbsent(key, k -> new FiringState());
+        boolean cooledDown = now - state.lastNotifiedMillis >= rule.getCooldown().toMillis();
+        // a windowed rule going from resolved to firing always notifies, otherwise receivers
+        // would be left on RESOLVED; the cooldown only throttles repeats while still firing
+        boolean newlyFiring = !rule.isPerEvent() && !state.firing;
+        state.firing = !rule.isPerEvent();
+
+        if (!newlyFiring && !cooledDown) {
+            state.suppressedSinceNotified++;
+            suppressed.labels(rule.getName()).inc();
+            return;
+        }
+        if (state.suppressedSinceNotified > 0) {
+            message += " (" + state.suppressedSinceNotified + " repeats suppressed)";
+        }
+        state.lastNotifiedMillis = now;
+        state.suppressedSinceNotified = 0;
+        notifySinks(new Alert(rule.getName(), key, rule.getSeverity(), Alert.State.FIRING,
+            message, value, rule.getThreshold(), Instant.ofEpochMilli(now)));
+    }
+
+    private void resolve(AlertRule rule, String key, String message, double value) {
+        FiringState state = states.get(key);
+        if (state == null || !state.firing) return;
+
+        state.firing = false;
+        if (rule.isNotifyResolved()) {
+            notifySinks(new Alert(rule.getName(), key, rule.getSeverity(), Alert.State.RESOLVED,
+                message, value, rule.getThreshold(), Instant.now()));
+        }
+    }
+
+    private void notifySinks(Alert alert) {
+        notifications.labels(alert.getRule(), alert.getState().name()).inc();
+        for (AsyncAlertSink sink : sinks) {
+            sink.submit(alert);
+        }
+    }
+
+    private static class FiringState {
+        boolean firing;
+        long lastNotifiedMillis = Long.MIN_VALUE / 2;
+        int suppressedSinceNotified;
+    }
+}
@@ -0,0 +1,154 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import com.comercia.fintech.monitoring.TelemetryEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AlertEngineTest {
+
+    private static final Duration LONG_COOLDOWN = Duration.ofHours(1);
+
+    private RecordingSink recorded;
+    private AsyncAlertSink sink;
+
+    @Before
+    public void setUp() {
+        recorded = new RecordingSink();
+        sink = new AsyncAlertSink(recorded, 100, 1, Duration.ofMillis(10), 1, Duration.ofMillis(10));
+    }
+
+    @After
+    public void tearDown() {
+        sink.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void repeatedBreachWhileFiringIsSuppressedByCooldown() throws Exception {
+        AlertEngine engine = engine(gridRule(true));
+
+        grid(engine, 10, 9);
+        grid(engine, 10, 10);
+        grid(engine, 10, 9);
+
+        assertEquals(Collections.singletonList("GRID:FIRING"), recorded.await(1));
+        assertEquals(Collections.singletonList("GRID"), engine.getActiveAlerts());
+    }
+
+    @Test
+    public void breachAfterRecoveryNotifiesDespiteCooldown() throws Exception {
+        AlertEngine engine = engine(gridRule(true));
+
+        grid(engine, 10, 9);
+        grid(engine, 10, 1);
+        grid(engine, 10, 9);
+
+        assertEquals(java.util.Arrays.asList("GRID:FIRING", "GRID:RESOLVED", "GRID:FIRING"), recorded.await(3));
+        assertEquals(Collections.singletonList("GRID"), engine.getActiveAlerts());
+    }
+
+    @Test
+    public void recoveryWithoutResolvedNotificationStillRefiresOnNextBreach() throws Exception {
+        AlertEngine engine = engine(gridRule(false));
+
+        grid(engine, 10, 9);
+        grid(engine, 10, 1);
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        grid(engine, 10, 9);
+
+        assertEquals(java.util.Arrays.asList("GRID:FIRING", "GRID:FIRING"), recorded.await(2));
+    }
+
+    @Test
+    public void windowedRuleNeedsMinimumSamplesBeforeFiring() throws Exception {
+        AlertRule rule = new AlertRule("FAILURES", AlertRule.Signal.FAILURE_RATE, 0.4, Duration.ofMinutes(5), 3,
+            LONG_COOLDOWN, AlertRule.Severity.CRITICAL, true, Collections.emptySet());
+        AlertEngine engine = engine(rule);
+
+        complete(engine, "checkout", false);
+        complete(engine, "checkout", false);
+        assertTrue("below min.samples", engine.getActiveAlerts().isEmpty());
+
+        complete(engine, "checkout", true);
+        assertEquals(Collections.singletonList("FAILURES"), engine.getActiveAlerts());
+        assertEquals(Collections.singletonList("FAILURES:FIRING"), recorded.await(1));
+    }
+
+    @Test
+    public void perEventRuleIsKeyedByFeatureAndThrottledByCooldown() throws Exception {
+        AlertRule rule = new AlertRule("CRITICAL_PATH", AlertRule.Signal.TEST_FAILURE, 0, Duration.ofMinutes(5), 1,
+            LONG_COOLDOWN, AlertRule.Severity.CRITICAL, true, Collections.emptySet());
+        AlertEngine engine = engine(rule);
+
+        complete(engine, "payment", false);
+        complete(engine, "payment", false);
+        complete(engine, "checkout", false);
+        complete(engine, "checkout", true);
+
+        List<String> keys = new ArrayList<>();
+        for (Alert alert : recorded.awaitAlerts(2)) keys.add(alert.getKey());
+        assertEquals(java.util.Arrays.asList("CRITICAL_PATH:payment", "CRITICAL_PATH:checkout"), keys);
+        assertTrue("per-event alerts never stay active", engine.getActiveAlerts().isEmpty());
+    }
+
+    private AlertEngine engine(AlertRule rule) {
+        AlertEngine engine = new AlertEngine(Collections.singletonList(rule));
+        engine.addSink(sink);
+        return engine;
+    }
+
+    private static AlertRule gridRule(boolean notifyResolved) {
+        return new AlertRule("GRID", AlertRule.Signal.GRID_UTILIZATION, 0.8, Duration.ofMinutes(5), 1,
+            LONG_COOLDOWN, AlertRule.Severity.WARNING, notifyResolved, Collections.emptySet());
+    }
+
+    private static void grid(AlertEngine engine, int total, int busy) {
+        engine.onEvent(TelemetryEvent.builder(TelemetryEvent.Type.GRID_STATUS)
+            .code(total).size(busy).amount(total - busy).build());
+        engine.onBatchComplete();
+    }
+
+    private static void complete(AlertEngine engine, String feature, boolean success) {
+        engine.onEvent(TelemetryEvent.builder(TelemetryEvent.Type.TEST_COMPLETION)
+            .name("scenario").feature(feature).success(success)
+            .status(success ? "PASSED" : "FAILED").detail(success ? null : "assertion failed").build());
+        engine.onBatchComplete();
+    }
+
+    private static class RecordingSink implements AlertSink {
+        private final List<Alert> alerts = new ArrayList<>();
+
+        @Override
+        public synchronized void deliver(List<Alert> batch) {
+            alerts.addAll(batch);
+            notifyAll();
+        }
+
+        synchronized List<Alert> awaitAlerts(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (alerts.size() < expected && System.nanoTime() < deadline) {
+                wait(50);
+            }
+            // give unexpected extra notifications a moment to show up
+            wait(100);
+            return new ArrayList<>(alerts);
+        }
+
+        List<String> await(int expected) throws InterruptedException {
+            List<String> states = new ArrayList<>();
+            for (Alert alert : awaitAlerts(expected)) {
+                states.add(alert.getRule() + ":" + alert.getState());
+            }
+            return states;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import com.comercia.fintech.monitoring.RollingCounter;
+import com.comercia.fintech.monitoring.RollingHistogram;
+import com.comercia.fintech.monitoring.TelemetryEvent;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Declarative alert condition: a signal derived from telemetry events compared against a
+ * threshold. Windowed signals keep their own rolling state, updated as each event arrives,
+ * so evaluating a rule never rescans history. Per-event signals fire directly from the
+ * offending event and are deduplicated by key (e.g. the failing feature).
+ *
+ * Rules are defined in config.properties:
+ * <pre>
+ * alert.rules=HIGH_FAILURE_RATE,...
+ * alert.rule.HIGH_FAILURE_RATE.signal=FAILURE_RATE
+ * alert.rule.HIGH_FAILURE_RATE.threshold=0.1
+ * alert.rule.HIGH_FAILURE_RATE.window.seconds=300
+ * </pre>
+ */
+public class AlertRule {
+
+    public enum Severity { INFO, WARNING, CRITICAL }
+
+    public enum Signal {
+        /** Failed / completed tests in the window */
+        FAILURE_RATE(true),
+        /** Count of tests exceeding their feature SLA in the window */
+        SLA_BREACHES(true),
+        /** API responses with status >= 400 / all responses in the window */
+        API_ERROR_RATE(true),
+        /** Mean API response time (ms) in the window */
+        API_MEAN_LATENCY(true),
+        /** 95th percentile API response time (ms) in the window */
+        API_P95_LATENCY(true),
+        /** Latest busy / total Selenium Grid nodes */
+        GRID_UTILIZATION(false),
+        /** Any failed test of the configured features; fires per feature */
+        TEST_FAILURE(false);
+
+        private final boolean windowed;
+
+        Signal(boolean windowed) {
+            this.windowed = windowed;
+        }
+    }
+
+    private final String name;
+    private final Signal signal;
+    private final double threshold;
+    private final Duration window;
+    private final long minSamples;
+    private final Duration cooldown;
+    private final Severity severity;
+    private final boolean notifyResolved;
+    private final Set<String> features;
+
+    // rolling state, only the structures used by the signal are allocated
+    private final RollingCounter matches;
+    private final RollingCounter samples;
+    private final RollingHistogram latency;
+    private double lastValue;
+
+    public AlertRule(String name, Signal signal, double threshold, Duration window, long minSamples,
+                     Duration cooldown, Severity severity, boolean notifyResolved, Set<String> features) {
+        this.name = name;
+        this.signal = signal;
+        this.threshold = threshold;
+        this.window = window;
+        this.minSamples = Math.max(1, minSamples);
+        this.cooldown = cooldown;
+        this.severity = severity;
+        this.notifyResolved = notifyResolved;
+        this.features = features;
+
+        Duration bucket = Duration.ofMillis(Math.max(1000, window.toMillis() / 60));
+        boolean counts = signal == Signal.FAILURE_RATE || signal == Signal.SLA_BREACHES || signal == Signal.API_ERROR_RATE;
+        boolean latencies = signal == Signal.API_MEAN_LATENCY || signal == Signal.API_P95_LATENCY;
+        this.matches = counts ? new RollingCounter(window, bucket) : null;
+        this.samples = counts ? new RollingCounter(window, bucket) : null;
+        this.latency = latencies ? new RollingHistogram(window, Duration.ofMillis(Math.max(5000, window.toMillis() / 20))) : null;
+    }
+
+    /**
+     * Builds the rule {@code alert.rule.<name>.*} from config.properties.
+     */
+    public static AlertRule fromConfig(String name) {
+        String prefix = "alert.rule." + name + ".";
+        String signal = ConfigReader.getProperty(prefix + "signal");
+        String threshold = ConfigReader.getProperty(prefix + "threshold");
+        if (signal == null || threshold == null) {
+            throw new IllegalArgumentException("Alert rule '" + name + "' needs " + prefix + "signal and " + prefix + "threshold");
+        }
+
+        Set<String> features = new HashSet<>();
+        for (String feature : ConfigReader.getListProperty(prefix + "features")) {
+            features.add(feature.toLowerCase());
+        }
+
+        return new AlertRule(
+            name,
+            Signal.valueOf(signal.trim().toUpperCase()),
+            Double.parseDouble(threshold.trim()),
+            Duration.ofSeconds(Long.parseLong(ConfigReader.getProperty(prefix + "window.seconds", "300").trim())),
+            Long.parseLong(ConfigReader.getProperty(prefix + "min.samples", "1").trim()),
+            Duration.ofSeconds(Long.parseLong(ConfigReader.getProperty(prefix + "cooldown.seconds", "300").trim())),
+            Severity.valueOf(ConfigReader.getProperty(prefix + "severity", "WARNING").trim().toUpperCase()),
+            Boolean.parseBoolean(ConfigReader.getProperty(prefix + "notify.resolved", "true").trim()),
+            Collections.unmodifiableSet(features)
+        );
+    }
+
+    public String getName() { return name; }
+    public Signal getSignal() { return signal; }
+    public double getThreshold() { return threshold; }
+    public Duration getCooldown() { return cooldown; }
+    public Severity getSeverity() { return severity; }
+    public boolean isNotifyResolved() { return notifyResolved; }
+
+    /**
+     * True for rules evaluated once per event (keyed firings) rather than over a window.
+     */
+    public boolean isPerEvent() {
+        return signal == Signal.TEST_FAILURE;
+    }
+
+    /**
+     * Folds the event into this rule's state. Returns true if the event was relevant,
+     * i.e. the rule should be (re-)evaluated.
+     */
+    boolean accept(TelemetryEvent event) {
+        switch (signal) {
+            case FAILURE_RATE:
+                if (event.getType() != TelemetryEvent.Type.TEST_COMPLETION || !matchesFeature(event.getFeature())) return false;
+                samples.inc();
+                if (!event.isSuccess()) matches.inc();
+                return true;
+            case SLA_BREACHES:
+                if (event.getType() != TelemetryEvent.Type.TEST_COMPLETION || !matchesFeature(event.getFeature())) return false;
+                samples.inc();
+                if (event.getDuration().toMillis() > TestObservabilitySystem.getSlaThresholdMillis(event.getFeature())) {
+                    matches.inc();
+                }
+                return true;
+            case API_ERROR_RATE:
+                if (event.getType() != TelemetryEvent.Type.API_RESPONSE) return false;
+                samples.inc();
+                if (!event.isSuccess()) matches.inc();
+                return true;
+            case API_MEAN_LATENCY:
+            case API_P95_LATENCY:
+                if (event.getType() != TelemetryEvent.Type.API_RESPONSE) return false;
+                latency.record(event.getDuration());
+                return true;
+            case GRID_UTILIZATION:
+                if (event.getType() != TelemetryEvent.Type.GRID_STATUS) return false;
+                lastValue = event.getCode() > 0 ? event.getSize() / (double) event.getCode() : 0.0;
+                return true;
+            case TEST_FAILURE:
+                return event.getType() == TelemetryEvent.Type.TEST_COMPLETION && !event.isSuccess()
+                    && matchesFeature(event.getFeature());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * True when the window holds at least min.samples observations.
+     */
+    boolean hasEnoughData() {
+        switch (signal) {
+            case FAILURE_RATE:
+            case SLA_BREACHES:
+            case API_ERROR_RATE:
+                return samples.sum(window) >= minSamples;
+            case API_MEAN_LATENCY:
+            case API_P95_LATENCY:
+                return latency.getCount(window) >= minSamples;
+            default:
+                return true;
+        }
+    }
+
+    double currentValue() {
+        switch (signal) {
+            case FAILURE_RATE:
+            case API_ERROR_RATE: {
+                long total = samples.sum(window);
+                return total > 0 ? matches.sum(window) / (double) total : 0.0;
+            }
+            case SLA_BREACHES:
+                return matches.sum(window);
+            case API_MEAN_LATENCY:
+                return latency.getMeanMillis(window);
+            case API_P95_LATENCY:
+                return latency.getValueAtPercentileMillis(window, 95);
+            default:
+                return lastValue;
+        }
+    }
+
+    String describe(double value) {
+        String windowText = signal.windowed ? " over the last " + window.getSeconds() + "s" : "";
+        switch (signal) {
+            case FAILURE_RATE:
+                return String.format("Test failure rate%s is %.1f%% (threshold %.1f%%)", windowText, value * 100, threshold * 100);
+            case API_ERROR_RATE:
+                return String.format("API error rate%s is %.1f%% (threshold %.1f%%)", windowText, value * 100, threshold * 100);
+            case SLA_BREACHES:
+                return String.format("%.0f SLA breaches%s (threshold %.0f)", value, windowText, threshold);
+            case API_MEAN_LATENCY:
+                return String.format("Average API response time%s is %.0fms (threshold %.0fms)", windowText, value, threshold);
+            case API_P95_LATENCY:
+                return String.format("p95 API response time%s is %.0fms (threshold %.0fms)", windowText, value, threshold);
+            case GRID_UTILIZATION:
+                return String.format("Selenium grid utilization is %.1f%% (threshold %.1f%%)", value * 100, threshold * 100);
+            default:
+                return name + " value " + value;
+        }
+    }
+
+    String describe(TelemetryEvent event) {
+        return String.format("Critical path failure in feature '%s': test %s failed: %s",
+            event.getFeature(), event.getName(), event.getDetail());
+    }
+
+    void reset() {
+        if (matches != null) matches.reset();
+        if (samples != null) samples.reset();
+        if (latency != null) latency.reset();
+        lastValue = 0.0;
+    }
+
+    private boolean matchesFeature(String feature) {
+        return features.isEmpty() || (feature != null && features.contains(feature.toLowerCase()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for alert notifications. Implementations are called from a dedicated
+ * AsyncAlertSink thread with batches of alerts; throwing makes the batch be retried.
+ */
+public interface AlertSink {
+
+    void deliver(List<Alert> batch) throws IOException;
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,129 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import com.comercia.fintech.monitoring.Counter;
+import com.comercia.fintech.monitoring.MetricFamily;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers alerts to an AlertSink from its own daemon thread so a slow or unreachable
+ * endpoint never stalls event aggregation. Alerts are grouped into batches (up to
+ * batchSize, or whatever arrived within flushInterval) and each batch is retried with
+ * exponential backoff before being given up on.
+ */
+public class AsyncAlertSink {
+
+    private static final MetricFamily<Counter> delivered = TestObservabilitySystem.getMetricRegistry().counterFamily(
+        "alert_notifications_delivered_total", "Alerts delivered to a sink", "sink");
+    private static final MetricFamily<Counter> failed = TestObservabilitySystem.getMetricRegistry().counterFamily(
+        "alert_notifications_failed_total", "Alerts dropped after exhausting retries or a full queue", "sink");
+
+    private final AlertSink sink;
+    private final BlockingQueue<Alert> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final Counter deliveredCount;
+    private final Counter failedCount;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncAlertSink(AlertSink sink, int capacity, int batchSize, Duration flushInterval,
+                          int maxAttempts, Duration initialBackoff) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.deliveredCount = delivered.labels(sink.getName());
+        this.failedCount = failed.labels(sink.getName());
+
+        this.worker = new Thread(this::run, "alert-sink-" + sink.getName());
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues an alert without blocking; returns false if the queue is full.
+     */
+    public boolean submit(Alert alert) {
+        if (queue.offer(alert)) {
+            return true;
+        }
+        failedCount.inc();
+        System.err.println("Alert queue for " + sink.getName() + " is full, dropping: " + alert);
+        return false;
+    }
+
+    /**
+     * Delivers whatever is still queued and stops the worker, waiting at most {@code timeout}.
+     */
+    public void close(Duration timeout) {
+        running = false;
+        try {
+            worker.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Alert> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Alert first = running ? queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) continue;
+                batch.add(first);
+                if (running && batchSize > 1 && queue.size() < batchSize - 1) {
+                    // give closely following alerts a chance to share the request
+                    TimeUnit.MILLISECONDS.sleep(Math.min(flushIntervalMillis, 50));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) {
+                deliverWithRetry(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliverWithRetry(List<Alert> batch) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                sink.deliver(batch);
+                deliveredCount.add(batch.size());
+                return;
+            } catch (Exception e) {
+                System.err.println("Alert delivery to " + sink.getName() + " failed (attempt "
+                    + attempt + "/" + maxAttempts + "): " + e.getMessage());
+            }
+            if (attempt < maxAttempts && !sleep(backoff)) {
+                break;
+            }
+            backoff = Math.min(backoff * 2, TimeUnit.SECONDS.toMillis(30));
+        }
+        failedCount.add(batch.size());
+    }
+
+    private boolean sleep(long millis) {
+        if (!running) return false; // shutting down: one attempt only, do not hold the JVM
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import java.util.List;
+
+/**
+ * Prints alerts to the test log; critical alerts go to stderr.
+ */
+public class ConsoleAlertSink implements AlertSink {
+
+    @Override
+    public void deliver(List<Alert> batch) {
+        for (Alert alert : batch) {
+            if (alert.getSeverity() == AlertRule.Severity.CRITICAL && alert.getState() == Alert.State.FIRING) {
+                System.err.println("🚨 ALERT " + alert);
+            } else {
+                System.out.println("🚨 ALERT " + alert);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch as one JSON document to an HTTP endpoint (Slack/PagerDuty relay,
+ * Alertmanager-style receiver or a local stub). Non-2xx responses are treated as failures
+ * so the batch is retried by the owning AsyncAlertSink.
+ */
+public class WebhookAlertSink implements AlertSink {
+
+    private final URI endpoint;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public WebhookAlertSink(String url, Duration timeout) {
+        this.endpoint = URI.create(url);
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public void deliver(List<Alert> batch) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(toJson(batch)))
+            .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Webhook " + endpoint + " responded with HTTP " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while posting alerts to " + endpoint, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "webhook(" + endpoint + ")";
+    }
+
+    static String toJson(List<Alert> batch) {
+        StringBuilder json = new StringBuilder(256 * batch.size()).append("{\"alerts\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            Alert alert = batch.get(i);
+            if (i > 0) json.append(',');
+            json.append('{');
+            field(json, "rule", alert.getRule()).append(',');
+            field(json, "key", alert.getKey()).append(',');
+            field(json, "severity", alert.getSeverity().name()).append(',');
+            field(json, "state", alert.getState().name()).append(',');
+            field(json, "message", alert.getMessage()).append(',');
+            json.append("\"value\":").append(number(alert.getValue())).append(',');
+            json.append("\"threshold\":").append(number(alert.getThreshold())).append(',');
+            field(json, "timestamp", alert.getTimestamp().toString());
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+}
@@ -0,0 +1,119 @@
+package com.comercia.fintech.monitoring.alerting;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WebhookAlertSinkTest {
+
+    private HttpServer server;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> contentTypes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private String url;
+
+    @Before
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/alerts", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                if (failuresLeft.getAndDecrement() > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                bodies.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                contentTypes.add(exchange.getRequestHeaders().getFirst("Content-Type"));
+                exchange.sendResponseHeaders(204, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/alerts";
+    }
+
+    @After
+    public void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    public void postsBatchAsOneJsonDocument() throws IOException {
+        WebhookAlertSink sink = new WebhookAlertSink(url, Duration.ofSeconds(2));
+
+        sink.deliver(Arrays.asList(
+            alert("FAILURES", Alert.State.FIRING, "rate \"high\"\nsee report"),
+            alert("FAILURES", Alert.State.RESOLVED, "back to normal")));
+
+        assertEquals(1, bodies.size());
+        assertEquals("application/json", contentTypes.get(0));
+        String json = bodies.get(0);
+        assertTrue(json, json.startsWith("{\"alerts\":[{\"rule\":\"FAILURES\""));
+        assertTrue(json, json.contains("\"state\":\"FIRING\""));
+        assertTrue(json, json.contains("\"state\":\"RESOLVED\""));
+        assertTrue(json, json.contains("\"message\":\"rate \\\"high\\\"\\nsee report\""));
+        assertTrue(json, json.contains("\"value\":0.5,\"threshold\":0.2"));
+    }
+
+    @Test
+    public void nonSuccessResponseFailsDelivery() {
+        failuresLeft.set(1);
+        WebhookAlertSink sink = new WebhookAlertSink(url, Duration.ofSeconds(2));
+        try {
+            sink.deliver(Collections.singletonList(alert("GRID", Alert.State.FIRING, "saturated")));
+            fail("HTTP 503 must fail the delivery");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("503"));
+        }
+        assertTrue(bodies.isEmpty());
+    }
+
+    @Test
+    public void asyncSinkRetriesFailedBatch() throws InterruptedException {
+        failuresLeft.set(2);
+        AsyncAlertSink async = new AsyncAlertSink(new WebhookAlertSink(url, Duration.ofSeconds(2)),
+            10, 5, Duration.ofMillis(20), 3, Duration.ofMillis(10));
+
+        async.submit(alert("GRID", Alert.State.FIRING, "saturated"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bodies.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        async.close(Duration.ofSeconds(1));
+
+        assertEquals("delivered once, on the third attempt", 1, bodies.size());
+        assertTrue(bodies.get(0).contains("\"rule\":\"GRID\""));
+    }
+
+    @Test
+    public void nonFiniteValuesAreWrittenAsNull() {
+        Alert alert = new Alert("LATENCY", "LATENCY", AlertRule.Severity.WARNING, Alert.State.FIRING,
+            "no samples", Double.NaN, 500, Instant.EPOCH);
+
+        String json = WebhookAlertSink.toJson(Collections.singletonList(alert));
+
+        assertTrue(json, json.contains("\"value\":null,\"threshold\":500.0"));
+        assertTrue(json, json.contains("\"timestamp\":\"1970-01-01T00:00:00Z\""));
+    }
+
+    private static Alert alert(String rule, Alert.State state, String message) {
+        return new Alert(rule, rule, AlertRule.Severity.CRITICAL, state, message, 0.5, 0.2, Instant.now());
+    }
+}
@@ -0,0 +1,94 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import com.comercia.fintech.monitoring.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent spans in a fixed-size ring (oldest are overwritten) plus a latency
+ * histogram per span name, so per-step hot spots can be inspected at the end of a run
+ * without retaining every span.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final Span[] ring;
+    private final Map<String, LatencyHistogram> latencyByName = new ConcurrentHashMap<>();
+    private long written;
+
+    public InMemorySpanExporter(int capacity) {
+        this.ring = new Span[Math.max(1, capacity)];
+    }
+
+    @Override
+    public void export(Span span) {
+        LatencyHistogram histogram = latencyByName.get(span.getName());
+        if (histogram == null) {
+            histogram = latencyByName.computeIfAbsent(span.getName(), name -> new LatencyHistogram());
+        }
+        histogram.recordMicros(span.getDurationNanos() / 1000);
+
+        synchronized (ring) {
+            ring[(int) (written % ring.length)] = span;
+            written++;
+        }
+    }
+
+    /**
+     * Retained spans, oldest first.
+     */
+    public List<Span> getSpans() {
+        synchronized (ring) {
+            int size = (int) Math.min(written, ring.length);
+            List<Span> spans = new ArrayList<>(size);
+            for (long i = written - size; i < written; i++) {
+                spans.add(ring[(int) (i % ring.length)]);
+            }
+            return spans;
+        }
+    }
+
+    /**
+     * Retained spans of one trace, e.g. to print a slow scenario's breakdown.
+     */
+    public List<Span> getTrace(String traceId) {
+        List<Span> trace = new ArrayList<>();
+        for (Span span : getSpans()) {
+            if (span.getTraceId().equals(traceId)) trace.add(span);
+        }
+        return trace;
+    }
+
+    /**
+     * Span names ordered by total time spent (count x mean), with count, mean, p95 and max in ms.
+     */
+    public Map<String, Map<String, Double>> getHotSpots(int limit) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(latencyByName.entrySet());
+        entries.sort((a, b) -> Double.compare(b.getValue().getSumMillis(), a.getValue().getSumMillis()));
+
+        Map<String, Map<String, Double>> hotSpots = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Double> summary = new LinkedHashMap<>();
+            summary.put("count", (double) histogram.getCount());
+            summary.put("totalMs", histogram.getSumMillis());
+            summary.put("avgMs", histogram.getMeanMillis());
+            summary.put("p95Ms", histogram.getValueAtPercentileMillis(95));
+            summary.put("maxMs", histogram.getMaxMillis());
+            hotSpots.put(entry.getKey(), summary);
+        }
+        return hotSpots;
+    }
+
+    public void reset() {
+        synchronized (ring) {
+            Arrays.fill(ring, null);
+            written = 0;
+        }
+        latencyByName.clear();
+    }
+}
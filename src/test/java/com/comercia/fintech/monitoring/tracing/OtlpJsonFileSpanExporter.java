@@ -0,0 +1,182 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import com.comercia.fintech.monitoring.Counter;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes spans in batches to a JSON Lines file where every line is an OTLP
+ * ExportTraceServiceRequest (the OpenTelemetry file exporter layout), so the file can be
+ * replayed into an OTLP collector, Jaeger or Tempo. Spans are queued without blocking the
+ * test thread and serialized by a daemon writer; when the queue is full spans are dropped
+ * and counted in trace_spans_dropped_total.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private static final String SERVICE_NAME = "comercia-fintech-automation";
+    private static final String SCOPE_NAME = "com.comercia.fintech.monitoring.tracing";
+    private static final long SHUTDOWN_FLUSH_MILLIS = 5000;
+
+    private static final Counter droppedSpans = TestObservabilitySystem.getMetricRegistry().counter(
+        "trace_spans_dropped_total", "Spans dropped because the trace file exporter queue was full");
+
+    private final Path file;
+    private final BlockingQueue<Span> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public OtlpJsonFileSpanExporter(Path file, int queueCapacity, int batchSize, Duration flushInterval) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.writer = new Thread(this::writeLoop, "trace-file-exporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!queue.offer(span)) {
+            droppedSpans.inc();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(SHUTDOWN_FLUSH_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        StringBuilder json = new StringBuilder(64 * 1024);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+        } catch (IOException e) {
+            System.err.println("Trace file exporter disabled, cannot create " + file.getParent() + ": " + e.getMessage());
+            return;
+        }
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Span first = running ? queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) continue;
+                batch.add(first);
+                if (running && queue.size() < batchSize - 1) {
+                    // let a short burst (e.g. the spans of one step) share the line
+                    TimeUnit.MILLISECONDS.sleep(Math.min(flushIntervalMillis, 100));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+
+            json.setLength(0);
+            appendRequest(json, batch);
+            json.append('\n');
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.append(json);
+            } catch (IOException e) {
+                System.err.println("Failed to write " + batch.size() + " spans to " + file + ": " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    static void appendRequest(StringBuilder json, List<Span> spans) {
+        json.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+        appendAttribute(json, "service.name", SERVICE_NAME);
+        json.append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"").append(SCOPE_NAME).append("\"},\"spans\":[");
+        for (int i = 0; i < spans.size(); i++) {
+            if (i > 0) json.append(',');
+            appendSpan(json, spans.get(i));
+        }
+        json.append("]}]}]}");
+    }
+
+    private static void appendSpan(StringBuilder json, Span span) {
+        json.append("{\"traceId\":\"").append(Span.hex(span.getTraceIdHigh())).append(Span.hex(span.getTraceIdLow()))
+            .append("\",\"spanId\":\"").append(Span.hex(span.getSpanId())).append('"');
+        if (span.getParentSpanId() != 0) {
+            json.append(",\"parentSpanId\":\"").append(Span.hex(span.getParentSpanId())).append('"');
+        }
+        json.append(",\"name\":");
+        appendString(json, span.getName());
+        json.append(",\"kind\":").append(span.getKind().getOtlpCode())
+            .append(",\"startTimeUnixNano\":\"").append(span.getStartEpochNanos())
+            .append("\",\"endTimeUnixNano\":\"").append(span.getEndEpochNanos()).append("\",\"attributes\":[");
+        for (int i = 0; i < span.getAttributeCount(); i++) {
+            if (i > 0) json.append(',');
+            appendAttribute(json, span.getAttributeKey(i), span.getAttributeValue(i));
+        }
+        json.append("],\"status\":{");
+        if (span.getStatus() != Span.Status.UNSET) {
+            json.append("\"code\":").append(span.getStatus() == Span.Status.OK ? 1 : 2);
+            if (span.getStatusMessage() != null) {
+                json.append(",\"message\":");
+                appendString(json, span.getStatusMessage());
+            }
+        }
+        json.append("}}");
+    }
+
+    private static void appendAttribute(StringBuilder json, String key, Object value) {
+        json.append("{\"key\":");
+        appendString(json, key);
+        json.append(",\"value\":{");
+        if (value instanceof Long) {
+            // OTLP JSON encodes 64-bit integers as strings
+            json.append("\"intValue\":\"").append(value).append('"');
+        } else if (value instanceof Boolean) {
+            json.append("\"boolValue\":").append(value);
+        } else {
+            json.append("\"stringValue\":");
+            appendString(json, String.valueOf(value));
+        }
+        json.append("}}");
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
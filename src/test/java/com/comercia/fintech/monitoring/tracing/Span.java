@@ -0,0 +1,147 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import java.util.Arrays;
+
+/**
+ * One timed operation in a trace: a scenario, a step, a WebDriver command or an HTTP call.
+ * Ids and timestamps are primitives and attributes live in a small flat array, so a span
+ * costs a couple of small allocations; hex ids and JSON are only produced at export time.
+ * A span is owned by the thread that started it until end() hands it to the exporters.
+ */
+public class Span {
+
+    public enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        private final int otlpCode;
+
+        Kind(int otlpCode) {
+            this.otlpCode = otlpCode;
+        }
+
+        public int getOtlpCode() {
+            return otlpCode;
+        }
+    }
+
+    public enum Status { UNSET, OK, ERROR }
+
+    /** Returned while tracing is disabled; every operation is a no-op. */
+    static final Span NOOP = new Span(null, null, 0, 0, 0, 0, null);
+
+    private static final int INITIAL_ATTRIBUTES = 4;
+
+    private final String name;
+    private final Kind kind;
+    private final long traceIdHigh;
+    private final long traceIdLow;
+    private final long spanId;
+    private final long parentSpanId;
+    final Span parent;
+    private final long startEpochNanos;
+    private long endEpochNanos;
+    private Status status = Status.UNSET;
+    private String statusMessage;
+    // key, value, key, value...
+    private Object[] attributes;
+    private int attributeCount;
+
+    Span(String name, Kind kind, long traceIdHigh, long traceIdLow, long spanId, long startEpochNanos, Span parent) {
+        this.name = name;
+        this.kind = kind;
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.parent = parent;
+        this.parentSpanId = parent != null ? parent.spanId : 0;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    public Span setAttribute(String key, String value) {
+        return putAttribute(key, value);
+    }
+
+    public Span setAttribute(String key, long value) {
+        return putAttribute(key, value);
+    }
+
+    public Span setAttribute(String key, boolean value) {
+        return putAttribute(key, value);
+    }
+
+    public Span setStatus(Status status, String message) {
+        if (this == NOOP) return this;
+        this.status = status;
+        this.statusMessage = message;
+        return this;
+    }
+
+    public Span recordError(Throwable error) {
+        if (this == NOOP || error == null) return this;
+        setAttribute("exception.type", error.getClass().getName());
+        return setStatus(Status.ERROR, String.valueOf(error.getMessage()));
+    }
+
+    /**
+     * Stops the clock and exports the span. Ending twice has no effect.
+     */
+    public void end() {
+        if (this == NOOP || endEpochNanos != 0) return;
+        Tracer.end(this);
+    }
+
+    public boolean isRecording() {
+        return this != NOOP && endEpochNanos == 0;
+    }
+
+    public String getName() { return name; }
+    public Kind getKind() { return kind; }
+    public long getTraceIdHigh() { return traceIdHigh; }
+    public long getTraceIdLow() { return traceIdLow; }
+    public long getSpanId() { return spanId; }
+    public long getParentSpanId() { return parentSpanId; }
+    public long getStartEpochNanos() { return startEpochNanos; }
+    public long getEndEpochNanos() { return endEpochNanos; }
+    public Status getStatus() { return status; }
+    public String getStatusMessage() { return statusMessage; }
+    public int getAttributeCount() { return attributeCount; }
+    public String getAttributeKey(int index) { return (String) attributes[index * 2]; }
+    public Object getAttributeValue(int index) { return attributes[index * 2 + 1]; }
+
+    public long getDurationNanos() {
+        return endEpochNanos - startEpochNanos;
+    }
+
+    public String getTraceId() {
+        return hex(traceIdHigh) + hex(traceIdLow);
+    }
+
+    public Object getAttribute(String key) {
+        for (int i = 0; i < attributeCount; i++) {
+            if (attributes[i * 2].equals(key)) return attributes[i * 2 + 1];
+        }
+        return null;
+    }
+
+    void finish(long endEpochNanos) {
+        this.endEpochNanos = endEpochNanos;
+    }
+
+    static String hex(long id) {
+        String digits = Long.toHexString(id);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    private Span putAttribute(String key, Object value) {
+        if (this == NOOP || value == null) return this;
+        if (attributes == null) {
+            attributes = new Object[INITIAL_ATTRIBUTES * 2];
+        } else if (attributeCount * 2 == attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        attributes[attributeCount * 2] = key;
+        attributes[attributeCount * 2 + 1] = value;
+        attributeCount++;
+        return this;
+    }
+}
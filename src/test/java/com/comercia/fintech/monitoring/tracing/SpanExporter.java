@@ -0,0 +1,16 @@
+package com.comercia.fintech.monitoring.tracing;
+
+/**
+ * Receives finished spans. Called on the thread that ended the span, so implementations
+ * must be thread-safe and cheap (hand off anything slow to a background thread).
+ */
+public interface SpanExporter {
+
+    void export(Span span);
+
+    /**
+     * Flushes buffered spans at JVM shutdown.
+     */
+    default void shutdown() {
+    }
+}
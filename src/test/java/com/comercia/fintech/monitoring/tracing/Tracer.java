@@ -0,0 +1,131 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import com.comercia.fintech.monitoring.MetricFamily;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.monitoring.Timer;
+import com.comercia.fintech.utils.ConfigReader;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the tracing layer. Spans started on a thread become children of that
+ * thread's current span, which is how scenario, step, WebDriver and HTTP spans nest without
+ * passing context around (each Cucumber scenario runs on a single thread).
+ * Configured by tracing.* in config.properties.
+ */
+public final class Tracer {
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("tracing.enabled", true);
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+    private static final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+    private static final MetricFamily<Timer> spanDuration = TestObservabilitySystem.getMetricRegistry().timerFamily(
+        "trace_span_duration_ms", "Duration of traced scenarios, steps, WebDriver commands and HTTP calls", "kind", "name");
+
+    // wall-clock anchor so span timestamps are epoch based but measured with nanoTime
+    private static final long EPOCH_NANOS_AT_START = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private static final long NANO_TIME_AT_START = System.nanoTime();
+
+    private static final InMemorySpanExporter memoryExporter;
+
+    static {
+        memoryExporter = new InMemorySpanExporter(ConfigReader.getIntProperty("tracing.memory.max.spans", 10000));
+        if (enabled) {
+            exporters.add(memoryExporter);
+            if (ConfigReader.getBooleanProperty("tracing.file.enabled", true)) {
+                exporters.add(new OtlpJsonFileSpanExporter(
+                    Paths.get(ConfigReader.getProperty("tracing.file.path", "target/traces/spans.otlp.jsonl")),
+                    ConfigReader.getIntProperty("tracing.file.queue.capacity", 65536),
+                    ConfigReader.getIntProperty("tracing.file.batch.size", 512),
+                    Duration.ofMillis(ConfigReader.getIntProperty("tracing.file.flush.millis", 2000))));
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(Tracer::shutdown, "tracing-flush"));
+        }
+    }
+
+    private Tracer() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a span as a child of the current span on this thread and makes it current.
+     */
+    public static Span startSpan(String name, Span.Kind kind) {
+        if (!enabled) return Span.NOOP;
+        return start(name, kind, current.get());
+    }
+
+    /**
+     * Starts a new trace on this thread, discarding any span left current by an unfinished trace.
+     */
+    public static Span startTrace(String name, Span.Kind kind) {
+        if (!enabled) return Span.NOOP;
+        return start(name, kind, null);
+    }
+
+    public static Span currentSpan() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    public static void addExporter(SpanExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    public static InMemorySpanExporter getInMemoryExporter() {
+        return memoryExporter;
+    }
+
+    static void end(Span span) {
+        span.finish(now());
+
+        // restore the parent, also when children were left open (e.g. a command that threw)
+        Span active = current.get();
+        for (Span candidate = active; candidate != null; candidate = candidate.parent) {
+            if (candidate == span) {
+                current.set(span.parent);
+                break;
+            }
+        }
+
+        spanDuration.labels(span.getKind().name(), span.getName())
+            .recordMillis(TimeUnit.NANOSECONDS.toMillis(span.getDurationNanos()));
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                System.err.println("Span exporter failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Span start(String name, Span.Kind kind, Span parent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long traceHigh = parent != null ? parent.getTraceIdHigh() : random.nextLong();
+        long traceLow = parent != null ? parent.getTraceIdLow() : random.nextLong();
+        Span span = new Span(name, kind, traceHigh, traceLow, nonZero(random.nextLong()), now(), parent);
+        current.set(span);
+        return span;
+    }
+
+    private static long now() {
+        return EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START);
+    }
+
+    private static long nonZero(long id) {
+        return id != 0 ? id : 1;
+    }
+
+    private static void shutdown() {
+        for (SpanExporter exporter : exporters) {
+            exporter.shutdown();
+        }
+    }
+}
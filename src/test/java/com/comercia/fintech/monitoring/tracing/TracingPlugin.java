@@ -0,0 +1,101 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that opens a trace per scenario and a child span per step (hooks
+ * included). Concurrent listeners are notified on the thread executing the scenario, so
+ * WebDriver and HTTP spans started inside a step nest under it automatically.
+ *
+ * Register with {@code plugin = "com.comercia.fintech.monitoring.tracing.TracingPlugin"}.
+ */
+public class TracingPlugin implements ConcurrentEventListener {
+
+    private final Map<UUID, Span> scenarios = new ConcurrentHashMap<>();
+    private final Map<UUID, Span> steps = new ConcurrentHashMap<>();
+
+    public TracingPlugin() {
+        TracingRestAssuredFilter.install();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!Tracer.isEnabled()) return;
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        Span span = Tracer.startTrace("Scenario: " + testCase.getName(), Span.Kind.SERVER)
+            .setAttribute("cucumber.scenario", testCase.getName())
+            .setAttribute("cucumber.uri", testCase.getUri().toString())
+            .setAttribute("cucumber.line", testCase.getLocation().getLine())
+            .setAttribute("cucumber.tags", String.join(",", testCase.getTags()))
+            .setAttribute("thread.name", Thread.currentThread().getName());
+        scenarios.put(testCase.getId(), span);
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        Span span;
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            // the pattern keeps span names low-cardinality; the concrete text is an attribute
+            span = Tracer.startSpan(step.getStep().getKeyword().trim() + " " + step.getPattern(), Span.Kind.INTERNAL)
+                .setAttribute("cucumber.step.text", step.getStep().getText())
+                .setAttribute("cucumber.step.line", step.getStep().getLocation().getLine());
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) event.getTestStep();
+            span = Tracer.startSpan(hook.getHookType() + " " + hook.getCodeLocation(), Span.Kind.INTERNAL);
+        } else {
+            span = Tracer.startSpan(event.getTestStep().getCodeLocation(), Span.Kind.INTERNAL);
+        }
+        span.setAttribute("code.location", event.getTestStep().getCodeLocation());
+        steps.put(event.getTestStep().getId(), span);
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        Span span = steps.remove(event.getTestStep().getId());
+        if (span != null) {
+            finish(span, event.getResult());
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Span span = scenarios.remove(event.getTestCase().getId());
+        if (span != null) {
+            finish(span, event.getResult());
+        }
+    }
+
+    private static void finish(Span span, Result result) {
+        span.setAttribute("cucumber.status", result.getStatus().name());
+        if (result.getStatus() == Status.FAILED || result.getStatus() == Status.UNDEFINED
+                || result.getStatus() == Status.AMBIGUOUS) {
+            if (result.getError() != null) {
+                span.recordError(result.getError());
+            } else {
+                span.setStatus(Span.Status.ERROR, result.getStatus().name());
+            }
+        } else if (result.getStatus() == Status.PASSED) {
+            span.setStatus(Span.Status.OK, null);
+        }
+        span.end();
+    }
+}
@@ -0,0 +1,47 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that wraps each HTTP call in a CLIENT span with the usual
+ * http.* attributes, nested under the step that made the call.
+ */
+public class TracingRestAssuredFilter implements Filter {
+
+    private static volatile boolean installed;
+
+    /**
+     * Adds the filter to RestAssured's global filters once per JVM.
+     */
+    public static synchronized void install() {
+        if (installed || !Tracer.isEnabled()) return;
+        RestAssured.filters(new TracingRestAssuredFilter());
+        installed = true;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Span span = Tracer.startSpan("HTTP " + requestSpec.getMethod(), Span.Kind.CLIENT)
+            .setAttribute("http.method", requestSpec.getMethod())
+            .setAttribute("http.url", requestSpec.getURI());
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            span.setAttribute("http.status_code", response.getStatusCode());
+            if (response.getStatusCode() >= 400) {
+                span.setStatus(Span.Status.ERROR, "HTTP " + response.getStatusCode());
+            }
+            return response;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.comercia.fintech.monitoring.tracing;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a CLIENT span for every WebDriver, WebElement, navigation and options command,
+ * nested under the step being executed. Span names are cached per method so tracing a
+ * command does not build strings. Scripts passed to executeScript/executeAsyncScript are
+ * recorded only as their first {@value #MAX_SCRIPT_ATTRIBUTE_LENGTH} characters.
+ */
+public class TracingWebDriverListener implements WebDriverListener {
+
+    static final int MAX_SCRIPT_ATTRIBUTE_LENGTH = 120;
+
+    private static final Map<Method, String> SPAN_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a driver so its commands are traced; returns the driver unchanged when tracing is off.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!Tracer.isEnabled()) return driver;
+        return new EventFiringDecorator<>(new TracingWebDriverListener()).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Span span = Tracer.startSpan(spanName(method), Span.Kind.CLIENT);
+        if (args != null && args.length > 0 && (args[0] instanceof By || args[0] instanceof String)) {
+            // locator, URL or script; typed text is never recorded
+            if ("executeScript".equals(method.getName()) || "executeAsyncScript".equals(method.getName())) {
+                String script = (String) args[0];
+                span.setAttribute("webdriver.script.length", script.length());
+                span.setAttribute("webdriver.argument", script.length() <= MAX_SCRIPT_ATTRIBUTE_LENGTH
+                    ? script : script.substring(0, MAX_SCRIPT_ATTRIBUTE_LENGTH) + "...");
+            } else if (!"sendKeys".equals(method.getName())) {
+                span.setAttribute("webdriver.argument", args[0].toString());
+            }
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Span span = Tracer.currentSpan();
+        if (span.getName().equals(spanName(method))) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Span span = Tracer.currentSpan();
+        if (span.getName().equals(spanName(method))) {
+            span.recordError(e.getCause() != null ? e.getCause() : e).end();
+        }
+    }
+
+    private static String spanName(Method method) {
+        String name = SPAN_NAMES.get(method);
+        if (name == null) {
+            name = SPAN_NAMES.computeIfAbsent(method, m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+        }
+        return name;
+    }
+}
@@ -1,87 +1,215 @@
 package com.comercia.fintech.pageObjects;
 
+import com.comercia.fintech.monitoring.BrowserTimingCollector;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
 import com.comercia.fintech.utils.ConfigReader;
+import com.comercia.fintech.waits.AdaptiveWaitPolicy;
+import com.comercia.fintech.waits.DomWaits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 public class CheckoutPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWaitPolicy waits;
+    private DomWaits domWaits;
+    
+    // batched mode: values validated in Java and staged here, then set in one script before paying
+    private final boolean batchedFill;
+    private final Map<String, String> pendingFields = new LinkedHashMap<>();
+    
+    // strict: always driver.get(); otherwise an already loaded checkout page is reset in place
+    private final boolean strictReload;
     
     // Regular expressions for validation
     private static final Pattern CARD_NUMBER_PATTERN = Pattern.compile("^[0-9]{16}$");
     private static final Pattern CVV_PATTERN = Pattern.compile("^[0-9]{3,4}$");
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s]{2,50}$");
 
-    // --- Web Elements (using @FindBy) ---
-    @FindBy(id = "cardNumber")
-    private WebElement cardNumberInput;
-
-    @FindBy(id = "cardHolderName")
-    private WebElement cardHolderNameInput;
-
-    @FindBy(id = "expiryMonth")
-    private WebElement expiryMonthSelect;
-
-    @FindBy(id = "expiryYear")
-    private WebElement expiryYearSelect;
-
-    @FindBy(id = "cvv")
-    private WebElement cvvInput;
-
-    @FindBy(id = "payButton")
-    private WebElement payButton;
-
-    @FindBy(id = "paymentMessage")
-    private WebElement paymentMessageText;
+    // Sets every field through the native value setter (so framework bindings see it), fires
+    // input/change like a user would, and reads the value back. Returns {id: {actual, error}}.
+    private static final String FILL_FORM_SCRIPT =
+        "var fields = arguments[0], results = {};"
+        + "for (var id in fields) {"
+        + "  var expected = fields[id], el = document.getElementById(id), r = {};"
+        + "  results[id] = r;"
+        + "  if (!el) { r.error = 'element not found'; continue; }"
+        + "  if (el.disabled || el.readOnly) { r.error = 'element is not editable'; continue; }"
+        + "  var style = window.getComputedStyle(el);"
+        + "  if (style.display === 'none' || style.visibility === 'hidden' || el.getClientRects().length === 0) {"
+        + "    r.error = 'element is not visible'; continue;"
+        + "  }"
+        + "  if (el.tagName === 'SELECT') {"
+        + "    var found = false;"
+        + "    for (var i = 0; i < el.options.length; i++) { if (el.options[i].value === expected) { found = true; break; } }"
+        + "    if (!found) { r.error = \"option '\" + expected + \"' does not exist\"; r.actual = el.value; continue; }"
+        + "  }"
+        + "  var proto = el.tagName === 'SELECT' ? HTMLSelectElement.prototype"
+        + "    : el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+        + "  el.focus();"
+        + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, expected);"
+        + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+        + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+        + "  el.blur();"
+        + "  r.actual = el.value;"
+        + "}"
+        + "return results;";
+
+    private static final String PAGE_TITLE = "Dummy Checkout";
+    private static final List<String> FORM_FIELD_IDS =
+        Arrays.asList("cardNumber", "cardHolderName", "expiryMonth", "expiryYear", "cvv");
+
+    // Records the freshly loaded form values and payment message on window; a real navigation
+    // discards window, so a snapshot found later proves the document was never reloaded.
+    private static final String SNAPSHOT_SCRIPT =
+        "var ids = arguments[1], fields = {}, msg = document.getElementById('paymentMessage');"
+        + "if (!msg) return false;"
+        + "for (var i = 0; i < ids.length; i++) {"
+        + "  var el = document.getElementById(ids[i]);"
+        + "  if (!el) return false;"
+        + "  fields[ids[i]] = el.value;"
+        + "}"
+        + "window.__checkoutSnapshot = {url: arguments[0], href: location.href, fields: fields,"
+        + "  message: {html: msg.innerHTML, className: msg.className}};"
+        + "return true;";
+
+    // Puts the form and #paymentMessage back to the snapshot if this is still the same document
+    // at the same address. Returns {restored, title} or {restored: false, reason}.
+    private static final String RESTORE_SCRIPT =
+        "var snap = window.__checkoutSnapshot;"
+        + "if (!snap) return {restored: false, reason: 'no snapshot in this document'};"
+        + "if (snap.url !== arguments[0]) return {restored: false, reason: 'snapshot is for ' + snap.url};"
+        + "if (snap.href !== location.href) return {restored: false, reason: 'address changed to ' + location.href};"
+        + "if (document.readyState !== 'complete') return {restored: false, reason: 'document is ' + document.readyState};"
+        + "var msg = document.getElementById('paymentMessage');"
+        + "if (!msg) return {restored: false, reason: 'missing #paymentMessage'};"
+        + "for (var id in snap.fields) {"
+        + "  if (!document.getElementById(id)) return {restored: false, reason: 'missing #' + id};"
+        + "}"
+        + "if (document.activeElement && document.activeElement.blur) document.activeElement.blur();"
+        + "for (id in snap.fields) {"
+        + "  var el = document.getElementById(id);"
+        + "  if (el.value === snap.fields[id]) continue;"
+        + "  el.value = snap.fields[id];"
+        + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+        + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+        + "}"
+        + "msg.innerHTML = snap.message.html;"
+        + "msg.className = snap.message.className;"
+        + "window.scrollTo(0, 0);"
+        + "return {restored: true, title: document.title};";
+
+    // --- Web Elements (resolved once per page load, see ElementCache) ---
+    private final ElementCache elements;
+    private final WebElement cardNumberInput;
+    private final WebElement cardHolderNameInput;
+    private final WebElement expiryMonthSelect;
+    private final WebElement expiryYearSelect;
+    private final WebElement cvvInput;
+    private final WebElement payButton;
+    private final WebElement paymentMessageText;
 
     // --- Constructor ---
     public CheckoutPage(WebDriver driver) {
         this.driver = driver;
         int explicitWait = ConfigReader.getIntProperty("explicit.wait.seconds", 20);
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
-        PageFactory.initElements(driver, this);
+        this.waits = new AdaptiveWaitPolicy(driver, Duration.ofSeconds(explicitWait));
+        this.domWaits = new DomWaits(driver, Duration.ofSeconds(explicitWait));
+        this.batchedFill = "batched".equalsIgnoreCase(ConfigReader.getProperty("ui.form.fill.mode", "interactive"));
+        this.strictReload = ConfigReader.getBooleanProperty("ui.checkout.strict.reload", false);
+        this.elements = new ElementCache(driver);
+        this.cardNumberInput = elements.element("cardNumber", By.id("cardNumber"));
+        this.cardHolderNameInput = elements.element("cardHolderName", By.id("cardHolderName"));
+        this.expiryMonthSelect = elements.element("expiryMonth", By.id("expiryMonth"));
+        this.expiryYearSelect = elements.element("expiryYear", By.id("expiryYear"));
+        this.cvvInput = elements.element("cvv", By.id("cvv"));
+        this.payButton = elements.element("payButton", By.id("payButton"));
+        this.paymentMessageText = elements.element("paymentMessage", By.id("paymentMessage"));
     }
 
     // --- Page Actions with Enhanced Validations ---
     public void navigateTo(String url) {
         System.out.println("Navigating to: " + url);
+        pendingFields.clear();
+        if (!strictReload && restoreInPlace(url)) {
+            return;
+        }
         try {
             driver.get(url);
+            elements.invalidate();
             
             // Wait for page to load and verify key elements are present
-            waitForElementToBeVisible(cardNumberInput, "Card number input field");
+            waitForElementToBeVisible(cardNumberInput, "cardNumber", "Card number input field");
             
             // Validate page title
             String pageTitle = driver.getTitle();
-            if (!pageTitle.contains("Dummy Checkout")) {
-                throw new RuntimeException("Page title validation failed. Expected to contain 'Dummy Checkout', actual: " + pageTitle);
+            if (!pageTitle.contains(PAGE_TITLE)) {
+                throw new RuntimeException("Page title validation failed. Expected to contain '" + PAGE_TITLE + "', actual: " + pageTitle);
             }
             
             System.out.println("Page loaded successfully with title: " + pageTitle);
+            BrowserTimingCollector.collect(driver, "checkout");
+            if (!strictReload) {
+                ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, url, FORM_FIELD_IDS);
+            }
+            TestObservabilitySystem.recordPageEntry("checkout", "reloaded");
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to navigate to checkout page: " + url, e);
         }
     }
 
+    /**
+     * Resets the checkout page already shown in this browser (e.g. left by the previous scenario
+     * on a pooled session) in one script call. False when the page has to be loaded instead.
+     */
+    private boolean restoreInPlace(String url) {
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, url);
+        } catch (WebDriverException e) {
+            System.out.println("In-place restore not possible, reloading: " + e.getMessage());
+            return false;
+        }
+        Map<?, ?> outcome = result instanceof Map ? (Map<?, ?>) result : Collections.emptyMap();
+        if (!Boolean.TRUE.equals(outcome.get("restored"))) {
+            if (outcome.get("reason") != null) {
+                System.out.println("In-place restore not possible, reloading: " + outcome.get("reason"));
+            }
+            return false;
+        }
+        String pageTitle = String.valueOf(outcome.get("title"));
+        if (!pageTitle.contains(PAGE_TITLE)) {
+            System.out.println("In-place restore found unexpected title '" + pageTitle + "', reloading");
+            return false;
+        }
+        TestObservabilitySystem.recordPageEntry("checkout", "restored");
+        System.out.println("Checkout page restored in place with title: " + pageTitle);
+        return true;
+    }
+
     public void enterCardNumber(String cardNumber) {
         System.out.println("Entering card number: " + maskCardNumber(cardNumber));
         
         // Input validation
         validateCardNumberFormat(cardNumber);
+        if (stage("cardNumber", cardNumber)) return;
         
-        waitForElementToBeClickable(cardNumberInput, "Card number input");
-        clearAndEnterText(cardNumberInput, cardNumber);
+        waitForElementToBeClickable(cardNumberInput, "cardNumber", "Card number input");
+        clearAndEnterText(cardNumberInput, "cardNumber", cardNumber);
         validateCardNumberInput(cardNumber);
         
         System.out.println("Card number entered and validated successfully");
@@ -92,9 +220,10 @@ public class CheckoutPage {
         
         // Input validation
         validateCardholderNameFormat(name);
+        if (stage("cardHolderName", name)) return;
         
-        waitForElementToBeClickable(cardHolderNameInput, "Cardholder name input");
-        clearAndEnterText(cardHolderNameInput, name);
+        waitForElementToBeClickable(cardHolderNameInput, "cardHolderName", "Cardholder name input");
+        clearAndEnterText(cardHolderNameInput, "cardHolderName", name);
         validateTextInput(cardHolderNameInput, name, "Cardholder name");
         
         System.out.println("Cardholder name entered and validated successfully");
@@ -105,9 +234,10 @@ public class CheckoutPage {
         
         // Input validation
         validateCvvFormat(cvv);
+        if (stage("cvv", cvv)) return;
         
-        waitForElementToBeClickable(cvvInput, "CVV input");
-        clearAndEnterText(cvvInput, cvv);
+        waitForElementToBeClickable(cvvInput, "cvv", "CVV input");
+        clearAndEnterText(cvvInput, "cvv", cvv);
         validateCvvInput(cvv);
         
         System.out.println("CVV entered and validated successfully");
@@ -118,9 +248,13 @@ public class CheckoutPage {
         
         // Input validation
         validateExpiryDateFormat(month, year);
+        if (stage("expiryMonth", month)) {
+            stage("expiryYear", year);
+            return;
+        }
         
-        waitForElementToBeClickable(expiryMonthSelect, "Expiry month select");
-        waitForElementToBeClickable(expiryYearSelect, "Expiry year select");
+        waitForElementToBeClickable(expiryMonthSelect, "expiryMonth", "Expiry month select");
+        waitForElementToBeClickable(expiryYearSelect, "expiryYear", "Expiry year select");
         
         Select monthSelect = new Select(expiryMonthSelect);
         Select yearSelect = new Select(expiryYearSelect);
@@ -129,8 +263,8 @@ public class CheckoutPage {
         validateSelectOptionExists(monthSelect, month, "month");
         validateSelectOptionExists(yearSelect, year, "year");
         
-        monthSelect.selectByValue(month);
-        yearSelect.selectByValue(year);
+        waits.action("expiryMonth.select", () -> monthSelect.selectByValue(month));
+        waits.action("expiryYear.select", () -> yearSelect.selectByValue(year));
         
         // Validate selections
         validateSelectValue(monthSelect, month, "Expiry month");
@@ -142,7 +276,8 @@ public class CheckoutPage {
     public void clickPayButton() {
         System.out.println("Clicking Pay Now button");
         
-        waitForElementToBeClickable(payButton, "Pay button");
+        flushPendingFields();
+        waitForElementToBeClickable(payButton, "payButton", "Pay button");
         
         // Verify button is enabled
         if (!payButton.isEnabled()) {
@@ -151,12 +286,26 @@ public class CheckoutPage {
         
         // Scroll element into view if needed
         scrollToElement(payButton);
-        payButton.click();
+        waits.action("payButton.click", payButton::click);
         
         System.out.println("Pay button clicked successfully");
         
         // Wait for payment processing to complete
         waitForPaymentResult();
+        BrowserTimingCollector.collect(driver, "checkout_payment");
+    }
+
+    /**
+     * Sets and verifies the fields (element id to value; inputs and selects) in a single script
+     * execution, dispatching input/change events so the page's own validation runs.
+     */
+    public FormFillResult fillForm(Map<String, String> fieldValues) {
+        Object result = ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, fieldValues);
+        return FormFillResult.fromScript(fieldValues, result);
+    }
+
+    public ElementCache getElementCache() {
+        return elements;
     }
 
     public String getPaymentResultMessage() {
@@ -164,9 +313,9 @@ public class CheckoutPage {
         
         try {
             // Wait for payment message to appear
-            waitForElementToBeVisible(paymentMessageText, "Payment result message");
+            waitForElementToBeVisible(paymentMessageText, "paymentMessage", "Payment result message");
             
-            String message = paymentMessageText.getText().trim();
+            String message = waits.action("paymentMessage.read", () -> paymentMessageText.getText().trim());
             System.out.println("Payment result message: '" + message + "'");
             
             if (message.isEmpty()) {
@@ -285,26 +434,60 @@ public class CheckoutPage {
     }
 
     // --- Private utility methods ---
-    private void waitForElementToBeVisible(WebElement element, String elementName) {
+    private boolean stage(String fieldId, String value) {
+        if (!batchedFill) return false;
+        pendingFields.put(fieldId, value);
+        System.out.println("Staged " + fieldId + " for batched form fill");
+        return true;
+    }
+
+    private void flushPendingFields() {
+        if (pendingFields.isEmpty()) return;
+        
+        FormFillResult result = fillForm(pendingFields);
+        pendingFields.clear();
+        if (!result.isSuccessful()) {
+            StringBuilder failures = new StringBuilder();
+            for (FormFillResult.FieldResult field : result.getFailures()) {
+                if (failures.length() > 0) failures.append("; ");
+                failures.append(field.getId()).append(": ")
+                    .append(field.getError() != null ? field.getError()
+                        : "expected " + displayValue(field.getId(), field.getExpected())
+                            + ", actual " + displayValue(field.getId(), field.getActual()));
+            }
+            throw new RuntimeException("Batched form fill failed: " + failures);
+        }
+        System.out.println("Filled and validated " + result.getFields().size() + " fields in one round trip");
+    }
+
+    private String displayValue(String fieldId, String value) {
+        if ("cardNumber".equals(fieldId)) return maskCardNumber(value);
+        if ("cvv".equals(fieldId)) return "***";
+        return value;
+    }
+
+    private void waitForElementToBeVisible(WebElement element, String locator, String elementName) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            waits.until(locator, ExpectedConditions.visibilityOf(element));
         } catch (TimeoutException e) {
             throw new RuntimeException("Element not visible within timeout: " + elementName, e);
         }
     }
 
-    private void waitForElementToBeClickable(WebElement element, String elementName) {
+    private void waitForElementToBeClickable(WebElement element, String locator, String elementName) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            waits.until(locator, ExpectedConditions.elementToBeClickable(element));
         } catch (TimeoutException e) {
             throw new RuntimeException("Element not clickable within timeout: " + elementName, e);
         }
     }
 
-    private void clearAndEnterText(WebElement element, String text) {
+    private void clearAndEnterText(WebElement element, String locator, String text) {
         try {
-            element.clear();
-            element.sendKeys(text);
+            waits.action(locator + ".type", () -> {
+                element.clear();
+                element.sendKeys(text);
+            });
         } catch (Exception e) {
             throw new RuntimeException("Failed to enter text: " + text, e);
         }
@@ -312,9 +495,8 @@ public class CheckoutPage {
 
     private void scrollToElement(WebElement element) {
         try {
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView(true);", element);
-            Thread.sleep(500); // Brief pause after scrolling
+            // returns once the element has stopped moving instead of sleeping
+            domWaits.scrollIntoViewAndSettle(element);
         } catch (Exception e) {
             System.err.println("Failed to scroll to element: " + e.getMessage());
         }
@@ -322,11 +504,10 @@ public class CheckoutPage {
 
     private void waitForPaymentResult() {
         try {
-            // Wait for either success or error message to appear
-            wait.until(ExpectedConditions.or(
-                ExpectedConditions.textToBePresentInElement(paymentMessageText, "Payment Successful"),
-                ExpectedConditions.textToBePresentInElement(paymentMessageText, "Error:")
-            ));
+            // Wait for either success or error message to appear (MutationObserver, no polling),
+            // bounded by the timeout learned for this locator
+            waits.within("paymentMessage",
+                timeout -> domWaits.waitForText(timeout, paymentMessageText, "Payment Successful", "Error:"));
         } catch (TimeoutException e) {
             System.err.println("Payment result did not appear within timeout: " + e.getMessage());
             throw new RuntimeException("Payment processing timeout", e);
@@ -0,0 +1,124 @@
+package com.comercia.fintech.pageObjects;
+
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Element references for a page object, looked up once per page load instead of on every call
+ * as PageFactory proxies do. Each element is a proxy that finds its locator on first use and
+ * reuses the remote reference afterwards; {@link #invalidate()} drops all references (call it on
+ * navigation), and a reference that has gone stale is looked up again and the call retried once.
+ * Missing elements are never cached, so waits keep polling until the element exists.
+ */
+public class ElementCache {
+
+    private final SearchContext context;
+    private final List<Entry> entries = new ArrayList<>();
+    private long hits;
+    private long misses;
+    private long staleRefreshes;
+
+    public ElementCache(SearchContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Element for the locator, resolved lazily and cached until invalidated.
+     */
+    public WebElement element(String name, By by) {
+        Entry entry = new Entry(name, by);
+        entries.add(entry);
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class}, entry);
+    }
+
+    /**
+     * Forgets every resolved reference, e.g. after the page was (re)loaded.
+     */
+    public void invalidate() {
+        for (Entry entry : entries) {
+            entry.resolved = null;
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getStaleRefreshes() {
+        return staleRefreshes;
+    }
+
+    public String describe() {
+        return "element cache: " + hits + " hit(s), " + misses + " lookup(s), " + staleRefreshes + " stale refresh(es)";
+    }
+
+    private class Entry implements InvocationHandler {
+        private final String name;
+        private final By by;
+        private WebElement resolved;
+
+        Entry(String name, By by) {
+            this.name = name;
+            this.by = by;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return "Cached element '" + name + "' (" + by + ")";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "getWrappedElement":
+                    return resolve();
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(resolve(), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) throw e.getCause();
+            }
+            // the page re-rendered this element since it was looked up
+            resolved = null;
+            staleRefreshes++;
+            TestObservabilitySystem.recordElementCacheLookup("stale");
+            try {
+                return method.invoke(resolve(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private WebElement resolve() {
+            if (resolved != null) {
+                hits++;
+                TestObservabilitySystem.recordElementCacheLookup("hit");
+                return resolved;
+            }
+            misses++;
+            TestObservabilitySystem.recordElementCacheLookup("miss");
+            resolved = context.findElement(by);
+            return resolved;
+        }
+    }
+}
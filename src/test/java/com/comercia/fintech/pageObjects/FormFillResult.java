@@ -0,0 +1,94 @@
+package com.comercia.fintech.pageObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batched form fill: per field (by element id) the value requested, the value the
+ * page holds after input/change events ran, and why the field could not be set, if it could not.
+ */
+public class FormFillResult {
+
+    private final Map<String, FieldResult> fields;
+
+    FormFillResult(Map<String, FieldResult> fields) {
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    @SuppressWarnings("unchecked")
+    static FormFillResult fromScript(Map<String, String> requested, Object scriptResult) {
+        Map<String, Object> raw = scriptResult instanceof Map ? (Map<String, Object>) scriptResult : Collections.emptyMap();
+        Map<String, FieldResult> fields = new LinkedHashMap<>();
+        requested.forEach((id, expected) -> {
+            Object value = raw.get(id);
+            Map<String, Object> field = value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+            fields.put(id, new FieldResult(id, expected,
+                field.get("actual") != null ? field.get("actual").toString() : null,
+                value == null ? "no result returned" : (String) field.get("error")));
+        });
+        return new FormFillResult(fields);
+    }
+
+    public boolean isSuccessful() {
+        for (FieldResult field : fields.values()) {
+            if (!field.isOk()) return false;
+        }
+        return true;
+    }
+
+    public Map<String, FieldResult> getFields() {
+        return fields;
+    }
+
+    public FieldResult getField(String id) {
+        return fields.get(id);
+    }
+
+    public List<FieldResult> getFailures() {
+        List<FieldResult> failures = new ArrayList<>();
+        for (FieldResult field : fields.values()) {
+            if (!field.isOk()) failures.add(field);
+        }
+        return failures;
+    }
+
+    public static class FieldResult {
+        private final String id;
+        private final String expected;
+        private final String actual;
+        private final String error;
+
+        FieldResult(String id, String expected, String actual, String error) {
+            this.id = id;
+            this.expected = expected;
+            this.actual = actual;
+            this.error = error;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getExpected() {
+            return expected;
+        }
+
+        /**
+         * Value read back after the events fired; null if the field was never set.
+         */
+        public String getActual() {
+            return actual;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isOk() {
+            return error == null && expected != null && expected.equals(actual);
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package com.comercia.fintech.runners;
 
-import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
 import org.junit.runner.RunWith;
 
 /**
  * Runner específico para pruebas de API
  */
-@RunWith(Cucumber.class)
+@RunWith(ParallelCucumber.class)
 @CucumberOptions(
     features = "src/test/resources/features",
     glue = "com.comercia.fintech.stepDefinitions",
@@ -15,7 +14,10 @@ import org.junit.runner.RunWith;
         "pretty",
         "html:target/cucumber-reports/api-tests.html",
         "json:target/cucumber-reports/api-tests.json",
-        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+        "com.comercia.fintech.monitoring.tracing.TracingPlugin",
+        "com.comercia.fintech.monitoring.RoundTripBudgetPlugin",
+        "com.comercia.fintech.monitoring.ObservabilityPlugin"
     },
     tags = "@API",
     monochrome = true
@@ -0,0 +1,425 @@
+package com.comercia.fintech.runners;
+
+import com.comercia.fintech.driver.DriverBootstrap;
+import com.comercia.fintech.driver.WebDriverPool;
+import com.comercia.fintech.utils.ConfigReader;
+import io.cucumber.junit.Cucumber;
+import io.cucumber.junit.CucumberOptions;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop-in replacement for {@code @RunWith(Cucumber.class)} that can run scenarios concurrently.
+ * With parallel.execution=true (system property or config.properties) features and their
+ * scenarios are scheduled on one work-stealing pool of thread.count workers (default: CPU cores);
+ * a worker waiting for its feature's scenarios runs or steals queued ones instead of blocking.
+ * Cucumber creates step definition instances per scenario and a runner per thread, so glue
+ * classes only need to avoid static/global state. Otherwise it behaves exactly like Cucumber.
+ * <p>
+ * Scenario durations are recorded in scenario.history.file after every run. In parallel runs
+ * features and scenarios are then ordered longest-first (LPT) so long scenarios do not start last
+ * and leave one worker busy while the rest idle; with scenario.order.failed.first=true scenarios
+ * that failed last time run before everything else. A predicted vs actual makespan report is
+ * written to scenario.makespan.report.dir.
+ * <p>
+ * With -Dshard.total=N -Dshard.index=i (0-based) only this node's share of the scenarios runs,
+ * see {@link ShardFilter}; merge the per-shard outputs with {@link ShardResultMerger}. Shards only
+ * read scenario.history.file and write their durations to a per-shard file next to it, so a
+ * shard finishing early cannot change the partition the others compute.
+ */
+public class ParallelCucumber extends Runner implements Filterable, Orderable {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final Cucumber cucumber;
+    private final Class<?> testClass;
+    private final boolean parallel;
+    private final int threads;
+    private final ScenarioHistory history;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final boolean emptyShard;
+
+    public ParallelCucumber(Class<?> testClass) throws InitializationError {
+        this.cucumber = new Cucumber(testClass);
+        this.testClass = testClass;
+        this.parallel = Boolean.parseBoolean(setting("parallel.execution", "false"));
+        this.threads = threadCount();
+        String historyFile = setting("scenario.history.file", "");
+        this.history = historyFile.isEmpty() ? null : ScenarioHistory.load(Paths.get(historyFile));
+        this.shardTotal = Integer.parseInt(setting("shard.total", "1"));
+        this.shardIndex = Integer.parseInt(setting("shard.index", "0"));
+        this.emptyShard = !applyShard();
+    }
+
+    @Override
+    public Description getDescription() {
+        return cucumber.getDescription();
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        if (emptyShard) {
+            System.out.println("No scenarios assigned to this shard of " + testClass.getSimpleName());
+            return;
+        }
+        if (runsUiScenarios() && WebDriverPool.getInstance().isEnabled()) {
+            // browsers start while Cucumber is still parsing glue and running API scenarios
+            WebDriverPool.getInstance().prewarmConfigured(parallel ? threads : 1);
+        }
+        long predictedMakespan = orderScenarios();
+        DurationRecorder recorder = history != null ? new DurationRecorder(history) : null;
+        if (recorder != null) {
+            notifier.addListener(recorder);
+        }
+        long start = System.nanoTime();
+        try {
+            runScenarios(notifier);
+        } finally {
+            if (recorder != null) {
+                notifier.removeListener(recorder);
+                writeMakespanReport(recorder.getStartOrder(), predictedMakespan, (System.nanoTime() - start) / 1_000_000);
+                try {
+                    if (shardTotal > 1) {
+                        history.saveTo(history.shardFile(shardIndex));
+                    } else {
+                        history.save();
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println(e.getMessage());
+                }
+            }
+            DriverBootstrap.getBootstrapTimes().forEach((browser, elapsed) ->
+                System.out.println("WebDriver bootstrap for " + browser + " took " + elapsed.toMillis() + "ms"));
+        }
+    }
+
+    private void runScenarios(RunNotifier notifier) {
+        if (!parallel || threads < 2) {
+            cucumber.run(notifier);
+            return;
+        }
+
+        System.out.println("Running scenarios in parallel on " + threads + " threads");
+        ForkJoinPool pool = new ForkJoinPool(threads, ParallelCucumber::newWorker, null, false);
+        try {
+            // also switches Cucumber's non-concurrent plugins (pretty, html, json) to a serialising bus
+            cucumber.setScheduler(new WorkStealingScheduler(pool));
+            for (ParentRunner<?> feature : features()) {
+                feature.setScheduler(new WorkStealingScheduler(pool));
+            }
+            cucumber.run(notifier);
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        cucumber.filter(filter);
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        cucumber.sort(sorter);
+    }
+
+    @Override
+    public void order(Orderer orderer) throws InvalidOrderingException {
+        cucumber.order(orderer);
+    }
+
+    /**
+     * Restricts the run to this node's shard; returns false when the shard has no scenarios.
+     */
+    private boolean applyShard() {
+        int total = shardTotal;
+        if (total <= 1) return true;
+
+        int index = shardIndex;
+        double tolerance = Double.parseDouble(setting("shard.balance.tolerance", "0.1"));
+        ShardFilter shard = new ShardFilter(cucumber.getDescription(), index, total,
+            history != null ? history::predictedMillis : scenario -> 1L, tolerance);
+        long[] load = shard.getPredictedLoad();
+        System.out.println("Running " + shard.describe() + " of " + testClass.getSimpleName() + ": "
+            + shard.getSelectedCount() + "/" + shard.getScenarioCount() + " scenarios, predicted "
+            + load[index] + (history != null && !history.isEmpty() ? "ms" : " units")
+            + " (all shards: " + Arrays.toString(load) + "), partition " + shard.getPartitionDigest());
+        try {
+            cucumber.filter(shard);
+            return true;
+        } catch (NoTestsRemainException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sorts features and scenarios by the history and returns the predicted makespan in ms
+     * (-1 without history).
+     */
+    private long orderScenarios() {
+        if (history == null || history.isEmpty()) return -1;
+
+        Comparator<Description> order = null;
+        if (Boolean.parseBoolean(setting("scenario.order.failed.first", "false"))) {
+            order = Comparator.comparing(description -> !history.failedLastRun(description));
+        }
+        if (parallel && threads > 1 && Boolean.parseBoolean(setting("scenario.order.longest.first", "true"))) {
+            Comparator<Description> longestFirst =
+                Comparator.comparingLong((Description description) -> history.predictedMillis(description)).reversed();
+            order = order == null ? longestFirst : order.thenComparing(longestFirst);
+        }
+        if (order != null) {
+            // stable sort: ties keep their feature file order
+            cucumber.sort(new Sorter(order));
+        }
+        return predictMakespan(runOrder(getDescription(), order), workers());
+    }
+
+    /**
+     * Scenarios in the order the sorted runners start them; Cucumber caches its Description,
+     * so the description tree itself keeps the feature file order.
+     */
+    private static List<Description> runOrder(Description description, Comparator<Description> order) {
+        List<Description> scenarios = new ArrayList<>();
+        if (description.isTest()) {
+            scenarios.add(description);
+            return scenarios;
+        }
+        List<Description> children = new ArrayList<>(description.getChildren());
+        if (order != null) {
+            children.sort(order);
+        }
+        for (Description child : children) {
+            scenarios.addAll(runOrder(child, order));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Greedy list scheduling of the scenarios, in run order, onto the workers.
+     */
+    private long predictMakespan(List<Description> scenarios, int workers) {
+        PriorityQueue<Long> lanes = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) lanes.add(0L);
+        for (Description scenario : scenarios) {
+            lanes.add(lanes.poll() + history.predictedMillis(scenario));
+        }
+        long makespan = 0;
+        for (long lane : lanes) makespan = Math.max(makespan, lane);
+        return makespan;
+    }
+
+    private void writeMakespanReport(List<Description> scenarios, long predictedMakespan, long actualMakespan) {
+        long predictedWork = 0;
+        long actualWork = 0;
+        List<String> rows = new ArrayList<>();
+        for (Description scenario : scenarios) {
+            long actual = history.observedMillis(scenario);
+            if (actual < 0) continue;
+            long predicted = history.isKnown(scenario) ? history.predictedMillis(scenario) : -1;
+            predictedWork += Math.max(0, predicted);
+            actualWork += actual;
+            rows.add(String.format("%10s %10d  %s", predicted < 0 ? "new" : Long.toString(predicted), actual,
+                ScenarioHistory.key(scenario)));
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("Makespan report for " + testClass.getSimpleName() + " (" + workers() + " worker(s))");
+        lines.add("Predicted makespan: " + (predictedMakespan < 0 ? "n/a (no history yet)" : predictedMakespan + "ms"));
+        lines.add("Actual makespan:    " + actualMakespan + "ms");
+        lines.add("Scenario time:      " + actualWork + "ms actual, " + predictedWork + "ms predicted for known scenarios");
+        if (actualMakespan > 0) {
+            lines.add(String.format("Worker utilisation: %.1f%%", 100.0 * actualWork / (actualMakespan * (double) workers())));
+        }
+        lines.add("");
+        lines.add(String.format("%10s %10s  %s", "predicted", "actual", "scenario (start order)"));
+        lines.addAll(rows);
+
+        System.out.println(lines.get(1) + ", " + lines.get(2).replaceAll(" +", " "));
+        Path report = Paths.get(setting("scenario.makespan.report.dir", "target/makespan"),
+            testClass.getSimpleName() + ".txt");
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.write(report, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write makespan report " + report + ": " + e.getMessage());
+        }
+    }
+
+    private int workers() {
+        return parallel ? threads : 1;
+    }
+
+    /**
+     * Command line flags (e.g. the Dockerfile's -Dthread.count) win over config.properties.
+     */
+    static String setting(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value != null && !value.trim().isEmpty() ? value.trim() : ConfigReader.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Whether this runner's tag expression can select browser scenarios (see webdriver.pool.prewarm.tags).
+     */
+    private boolean runsUiScenarios() {
+        String tags = System.getProperty("cucumber.filter.tags");
+        if (tags == null) {
+            CucumberOptions options = testClass.getAnnotation(CucumberOptions.class);
+            tags = options != null ? options.tags() : "";
+        }
+        if (tags.trim().isEmpty()) return true;
+
+        List<String> uiTags = ConfigReader.getListProperty("webdriver.pool.prewarm.tags");
+        for (String tag : uiTags.isEmpty() ? List.of("@UI") : uiTags) {
+            if (tags.contains(tag)) return true;
+        }
+        return false;
+    }
+
+    private static int threadCount() {
+        String value = setting("thread.count", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid thread.count '" + value + "', running scenarios sequentially");
+            return 1;
+        }
+    }
+
+    /**
+     * Cucumber's feature runners, which JUnit only exposes to subclasses through getChildren().
+     */
+    @SuppressWarnings("unchecked")
+    private List<ParentRunner<?>> features() {
+        try {
+            Method getChildren = ParentRunner.class.getDeclaredMethod("getChildren");
+            getChildren.setAccessible(true);
+            return (List<ParentRunner<?>>) getChildren.invoke(cucumber);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Could not access Cucumber feature runners", e);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("cucumber-worker-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    /**
+     * Times every scenario into the history; notified concurrently by the scenario workers.
+     */
+    @RunListener.ThreadSafe
+    private static class DurationRecorder extends RunListener {
+        private final ScenarioHistory history;
+        private final Map<Description, Long> started = new ConcurrentHashMap<>();
+        private final Set<Description> failed = ConcurrentHashMap.newKeySet();
+        private final Queue<Description> startOrder = new ConcurrentLinkedQueue<>();
+
+        DurationRecorder(ScenarioHistory history) {
+            this.history = history;
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            started.put(description, System.nanoTime());
+            startOrder.add(description);
+        }
+
+        List<Description> getStartOrder() {
+            return new ArrayList<>(startOrder);
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            failed.add(failure.getDescription());
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            // skipped or pending scenarios say nothing about how long they take
+            started.remove(failure.getDescription());
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            Long start = started.remove(description);
+            if (start != null) {
+                history.record(description, (System.nanoTime() - start) / 1_000_000, failed.remove(description));
+            }
+        }
+    }
+
+    /**
+     * Schedules one runner's children on the shared pool. Children scheduled from a pool worker
+     * go onto that worker's own deque, so finished() runs them in place or lets idle workers steal them.
+     */
+    private static class WorkStealingScheduler implements RunnerScheduler {
+        private final ForkJoinPool pool;
+        private final Queue<ForkJoinTask<?>> tasks = new ConcurrentLinkedQueue<>();
+
+        WorkStealingScheduler(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void schedule(Runnable child) {
+            ForkJoinTask<?> task = ForkJoinTask.adapt(child);
+            tasks.add(task);
+            if (ForkJoinTask.getPool() == pool) {
+                task.fork();
+            } else {
+                pool.execute(task);
+            }
+        }
+
+        @Override
+        public void finished() {
+            ForkJoinTask<?> task;
+            while ((task = tasks.poll()) != null) {
+                task.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.comercia.fintech.runners;
+
+import org.junit.runner.Description;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-scenario duration history kept between runs in a small tab-separated file
+ * (scenario, smoothed duration in ms, last status, last run). Scenarios are identified by
+ * feature and scenario name as Cucumber reports them to JUnit. Durations are smoothed so a
+ * single slow run does not reorder the whole suite.
+ */
+class ScenarioHistory {
+
+    private static final double SMOOTHING = 0.5;
+    private static final String HEADER = "# scenario\tduration_ms\tlast_status\tlast_run_epoch_ms";
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> observed = new ConcurrentHashMap<>();
+    private final long defaultMillis;
+
+    private ScenarioHistory(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+        this.defaultMillis = entries.isEmpty() ? 0
+            : Math.round(entries.values().stream().mapToLong(entry -> entry.millis).average().orElse(0));
+    }
+
+    /**
+     * Loads the history file; a missing or unreadable file gives an empty history.
+     */
+    static ScenarioHistory load(Path file) {
+        return new ScenarioHistory(file, read(file));
+    }
+
+    static String key(Description scenario) {
+        return clean(scenario.getClassName()) + " :: " + clean(scenario.getMethodName());
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    boolean isKnown(Description scenario) {
+        return entries.containsKey(key(scenario));
+    }
+
+    /**
+     * Expected duration of a scenario, or of all scenarios under a feature/suite description.
+     * Unknown scenarios are assumed to take the historical average.
+     */
+    long predictedMillis(Description description) {
+        if (description.isTest()) {
+            Entry entry = entries.get(key(description));
+            return entry != null ? entry.millis : defaultMillis;
+        }
+        long total = 0;
+        for (Description child : description.getChildren()) {
+            total += predictedMillis(child);
+        }
+        return total;
+    }
+
+    /**
+     * Whether the scenario, or any scenario under the description, failed on its last run.
+     */
+    boolean failedLastRun(Description description) {
+        if (description.isTest()) {
+            Entry entry = entries.get(key(description));
+            return entry != null && entry.failed;
+        }
+        for (Description child : description.getChildren()) {
+            if (failedLastRun(child)) return true;
+        }
+        return false;
+    }
+
+    void record(Description scenario, long millis, boolean failed) {
+        observed.put(key(scenario), new Entry(millis, failed, System.currentTimeMillis()));
+    }
+
+    /**
+     * Observed duration of this run, or -1 if the scenario did not finish.
+     */
+    long observedMillis(Description scenario) {
+        Entry entry = observed.get(key(scenario));
+        return entry != null ? entry.millis : -1;
+    }
+
+    /**
+     * Merges this run into the file. The file is re-read first so runners finishing in other
+     * JVMs are not overwritten, and replaced atomically.
+     */
+    void save() {
+        if (observed.isEmpty()) return;
+        Map<String, Entry> merged = new TreeMap<>(read(file));
+        observed.forEach((key, run) -> merged.put(key, smoothed(merged.get(key), run)));
+        write(file, merged);
+    }
+
+    /**
+     * Writes the loaded history plus this run to {@code target} and leaves the loaded file alone,
+     * so shards of one run all partition from the same history. Entries another runner already
+     * wrote to {@code target} are kept.
+     */
+    void saveTo(Path target) {
+        if (observed.isEmpty()) return;
+        Map<String, Entry> merged = new TreeMap<>(entries);
+        read(target).forEach((key, entry) -> merged.merge(key, entry, ScenarioHistory::newest));
+        observed.forEach((key, run) -> merged.put(key, smoothed(entries.get(key), run)));
+        write(target, merged);
+    }
+
+    /**
+     * History file of one shard, next to the shared file (scenario-durations.shard-1.tsv);
+     * fold the shard files back into the shared one with {@code ShardResultMerger history}.
+     */
+    Path shardFile(int index) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return file.resolveSibling(dot > 0
+            ? name.substring(0, dot) + ".shard-" + index + name.substring(dot)
+            : name + ".shard-" + index);
+    }
+
+    private static Entry smoothed(Entry previous, Entry run) {
+        long millis = previous == null ? run.millis
+            : Math.round(SMOOTHING * run.millis + (1 - SMOOTHING) * previous.millis);
+        return new Entry(millis, run.failed, run.lastRun);
+    }
+
+    private static Entry newest(Entry a, Entry b) {
+        return a.lastRun >= b.lastRun ? a : b;
+    }
+
+    private static void write(Path file, Map<String, Entry> entries) {
+        Map<String, Entry> merged = new TreeMap<>(entries);
+        List<String> lines = new ArrayList<>(merged.size() + 1);
+        lines.add(HEADER);
+        merged.forEach((key, entry) -> lines.add(key + "\t" + entry.millis + "\t"
+            + (entry.failed ? "FAILED" : "PASSED") + "\t" + entry.lastRun));
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write scenario history " + file, e);
+        }
+    }
+
+    /**
+     * Combines history files from several shards; the most recent run of each scenario wins.
+     */
+    static void merge(Path output, List<Path> inputs) {
+        Map<String, Entry> merged = new ConcurrentHashMap<>();
+        for (Path input : inputs) {
+            read(input).forEach((key, entry) -> merged.merge(key, entry, ScenarioHistory::newest));
+        }
+        write(output, merged);
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) return entries;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\t");
+                if (fields.length < 4) continue;
+                try {
+                    entries.put(fields[0], new Entry(Long.parseLong(fields[1]), "FAILED".equals(fields[2]),
+                        Long.parseLong(fields[3])));
+                } catch (NumberFormatException e) {
+                    // skip hand-edited or truncated lines
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable scenario history " + file + ": " + e.getMessage());
+        }
+        return entries;
+    }
+
+    private static String clean(String name) {
+        return name == null ? "" : name.replaceAll("[\\t\\r\\n]+", " ").trim();
+    }
+
+    private static class Entry {
+        private final long millis;
+        private final boolean failed;
+        private final long lastRun;
+
+        Entry(long millis, boolean failed, long lastRun) {
+            this.millis = millis;
+            this.failed = failed;
+            this.lastRun = lastRun;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.comercia.fintech.runners;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScenarioHistoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Description checkout = Description.createTestDescription("Checkout", "Pay with card");
+    private final Description refund = Description.createTestDescription("Refunds", "Full refund");
+
+    @Test
+    public void shardWritesItsOwnFileAndLeavesSharedHistoryAlone() throws Exception {
+        Path shared = folder.getRoot().toPath().resolve("scenario-durations.tsv");
+        List<String> original = Arrays.asList("# header",
+            "Checkout :: Pay with card\t1000\tPASSED\t1", "Refunds :: Full refund\t4000\tPASSED\t1");
+        Files.write(shared, original, StandardCharsets.UTF_8);
+
+        ScenarioHistory history = ScenarioHistory.load(shared);
+        history.record(checkout, 3000, true);
+        Path shardFile = history.shardFile(1);
+        history.saveTo(shardFile);
+
+        assertEquals(folder.getRoot().toPath().resolve("scenario-durations.shard-1.tsv"), shardFile);
+        assertEquals(original, Files.readAllLines(shared, StandardCharsets.UTF_8));
+        ScenarioHistory written = ScenarioHistory.load(shardFile);
+        assertEquals("smoothed against the shared history", 2000, written.predictedMillis(checkout));
+        assertTrue(written.failedLastRun(checkout));
+        assertEquals("untouched scenarios are carried over", 4000, written.predictedMillis(refund));
+    }
+
+    @Test
+    public void mergingShardFilesKeepsEachShardsLatestRun() throws Exception {
+        Path shared = folder.getRoot().toPath().resolve("scenario-durations.tsv");
+        Files.write(shared, Arrays.asList(
+            "Checkout :: Pay with card\t1000\tPASSED\t1", "Refunds :: Full refund\t4000\tPASSED\t1"),
+            StandardCharsets.UTF_8);
+
+        ScenarioHistory shard0 = ScenarioHistory.load(shared);
+        shard0.record(checkout, 3000, false);
+        shard0.saveTo(shard0.shardFile(0));
+        ScenarioHistory shard1 = ScenarioHistory.load(shared);
+        shard1.record(refund, 2000, true);
+        shard1.saveTo(shard1.shardFile(1));
+
+        ScenarioHistory.merge(shared, Arrays.asList(shard0.shardFile(0), shard1.shardFile(1)));
+
+        ScenarioHistory merged = ScenarioHistory.load(shared);
+        assertEquals(2000, merged.predictedMillis(checkout));
+        assertFalse(merged.failedLastRun(checkout));
+        assertEquals(3000, merged.predictedMillis(refund));
+        assertTrue(merged.failedLastRun(refund));
+    }
+}
@@ -0,0 +1,186 @@
+package com.comercia.fintech.runners;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps the scenarios that belong to one shard of a CI run (shard.index of shard.total, 0-based).
+ * Every shard computes the same partition from the scenario list and the duration history, using
+ * consistent hashing with bounded loads: each scenario has a fixed shard preference derived from
+ * its name, and goes to the first preferred shard whose predicted time stays under
+ * (1 + tolerance) x the average. Adding or removing scenarios therefore moves only a few others,
+ * while long scenarios are still spread evenly. All shards must use the same history file; the
+ * partition digest they print must match, otherwise scenarios are run twice or not at all.
+ */
+public class ShardFilter extends Filter {
+
+    private final int index;
+    private final int total;
+    private final Set<Description> selected = new HashSet<>();
+    private final long[] predictedLoad;
+    private final int scenarioCount;
+    private final String partitionDigest;
+
+    public ShardFilter(Description root, int index, int total, ToLongFunction<Description> predictedMillis,
+                       double tolerance) {
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + total
+                + " (shard.index is 0-based and must be below shard.total)");
+        }
+        this.index = index;
+        this.total = total;
+        this.predictedLoad = new long[total];
+
+        List<Description> scenarios = new ArrayList<>();
+        collect(root, scenarios);
+        this.scenarioCount = scenarios.size();
+
+        // heaviest first, ties by name, so every shard sees the same sequence
+        scenarios.sort(Comparator.comparingLong((Description scenario) -> weight(scenario, predictedMillis))
+            .reversed()
+            .thenComparing(ScenarioHistory::key)
+            .thenComparing(Description::getDisplayName));
+        long work = 0;
+        for (Description scenario : scenarios) {
+            work += weight(scenario, predictedMillis);
+        }
+        double capacity = (1 + Math.max(0, tolerance)) * work / total;
+
+        List<String> assignments = new ArrayList<>(scenarios.size());
+        for (Description scenario : scenarios) {
+            long weight = weight(scenario, predictedMillis);
+            int shard = assign(ScenarioHistory.key(scenario), weight, capacity);
+            predictedLoad[shard] += weight;
+            assignments.add(ScenarioHistory.key(scenario) + "\t" + shard);
+            if (shard == index) {
+                selected.add(scenario);
+            }
+        }
+        this.partitionDigest = digest(assignments);
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return selected.contains(description);
+        }
+        for (Description child : description.getChildren()) {
+            if (shouldRun(child)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "shard " + index + " of " + total;
+    }
+
+    public int getSelectedCount() {
+        return selected.size();
+    }
+
+    public int getScenarioCount() {
+        return scenarioCount;
+    }
+
+    /**
+     * Short hash of the whole scenario-to-shard assignment; identical on every shard of a run.
+     */
+    public String getPartitionDigest() {
+        return partitionDigest;
+    }
+
+    /**
+     * Predicted milliseconds of work per shard.
+     */
+    public long[] getPredictedLoad() {
+        return predictedLoad.clone();
+    }
+
+    private int assign(String key, long weight, double capacity) {
+        int best = -1;
+        long bestScore = 0;
+        int leastLoaded = 0;
+        // walk shards in this scenario's preference order (highest rendezvous score first)
+        boolean[] tried = new boolean[total];
+        for (int attempt = 0; attempt < total; attempt++) {
+            best = -1;
+            for (int shard = 0; shard < total; shard++) {
+                if (tried[shard]) continue;
+                long score = score(key, shard);
+                if (best < 0 || Long.compareUnsigned(score, bestScore) > 0) {
+                    best = shard;
+                    bestScore = score;
+                }
+            }
+            tried[best] = true;
+            if (predictedLoad[best] + weight <= capacity) {
+                return best;
+            }
+        }
+        // nothing fits (a scenario longer than a fair share): fall back to the least loaded shard
+        for (int shard = 1; shard < total; shard++) {
+            if (predictedLoad[shard] < predictedLoad[leastLoaded]) leastLoaded = shard;
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * 64-bit FNV-1a of key and shard with a final avalanche; identical on every JVM.
+     */
+    private static long score(String key, int shard) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (key + "#" + shard).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static String digest(List<String> assignments) {
+        Collections.sort(assignments);
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String assignment : assignments) {
+                sha256.update((assignment + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = sha256.digest();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    private static long weight(Description scenario, ToLongFunction<Description> predictedMillis) {
+        // without history every scenario counts the same
+        return Math.max(1, predictedMillis.applyAsLong(scenario));
+    }
+
+    private static void collect(Description description, List<Description> scenarios) {
+        if (description.isTest()) {
+            scenarios.add(description);
+        } else {
+            for (Description child : description.getChildren()) {
+                collect(child, scenarios);
+            }
+        }
+    }
+}
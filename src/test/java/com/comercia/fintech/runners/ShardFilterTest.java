@@ -0,0 +1,153 @@
+package com.comercia.fintech.runners;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShardFilterTest {
+
+    private static final ToLongFunction<Description> UNIFORM = scenario -> 1L;
+
+    @Test
+    public void assignsEveryScenarioToExactlyOneShard() {
+        Description suite = suite(3, 40);
+        List<Description> scenarios = scenarios(suite);
+
+        for (int total = 1; total <= 7; total++) {
+            List<ShardFilter> shards = new ArrayList<>();
+            int selected = 0;
+            for (int index = 0; index < total; index++) {
+                ShardFilter shard = new ShardFilter(suite, index, total, durations(), 0.1);
+                shards.add(shard);
+                selected += shard.getSelectedCount();
+            }
+            for (Description scenario : scenarios) {
+                int owners = 0;
+                for (ShardFilter shard : shards) {
+                    if (shard.shouldRun(scenario)) owners++;
+                }
+                assertEquals(scenario + " with " + total + " shard(s)", 1, owners);
+            }
+            assertEquals(scenarios.size(), selected);
+        }
+    }
+
+    @Test
+    public void balancesPredictedDurationsWithinTolerance() {
+        Description suite = suite(4, 50);
+        ToLongFunction<Description> durations = durations();
+        ShardFilter shard = new ShardFilter(suite, 0, 4, durations, 0.1);
+
+        long[] load = shard.getPredictedLoad();
+        long work = 0;
+        long longest = 0;
+        for (Description scenario : scenarios(suite)) {
+            work += durations.applyAsLong(scenario);
+            longest = Math.max(longest, durations.applyAsLong(scenario));
+        }
+        for (long shardLoad : load) {
+            assertTrue("shard load " + shardLoad + " of " + work, shardLoad <= 1.1 * work / 4 + longest);
+        }
+    }
+
+    @Test
+    public void addingAShardMovesFewScenarios() {
+        Description suite = suite(5, 60);
+        Map<Description, Integer> before = owners(suite, 4, UNIFORM);
+        Map<Description, Integer> after = owners(suite, 5, UNIFORM);
+
+        int moved = 0;
+        int movedBetweenOldShards = 0;
+        for (Map.Entry<Description, Integer> entry : before.entrySet()) {
+            int now = after.get(entry.getKey());
+            if (now != entry.getValue()) {
+                moved++;
+                if (now != 4) movedBetweenOldShards++;
+            }
+        }
+        // ideal is 1/5 (only what the new shard takes); hash modulo N would move about 4/5
+        assertTrue("moved " + moved + " of " + before.size(), moved <= 0.25 * before.size());
+        assertTrue("moved between old shards " + movedBetweenOldShards, movedBetweenOldShards <= 0.05 * before.size());
+    }
+
+    @Test
+    public void addingAScenarioMovesFewOthers() {
+        Description suite = suite(5, 60);
+        Description grown = suite(5, 60);
+        grown.getChildren().get(0).addChild(Description.createTestDescription("Feature 0", "Scenario new"));
+
+        Map<Description, Integer> before = owners(suite, 4, UNIFORM);
+        Map<Description, Integer> after = owners(grown, 4, UNIFORM);
+
+        int moved = 0;
+        for (Map.Entry<Description, Integer> entry : before.entrySet()) {
+            if (!after.get(entry.getKey()).equals(entry.getValue())) moved++;
+        }
+        assertTrue("moved " + moved + " of " + before.size(), moved <= 0.05 * before.size());
+    }
+
+    @Test
+    public void everyShardReportsTheSamePartitionDigest() {
+        Description suite = suite(3, 20);
+        String digest = new ShardFilter(suite, 0, 3, durations(), 0.1).getPartitionDigest();
+
+        assertEquals(digest, new ShardFilter(suite, 1, 3, durations(), 0.1).getPartitionDigest());
+        assertEquals(digest, new ShardFilter(suite, 2, 3, durations(), 0.1).getPartitionDigest());
+        assertNotEquals("a different history gives a different partition",
+            digest, new ShardFilter(suite, 0, 3, UNIFORM, 0.1).getPartitionDigest());
+        assertNotEquals(digest, new ShardFilter(suite, 0, 4, durations(), 0.1).getPartitionDigest());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIndexOutsideTotal() {
+        new ShardFilter(suite(1, 1), 2, 2, UNIFORM, 0.1);
+    }
+
+    private static Description suite(int features, int scenariosPerFeature) {
+        Description suite = Description.createSuiteDescription("Suite");
+        for (int f = 0; f < features; f++) {
+            Description feature = Description.createSuiteDescription("Feature " + f);
+            for (int s = 0; s < scenariosPerFeature; s++) {
+                feature.addChild(Description.createTestDescription("Feature " + f, "Scenario " + s));
+            }
+            suite.addChild(feature);
+        }
+        return suite;
+    }
+
+    private static List<Description> scenarios(Description suite) {
+        List<Description> scenarios = new ArrayList<>();
+        for (Description feature : suite.getChildren()) {
+            scenarios.addAll(feature.getChildren());
+        }
+        return scenarios;
+    }
+
+    // deterministic spread of 1s to 60s, a few much longer than the rest
+    private static ToLongFunction<Description> durations() {
+        return scenario -> {
+            int n = Math.abs(ScenarioHistory.key(scenario).hashCode());
+            return n % 17 == 0 ? 120_000 : 1_000 + n % 60_000;
+        };
+    }
+
+    private static Map<Description, Integer> owners(Description suite, int total, ToLongFunction<Description> durations) {
+        Map<Description, Integer> owners = new HashMap<>();
+        for (int index = 0; index < total; index++) {
+            ShardFilter shard = new ShardFilter(suite, index, total, durations, 0.1);
+            for (Description scenario : scenarios(suite)) {
+                if (shard.shouldRun(scenario)) owners.put(scenario, index);
+            }
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,126 @@
+package com.comercia.fintech.runners;
+
+import groovy.json.JsonOutput;
+import io.restassured.path.json.JsonPath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the outputs of sharded runs (see {@link ShardFilter}) into one report:
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.comercia.fintech.runners.ShardResultMerger cucumber merged.json shard-0.json shard-1.json
+ * java -cp &lt;test classpath&gt; com.comercia.fintech.runners.ShardResultMerger allure target/allure-results shard-0/allure-results shard-1/allure-results
+ * java -cp &lt;test classpath&gt; com.comercia.fintech.runners.ShardResultMerger history .test-history/scenario-durations.tsv shard-0.tsv shard-1.tsv
+ * </pre>
+ * Cucumber JSON features split across shards are joined back into one feature, in first-seen
+ * order. Allure results are per-test files with unique names, so they are copied side by side.
+ */
+public class ShardResultMerger {
+
+    private ShardResultMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: ShardResultMerger cucumber|allure|history <output> <input>...");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[1]);
+        List<Path> inputs = Arrays.stream(args, 2, args.length).map(Paths::get).collect(Collectors.toList());
+        switch (args[0]) {
+            case "cucumber":
+                mergeCucumberJson(output, inputs);
+                break;
+            case "allure":
+                mergeAllureResults(output, inputs);
+                break;
+            case "history":
+                ScenarioHistory.merge(output, inputs);
+                break;
+            default:
+                System.err.println("Unknown result type: " + args[0]);
+                System.exit(2);
+        }
+        System.out.println("Merged " + inputs.size() + " shard result(s) into " + output);
+    }
+
+    /**
+     * Merges Cucumber JSON reports; missing inputs (shards with no scenarios) are skipped.
+     */
+    @SuppressWarnings("unchecked")
+    public static void mergeCucumberJson(Path output, List<Path> inputs) {
+        Map<Object, Map<String, Object>> features = new LinkedHashMap<>();
+        for (Path input : inputs) {
+            if (!Files.isRegularFile(input)) {
+                System.out.println("Skipping missing shard report " + input);
+                continue;
+            }
+            List<Map<String, Object>> report = new JsonPath(input.toFile()).getList("$");
+            if (report == null) continue;
+            for (Map<String, Object> feature : report) {
+                Object key = feature.containsKey("uri") ? feature.get("uri") : feature.get("id");
+                Map<String, Object> merged = features.get(key);
+                if (merged == null) {
+                    merged = new LinkedHashMap<>(feature);
+                    merged.put("elements", new ArrayList<>(elements(feature)));
+                    features.put(key, merged);
+                } else {
+                    ((List<Object>) merged.get("elements")).addAll(elements(feature));
+                }
+            }
+        }
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(output, JsonOutput.prettyPrint(JsonOutput.toJson(new ArrayList<>(features.values())))
+                .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write merged Cucumber report " + output, e);
+        }
+    }
+
+    /**
+     * Copies every shard's allure-results files into one directory. Files that are identical
+     * across shards (environment.properties, categories.json, executor.json) are written once.
+     */
+    public static void mergeAllureResults(Path output, List<Path> inputs) {
+        try {
+            Files.createDirectories(output);
+            for (Path input : inputs) {
+                if (!Files.isDirectory(input)) {
+                    System.out.println("Skipping missing shard results " + input);
+                    continue;
+                }
+                try (Stream<Path> files = Files.list(input)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Path target = output.resolve(file.getFileName());
+                        if (Files.isRegularFile(file) && !Files.exists(target)) {
+                            Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge Allure results into " + output, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> elements(Map<String, Object> feature) {
+        Object elements = feature.get("elements");
+        return elements instanceof List ? (List<Object>) elements : new ArrayList<>();
+    }
+}
@@ -1,6 +1,5 @@
 package com.comercia.fintech.runners;
 
-import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
 import org.junit.runner.RunWith;
 
@@ -8,7 +7,7 @@ import org.junit.runner.RunWith;
  * Test Runner principal para ejecutar todas las pruebas
  * Configuración mejorada con mejores reportes y manejo de errores
  */
-@RunWith(Cucumber.class)
+@RunWith(ParallelCucumber.class)
 @CucumberOptions(
     features = "src/test/resources/features",
     glue = "com.comercia.fintech.stepDefinitions",
@@ -18,6 +17,9 @@ import org.junit.runner.RunWith;
         "json:target/cucumber-reports/CucumberTestReport.json",
         "junit:target/cucumber-reports/CucumberTestReport.xml",
         "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+        "com.comercia.fintech.monitoring.tracing.TracingPlugin",
+        "com.comercia.fintech.monitoring.RoundTripBudgetPlugin",
+        "com.comercia.fintech.monitoring.ObservabilityPlugin",
         "timeline:target/cucumber-reports/timeline"
     },
     monochrome = true,
@@ -37,5 +39,8 @@ public class TestRunner {
      * mvn test -Dcucumber.filter.tags="@Positive"
      * mvn test -Dcucumber.filter.tags="@Negative"
      * mvn test -Dcucumber.filter.tags="@UI and @Positive"
+     * 
+     * Ejecución paralela de escenarios:
+     * mvn test -Dparallel.execution=true -Dthread.count=4
      */
 }
@@ -4,8 +4,10 @@ import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
 import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import com.comercia.fintech.utils.AttachmentPipeline;
 import com.comercia.fintech.utils.ConfigReader;
 import io.qameta.allure.Attachment;
 
@@ -13,6 +15,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNotNull;
 
+/**
+ * Cucumber creates a new instance per scenario, so these fields are scenario-scoped even when
+ * scenarios run in parallel; requests must not touch RestAssured's static configuration.
+ */
 public class PaymentAPISteps {
 
     private Response response;
@@ -34,17 +40,13 @@ public class PaymentAPISteps {
     @When("I send a GET request to the {string} endpoint")
     public void i_send_a_get_request_to_the_endpoint(String endpointPath) {
         try {
-            RestAssured.baseURI = baseUri;
-            
             // Set timeout from config
             int timeout = ConfigReader.getIntProperty("api.timeout.seconds", 30);
             
-            RequestSpecification request = RestAssured.given()
-                .config(RestAssured.config().httpClient(
-                    org.apache.http.client.config.RequestConfig.custom()
-                        .setSocketTimeout(timeout * 1000)
-                        .setConnectTimeout(timeout * 1000)
-                        .build()));
+            RequestSpecification request = newRequest()
+                .config(RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                    .setParam("http.connection.timeout", timeout * 1000)
+                    .setParam("http.socket.timeout", timeout * 1000)));
 
             // Replace placeholder {txnId} if present in the endpoint path
             String actualEndpoint = endpointPath.replace("{txnId}", this.transactionId);
@@ -54,17 +56,17 @@ public class PaymentAPISteps {
             // In a real test, you would execute: response = request.get(actualEndpoint);
             
             if (this.transactionId.endsWith("success")) {
-                response = RestAssured.given()
+                response = request
                     .when()
                     .get("https://run.mocky.io/v3/0199c398-9657-4578-9e07-f609093f0b0e");
                 System.out.println("Mocked successful API response.");
             } else if (this.transactionId.endsWith("failed")) {
-                response = RestAssured.given()
+                response = request
                     .when()
                     .get("https://run.mocky.io/v3/42042250-0126-4634-839c-90d512e62a0c");
                 System.out.println("Mocked failed API response.");
             } else {
-                response = RestAssured.given()
+                response = request
                     .when()
                     .get("https://run.mocky.io/v3/42042250-0126-4634-839c-90d512e62a0c");
                 System.out.println("Mocked default API response.");
@@ -142,14 +144,16 @@ public class PaymentAPISteps {
     }
 
     // --- Utility methods for Allure reporting ---
-    @Attachment(value = "API Response", type = "application/json")
-    public String attachApiResponse(Response response) {
-        if (response != null) {
-            return "Status Code: " + response.getStatusCode() + "\n" +
-                   "Response Time: " + response.getTime() + "ms\n" +
-                   "Response Body: " + response.getBody().asString();
+    public void attachApiResponse(Response response) {
+        if (response == null) {
+            attachLog("API Response", "No response available");
+            return;
         }
-        return "No response available";
+        // asByteArray() reads the buffered body, so the Then steps can still read it; the copy is capped
+        AttachmentPipeline.text("API Response", "text/plain", "txt",
+            "Status Code: " + response.getStatusCode() + "\n" +
+            "Response Time: " + response.getTime() + "ms\n" +
+            "Response Body: ", response.asByteArray());
     }
 
     @Attachment(value = "{0}", type = "text/plain")
@@ -158,10 +162,15 @@ public class PaymentAPISteps {
     }
 
     // --- Mock API helper methods ---
+    private RequestSpecification newRequest() {
+        // base URI on the request, not the global RestAssured.baseURI shared by parallel scenarios
+        RequestSpecification request = RestAssured.given();
+        return baseUri != null ? request.baseUri(baseUri) : request;
+    }
+
     public Response authorizePayment(String cardNumber, String expiry, String cvv, double amount) {
         try {
-            RestAssured.baseURI = baseUri;
-            RequestSpecification request = RestAssured.given()
+            RequestSpecification request = newRequest()
                 .header("Content-Type", "application/json")
                 .body(String.format("{\"cardNumber\": \"%s\", \"expiry\": \"%s\", \"cvv\": \"%s\", \"amount\": %.2f}", 
                                     cardNumber, expiry, cvv, amount));
@@ -177,8 +186,7 @@ public class PaymentAPISteps {
 
     public Response capturePayment(String transactionId, double amount) {
         try {
-            RestAssured.baseURI = baseUri;
-            RequestSpecification request = RestAssured.given()
+            RequestSpecification request = newRequest()
                 .header("Content-Type", "application/json")
                 .body(String.format("{\"transactionId\": \"%s\", \"amount\": %.2f}", transactionId, amount));
             
@@ -1,6 +1,12 @@
 package com.comercia.fintech.stepDefinitions;
 
+import com.comercia.fintech.driver.BrowserTemplate;
+import com.comercia.fintech.driver.DriverFactory;
+import com.comercia.fintech.driver.PooledWebDriver;
+import com.comercia.fintech.driver.WebDriverPool;
+import com.comercia.fintech.monitoring.tracing.TracingWebDriverListener;
 import com.comercia.fintech.pageObjects.CheckoutPage;
+import com.comercia.fintech.utils.AttachmentPipeline;
 import com.comercia.fintech.utils.ConfigReader;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
@@ -8,14 +14,6 @@ import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -23,6 +21,7 @@ import java.time.Duration;
 
 public class PaymentUISteps {
 
+    private PooledWebDriver session;
     private WebDriver driver;
     private CheckoutPage checkoutPage;
 
@@ -30,17 +29,18 @@ public class PaymentUISteps {
     public void setUp() {
         System.out.println("Setting up WebDriver...");
         try {
-            String browser = ConfigReader.getProperty("browser", "chrome").toLowerCase();
-            boolean headless = Boolean.parseBoolean(ConfigReader.getProperty("headless.execution", "false"));
+            // browser options are built once per JVM from config.properties
+            BrowserTemplate browser = DriverFactory.scenarioTemplate();
             boolean maximize = Boolean.parseBoolean(ConfigReader.getProperty("browser.maximize", "true"));
             
-            driver = createWebDriver(browser, headless);
+            // warm browser from the pool; commands are traced as spans under the current step
+            session = WebDriverPool.getInstance().acquire(browser);
+            driver = TracingWebDriverListener.decorate(session.getDriver());
             
-            // Set timeouts from config
-            int implicitWait = ConfigReader.getIntProperty("implicit.wait.seconds", 10);
+            // Set timeouts from config; no implicit wait, CheckoutPage's explicit waits decide how long to wait
             int pageLoadTimeout = ConfigReader.getIntProperty("page.load.timeout.seconds", 30);
             
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
             
             if (maximize) {
@@ -48,37 +48,13 @@ public class PaymentUISteps {
             }
             
             checkoutPage = new CheckoutPage(driver);
-            System.out.println("WebDriver setup complete with browser: " + browser);
+            System.out.println("WebDriver setup complete with browser: " + browser.getBrowser());
         } catch (Exception e) {
             System.err.println("Error setting up WebDriver: " + e.getMessage());
             throw new RuntimeException("Failed to initialize WebDriver", e);
         }
     }
 
-    private WebDriver createWebDriver(String browser, boolean headless) {
-        switch (browser) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (headless) {
-                    chromeOptions.addArguments("--headless");
-                }
-                chromeOptions.addArguments("--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage");
-                return new ChromeDriver(chromeOptions);
-                
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                return new FirefoxDriver();
-                
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                return new EdgeDriver();
-                
-            default:
-                throw new IllegalArgumentException("Browser not supported: " + browser);
-        }
-    }
-
     @Given("I am on the merchant checkout page")
     public void i_am_on_the_merchant_checkout_page() {
         try {
@@ -149,11 +125,9 @@ public class PaymentUISteps {
     public void i_click_the_button(String buttonText) {
         try {
             System.out.println("Clicking button: " + buttonText);
+            // returns once the payment message has been rendered
             checkoutPage.clickPayButton();
             
-            // Wait a moment for the response to appear
-            Thread.sleep(1000);
-            
         } catch (Exception e) {
             takeScreenshot("click_button_failure");
             throw new RuntimeException("Failed to click button: " + buttonText, e);
@@ -198,28 +172,27 @@ public class PaymentUISteps {
         }
     }
 
-    @Attachment(value = "Screenshot", type = "image/png")
-    public byte[] takeScreenshot(String name) {
-        try {
-            if (driver != null) {
-                return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to take screenshot: " + e.getMessage());
+    public void takeScreenshot(String name) {
+        if (driver != null) {
+            // captured here, decoded and written to allure-results in the background
+            AttachmentPipeline.screenshot(driver, name);
         }
-        return new byte[0];
     }
 
     @After("@UI")
     public void tearDown() {
         try {
-            if (driver != null) {
-                System.out.println("Closing WebDriver...");
-                driver.quit();
-                System.out.println("WebDriver closed successfully.");
+            if (checkoutPage != null) {
+                System.out.println("Checkout page " + checkoutPage.getElementCache().describe());
+            }
+            if (session != null) {
+                System.out.println("Returning WebDriver to the pool...");
+                session.release();
+                session = null;
+                driver = null;
             }
         } catch (Exception e) {
-            System.err.println("Error closing WebDriver: " + e.getMessage());
+            System.err.println("Error releasing WebDriver: " + e.getMessage());
         }
     }
 }
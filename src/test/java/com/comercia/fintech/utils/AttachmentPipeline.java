@@ -0,0 +1,217 @@
+package com.comercia.fintech.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.util.PropertiesUtils;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allure attachments captured on the test thread and written in the background.
+ *
+ * The attachment is registered with the current Allure step on the calling thread (that is what
+ * ties it to the step), then decoded, hashed and written by a small bounded executor. When the
+ * queue is full the caller writes the attachment itself, so a failure storm slows tests down
+ * instead of piling screenshots up in the heap. Identical screenshots are stored once: later
+ * copies are hard links to the first file. Text bodies are read on the calling thread only up to
+ * {@code attachments.max.text.bytes}; the rest is counted for the truncation marker, never kept.
+ */
+public final class AttachmentPipeline {
+
+    private static final String TRUNCATION_MARKER = "\n\n--- truncated: %d of %d bytes shown ---\n";
+    private static final int MAX_REMEMBERED_IMAGES = 256;
+
+    private static final AttachmentPipeline INSTANCE = new AttachmentPipeline();
+
+    private final AllureLifecycle lifecycle = Allure.getLifecycle();
+    private final Path resultsDirectory = Paths.get(
+        PropertiesUtils.loadAllureProperties().getProperty("allure.results.directory", "allure-results"));
+    private final int maxTextBytes = ConfigReader.getIntProperty("attachments.max.text.bytes", 1024 * 1024);
+    private final ThreadPoolExecutor executor;
+
+    // image hash -> file of the first copy, completed once it is on disk
+    private final Map<String, CompletableFuture<Path>> images =
+        new LinkedHashMap<String, CompletableFuture<Path>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Path>> eldest) {
+                return size() > MAX_REMEMBERED_IMAGES;
+            }
+        };
+
+    private AttachmentPipeline() {
+        int threads = Math.max(1, ConfigReader.getIntProperty("attachments.writer.threads", 2));
+        int queueSize = Math.max(1, ConfigReader.getIntProperty("attachments.queue.size", 32));
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "allure-attachment-writer-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "allure-attachment-flush"));
+    }
+
+    /**
+     * Captures a screenshot and attaches it to the current step; never fails the caller.
+     */
+    public static void screenshot(WebDriver driver, String name) {
+        if (!(driver instanceof TakesScreenshot)) return;
+        String base64;
+        try {
+            // base64 is what the driver sent; decoding is left to the writer thread
+            base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            System.err.println("Failed to take screenshot: " + e.getMessage());
+            return;
+        }
+        INSTANCE.submit(name, "image/png", "png", source -> INSTANCE.writeImage(source, base64));
+    }
+
+    /**
+     * Attaches a header followed by the body, truncated at attachments.max.text.bytes; closes the body.
+     */
+    public static void text(String name, String type, String extension, String header, InputStream body) {
+        byte[] head = header != null ? header.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] content;
+        long length;
+        try (InputStream in = body != null ? body : InputStream.nullInputStream()) {
+            content = in.readNBytes(INSTANCE.maxTextBytes > 0 ? INSTANCE.maxTextBytes : Integer.MAX_VALUE);
+            length = content.length + discard(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read attachment '" + name + "': " + e.getMessage());
+            return;
+        }
+        INSTANCE.submit(name, type, extension, source -> INSTANCE.writeText(source, head, content, length));
+    }
+
+    /**
+     * Attaches a header followed by a copy of the body truncated at attachments.max.text.bytes;
+     * use it for bodies the caller still needs, e.g. a RestAssured response checked by later steps.
+     */
+    public static void text(String name, String type, String extension, String header, byte[] body) {
+        byte[] head = header != null ? header.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] all = body != null ? body : new byte[0];
+        byte[] content = INSTANCE.maxTextBytes > 0 && all.length > INSTANCE.maxTextBytes
+            ? Arrays.copyOf(all, INSTANCE.maxTextBytes) : all;
+        INSTANCE.submit(name, type, extension, source -> INSTANCE.writeText(source, head, content, all.length));
+    }
+
+    private void submit(String name, String type, String extension, Writer writer) {
+        // must run on the test thread: Allure links the attachment to that thread's current step
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        executor.execute(() -> {
+            try {
+                writer.write(source);
+            } catch (Exception e) {
+                System.err.println("Failed to write attachment '" + name + "': " + e.getMessage());
+            }
+        });
+    }
+
+    private void writeImage(String source, String base64) throws InterruptedException {
+        byte[] png = Base64.getMimeDecoder().decode(base64);
+        String hash = sha256(png);
+        Path target = resultsDirectory.resolve(source);
+
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        CompletableFuture<Path> first;
+        synchronized (images) {
+            first = images.putIfAbsent(hash, written);
+        }
+        if (first != null) {
+            try {
+                linkOrCopy(first.get(), target);
+                return;
+            } catch (ExecutionException | IOException e) {
+                // the first copy never made it to disk (or cannot be linked): write this one
+            }
+        }
+        try {
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(png));
+            written.complete(target);
+        } catch (RuntimeException e) {
+            written.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void writeText(String source, byte[] header, byte[] body, long length) {
+        InputStream content = new ByteArrayInputStream(body);
+        if (length > body.length) {
+            byte[] marker = String.format(TRUNCATION_MARKER, body.length, length).getBytes(StandardCharsets.UTF_8);
+            content = new SequenceInputStream(content, new ByteArrayInputStream(marker));
+        }
+        lifecycle.writeAttachment(source, new SequenceInputStream(new ByteArrayInputStream(header), content));
+    }
+
+    // counts what is left of the stream without keeping it
+    private static long discard(InputStream in) throws IOException {
+        byte[] scratch = new byte[8192];
+        long discarded = 0;
+        for (int read; (read = in.read(scratch)) > 0; ) {
+            discarded += read;
+        }
+        return discarded;
+    }
+
+    private static void linkOrCopy(Path existing, Path target) throws IOException {
+        try {
+            Files.createLink(target, existing);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(existing, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    private void flush() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Timed out writing " + executor.getQueue().size() + " pending attachment(s)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(String source) throws Exception;
+    }
+}
@@ -3,6 +3,8 @@ package com.comercia.fintech.utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class ConfigReader {
@@ -91,6 +93,22 @@ public class ConfigReader {
         return defaultValue;
     }
 
+    /**
+     * Gets a comma-separated list property; empty if the key is missing or blank.
+     */
+    public static List<String> getListProperty(String key) {
+        String value = properties.getProperty(key);
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    values.add(item.trim());
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * Validates that required properties exist.
      */
@@ -0,0 +1,152 @@
+package com.comercia.fintech.waits;
+
+import com.comercia.fintech.monitoring.LatencyHistogram;
+import com.comercia.fintech.monitoring.TestObservabilitySystem;
+import com.comercia.fintech.utils.ConfigReader;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Explicit waits whose timeout and polling interval are tuned per locator from how long that
+ * locator has actually taken to become ready in this JVM. Until a locator has
+ * wait.adaptive.min.samples successful waits it uses the configured maximum (explicit.wait.seconds);
+ * after that the timeout is p99 x wait.adaptive.timeout.factor and the polling interval p50 / 4,
+ * both clamped to the configured bounds. A wait that outlives its learned timeout keeps going up to
+ * the maximum and that longer readiness time is learned too, so a timeout tightened on a fast run
+ * widens again when the page slows down.
+ *
+ * Readiness time is recorded as ui_wait_ms and the interaction itself as ui_action_ms, so a slow
+ * page and a slow command can be told apart. The driver must have a zero implicit wait: an implicit
+ * wait inside each poll would stretch every timeout computed here.
+ */
+public class AdaptiveWaitPolicy {
+
+    private static final boolean ENABLED = ConfigReader.getBooleanProperty("wait.adaptive.enabled", true);
+    private static final int MIN_SAMPLES = ConfigReader.getIntProperty("wait.adaptive.min.samples", 5);
+    private static final double TIMEOUT_FACTOR = ConfigReader.getDoubleProperty("wait.adaptive.timeout.factor", 3.0);
+    private static final Duration TIMEOUT_FLOOR =
+        Duration.ofMillis(ConfigReader.getIntProperty("wait.adaptive.timeout.floor.millis", 2000));
+    private static final Duration MIN_POLL = Duration.ofMillis(ConfigReader.getIntProperty("wait.adaptive.poll.min.millis", 25));
+    private static final Duration MAX_POLL = Duration.ofMillis(ConfigReader.getIntProperty("wait.adaptive.poll.max.millis", 500));
+    private static final Duration INITIAL_POLL = Duration.ofMillis(100);
+
+    // shared by every page instance and thread: readiness is a property of the page, not the scenario
+    private static final Map<String, LatencyHistogram> readiness = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final Duration maxTimeout;
+
+    public AdaptiveWaitPolicy(WebDriver driver, Duration maxTimeout) {
+        this.driver = driver;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Waits until the condition holds for the locator and records how long that took.
+     */
+    public <T> T until(String locator, ExpectedCondition<T> condition) {
+        return within(locator, timeout -> new WebDriverWait(driver, timeout, pollIntervalFor(locator)).until(condition));
+    }
+
+    /**
+     * Runs a wait that takes its timeout as an argument (e.g. a {@link DomWaits} wait) with the
+     * learned timeout for the locator. If that expires the wait is given the rest of the maximum
+     * timeout before failing.
+     */
+    public <T> T within(String locator, Function<Duration, T> wait) {
+        Duration learned = timeoutFor(locator);
+        long start = System.nanoTime();
+        try {
+            return observe(locator, () -> {
+                try {
+                    return wait.apply(learned);
+                } catch (TimeoutException e) {
+                    Duration remaining = maxTimeout.minusNanos(System.nanoTime() - start);
+                    if (learned.compareTo(maxTimeout) >= 0 || remaining.isNegative() || remaining.isZero()) throw e;
+                    System.out.println("Wait for " + locator + " exceeded its learned timeout of " + learned.toMillis()
+                        + "ms (" + describe(locator) + "), waiting up to " + maxTimeout.toMillis() + "ms");
+                    return wait.apply(remaining);
+                }
+            });
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Waited " + Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms for "
+                + locator + " (" + describe(locator) + ")", e);
+        }
+    }
+
+    /**
+     * Records the readiness time of a wait that runs elsewhere (e.g. an in-browser {@link DomWaits}
+     * wait), so it is learned and reported like the waits run here.
+     */
+    public <T> T observe(String locator, Supplier<T> wait) {
+        long start = System.nanoTime();
+        try {
+            T result = wait.get();
+            Duration waited = Duration.ofNanos(System.nanoTime() - start);
+            readiness.computeIfAbsent(locator, key -> new LatencyHistogram()).record(waited);
+            TestObservabilitySystem.recordUiWait(locator, waited, true);
+            return result;
+        } catch (TimeoutException e) {
+            TestObservabilitySystem.recordUiWait(locator, Duration.ofNanos(System.nanoTime() - start), false);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an interaction with an element that is already ready and records its duration.
+     */
+    public <T> T action(String action, Supplier<T> interaction) {
+        long start = System.nanoTime();
+        try {
+            return interaction.get();
+        } finally {
+            TestObservabilitySystem.recordUiAction(action, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public void action(String action, Runnable interaction) {
+        action(action, () -> {
+            interaction.run();
+            return null;
+        });
+    }
+
+    Duration timeoutFor(String locator) {
+        LatencyHistogram observed = readiness.get(locator);
+        if (!ENABLED || observed == null || observed.getCount() < MIN_SAMPLES) {
+            return maxTimeout;
+        }
+        Duration learned = Duration.ofMillis((long) Math.ceil(observed.getValueAtPercentileMillis(99) * TIMEOUT_FACTOR));
+        return clamp(learned, TIMEOUT_FLOOR, maxTimeout);
+    }
+
+    Duration pollIntervalFor(String locator) {
+        LatencyHistogram observed = readiness.get(locator);
+        if (!ENABLED || observed == null || observed.getCount() < MIN_SAMPLES) {
+            return INITIAL_POLL;
+        }
+        return clamp(Duration.ofMillis((long) (observed.getValueAtPercentileMillis(50) / 4)), MIN_POLL, MAX_POLL);
+    }
+
+    private String describe(String locator) {
+        LatencyHistogram observed = readiness.get(locator);
+        if (observed == null || observed.getCount() == 0) {
+            return "no successful waits observed yet";
+        }
+        return String.format("observed p50=%.0fms p99=%.0fms over %d waits", observed.getValueAtPercentileMillis(50),
+            observed.getValueAtPercentileMillis(99), observed.getCount());
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        if (value.compareTo(min) < 0) return min.compareTo(max) < 0 ? min : max;
+        return value.compareTo(max) > 0 ? max : value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.comercia.fintech.waits;
+
+import org.junit.Test;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptiveWaitPolicyTest {
+
+    private static final Duration MAX = Duration.ofSeconds(20);
+
+    private final AdaptiveWaitPolicy policy = new AdaptiveWaitPolicy(null, MAX);
+
+    @Test
+    public void usesMaximumUntilEnoughSamples() {
+        assertEquals(MAX, policy.timeoutFor("unseen"));
+    }
+
+    @Test
+    public void tightensAfterFastWaits() {
+        learnFastWaits("fast");
+
+        Duration learned = policy.timeoutFor("fast");
+        assertTrue("learned " + learned, learned.compareTo(MAX) < 0);
+    }
+
+    @Test
+    public void expiredLearnedTimeoutKeepsWaitingUpToMaximum() {
+        learnFastWaits("slowed");
+        Duration learned = policy.timeoutFor("slowed");
+        List<Duration> timeouts = new ArrayList<>();
+
+        String result = policy.within("slowed", timeout -> {
+            timeouts.add(timeout);
+            if (timeouts.size() == 1) throw new TimeoutException("not yet");
+            return "ready";
+        });
+
+        assertEquals("ready", result);
+        assertEquals(2, timeouts.size());
+        assertEquals(learned, timeouts.get(0));
+        assertTrue("second attempt gets the rest of the maximum: " + timeouts.get(1),
+            timeouts.get(1).compareTo(MAX.minusSeconds(1)) > 0 && timeouts.get(1).compareTo(MAX) <= 0);
+    }
+
+    @Test
+    public void failsOnceTheMaximumIsUsedUp() {
+        int[] attempts = {0};
+        try {
+            policy.within("never", timeout -> {
+                attempts[0]++;
+                throw new TimeoutException("never ready");
+            });
+            fail("expected a timeout");
+        } catch (TimeoutException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("never"));
+        }
+        // the first attempt already had the full maximum
+        assertEquals(1, attempts[0]);
+    }
+
+    private void learnFastWaits(String locator) {
+        for (int i = 0; i < 10; i++) {
+            policy.within(locator, timeout -> "ready");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.comercia.fintech.waits;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Waits that run inside the browser and return as soon as the DOM condition holds, instead of
+ * polling over WebDriver or sleeping. Each wait is a single async script round trip: a
+ * MutationObserver for content changes, requestAnimationFrame for layout/scroll settling.
+ * On timeout a {@link TimeoutException} is thrown with what the page showed last.
+ */
+public class DomWaits {
+
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    // args: element, expected fragments, timeout ms, callback
+    private static final String TEXT_SCRIPT =
+        "var el = arguments[0], expected = arguments[1], timeoutMs = arguments[2];"
+        + "var done = arguments[arguments.length - 1];"
+        + "function text() { return (el.textContent || '').trim(); }"
+        + "function matches(t) {"
+        + "  for (var i = 0; i < expected.length; i++) { if (t.indexOf(expected[i]) >= 0) return true; }"
+        + "  return false;"
+        + "}"
+        + "if (matches(text())) { done({matched: true, text: text()}); return; }"
+        + "var timer, observer = new MutationObserver(function () {"
+        + "  if (matches(text())) { observer.disconnect(); clearTimeout(timer); done({matched: true, text: text()}); }"
+        + "});"
+        + "observer.observe(el, {childList: true, characterData: true, subtree: true});"
+        + "timer = setTimeout(function () { observer.disconnect(); done({matched: false, text: text()}); }, timeoutMs);";
+
+    // args: element, stable frames, timeout ms, callback. Frames fall back to a timer in throttled background tabs.
+    private static final String SCROLL_SETTLE_SCRIPT =
+        "var el = arguments[0], stableFrames = arguments[1], deadline = Date.now() + arguments[2];"
+        + "var done = arguments[arguments.length - 1];"
+        + "function nextFrame(cb) {"
+        + "  var fired = false;"
+        + "  requestAnimationFrame(function () { if (!fired) { fired = true; cb(); } });"
+        + "  setTimeout(function () { if (!fired) { fired = true; cb(); } }, 50);"
+        + "}"
+        + "el.scrollIntoView({block: 'center', inline: 'nearest'});"
+        + "var last = null, stable = 0;"
+        + "(function check() {"
+        + "  var r = el.getBoundingClientRect(), pos = r.top + ',' + r.left + ',' + r.width + ',' + r.height;"
+        + "  stable = pos === last ? stable + 1 : 0;"
+        + "  last = pos;"
+        + "  if (stable >= stableFrames) { done(true); return; }"
+        + "  if (Date.now() > deadline) { done(false); return; }"
+        + "  nextFrame(check);"
+        + "})();";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private boolean scriptTimeoutSet;
+
+    public DomWaits(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Waits until the element's text contains one of the fragments and returns that text.
+     */
+    public String waitForText(WebElement element, String... fragments) {
+        return waitForText(timeout, element, fragments);
+    }
+
+    /**
+     * As {@link #waitForText(WebElement, String...)} with a shorter timeout, e.g. one learned by
+     * {@link AdaptiveWaitPolicy}; anything above the timeout given at construction is capped to it.
+     */
+    public String waitForText(Duration waitTimeout, WebElement element, String... fragments) {
+        long timeoutMillis = Math.min(waitTimeout.toMillis(), timeout.toMillis());
+        Object result = runAsync(TEXT_SCRIPT, element, Arrays.asList(fragments), timeoutMillis);
+        Map<?, ?> outcome = result instanceof Map ? (Map<?, ?>) result : null;
+        String text = outcome != null && outcome.get("text") != null ? outcome.get("text").toString() : "";
+        if (outcome == null || !Boolean.TRUE.equals(outcome.get("matched"))) {
+            throw new TimeoutException("None of " + Arrays.toString(fragments) + " appeared within "
+                + timeoutMillis + "ms; last text: '" + text + "'");
+        }
+        return text;
+    }
+
+    /**
+     * Scrolls the element into the middle of the viewport and returns once its position has been
+     * unchanged for two animation frames (smooth scrolling and layout shifts have finished).
+     */
+    public void scrollIntoViewAndSettle(WebElement element) {
+        Object settled = runAsync(SCROLL_SETTLE_SCRIPT, element, 2, timeout.toMillis());
+        if (!Boolean.TRUE.equals(settled)) {
+            throw new TimeoutException("Element position did not settle within " + timeout.toMillis() + "ms after scrolling");
+        }
+    }
+
+    private Object runAsync(String script, Object... args) {
+        if (!scriptTimeoutSet) {
+            // the script enforces the wait's own timeout; WebDriver's must not cut it short
+            driver.manage().timeouts().scriptTimeout(timeout.plus(SCRIPT_TIMEOUT_MARGIN));
+            scriptTimeoutSet = true;
+        }
+        return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+    }
+}